@@ -0,0 +1,203 @@
+package com.research.farmer_smart.benchmark;
+
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.controller.response.AreaAlertSummary.RecentDetection;
+import com.research.farmer_smart.controller.response.AreaAlertSummary.ThreatCount;
+import com.research.farmer_smart.controller.response.DiseaseAreaAlert;
+import com.research.farmer_smart.controller.response.PestAreaAlert;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.PestInfestation;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Historical baseline only: neither variant is code the application runs any more. Area alert
+ * summaries computed in the JVM: group by name, top 3 threats, 10 most recent rows and the
+ * affected locations or farmers, then mapped to the response record. The {@code streams} variants
+ * are the pipelines the alert controllers ran on every request before the summary moved into a
+ * Mongo aggregation; {@code singlePass} is the same result from one loop and a bounded heap. The
+ * production path is measured by {@link AlertSummaryBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class AlertGroupingBenchmark {
+
+  private static final int TOP_THREATS = 3;
+  private static final int RECENT_ROWS = 10;
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int rows;
+
+  private List<PestInfestation> infestations;
+  private List<DiseasesDetection> detections;
+
+  @Setup
+  public void setUp() {
+    infestations = Fixtures.pestInfestations(rows);
+    detections = Fixtures.diseasesDetections(rows);
+  }
+
+  @Benchmark
+  public PestAreaAlert pestStreams() {
+    Set<String> affectedLocations = infestations.stream()
+        .map(PestInfestation::getDetectedLocation)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    Map<String, Long> pestCounts = infestations.stream()
+        .collect(Collectors.groupingBy(PestInfestation::getPestName, Collectors.counting()));
+    List<ThreatCount> topThreats = pestCounts.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(TOP_THREATS)
+        .map(entry -> new ThreatCount(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+    List<RecentDetection> recent = infestations.stream()
+        .sorted(Comparator.comparing(PestInfestation::getDetectionDateTime).reversed())
+        .limit(RECENT_ROWS)
+        .map(AlertGroupingBenchmark::recent)
+        .collect(Collectors.toList());
+    return PestAreaAlert.of("Polonnaruwa", AreaAlertSummary.builder()
+        .total(infestations.size())
+        .affectedLocations(new ArrayList<>(affectedLocations))
+        .topThreats(topThreats)
+        .recent(recent)
+        .build());
+  }
+
+  @Benchmark
+  public PestAreaAlert pestSinglePass() {
+    Map<String, long[]> pestCounts = new HashMap<>();
+    Set<String> affectedLocations = new HashSet<>();
+    PriorityQueue<PestInfestation> recent = new PriorityQueue<>(RECENT_ROWS + 1,
+        Comparator.comparing(PestInfestation::getDetectionDateTime));
+    for (PestInfestation infestation : infestations) {
+      pestCounts.computeIfAbsent(infestation.getPestName(), name -> new long[1])[0]++;
+      if (infestation.getDetectedLocation() != null) {
+        affectedLocations.add(infestation.getDetectedLocation());
+      }
+      offer(recent, infestation);
+    }
+    return PestAreaAlert.of("Polonnaruwa", AreaAlertSummary.builder()
+        .total(infestations.size())
+        .affectedLocations(new ArrayList<>(affectedLocations))
+        .topThreats(topThreats(pestCounts))
+        .recent(newestFirst(recent, AlertGroupingBenchmark::recent))
+        .build());
+  }
+
+  @Benchmark
+  public DiseaseAreaAlert diseaseStreams() {
+    Set<String> uniqueFarmerIds = detections.stream()
+        .map(detection -> detection.getFarmer().getId())
+        .collect(Collectors.toSet());
+    Map<String, Long> diseaseCounts = detections.stream()
+        .collect(Collectors.groupingBy(DiseasesDetection::getDiseaseName, Collectors.counting()));
+    List<ThreatCount> topThreats = diseaseCounts.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(TOP_THREATS)
+        .map(entry -> new ThreatCount(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+    List<RecentDetection> recent = detections.stream()
+        .sorted(Comparator.comparing(DiseasesDetection::getDetectionDateTime).reversed())
+        .limit(RECENT_ROWS)
+        .map(AlertGroupingBenchmark::recent)
+        .collect(Collectors.toList());
+    return DiseaseAreaAlert.of("Polonnaruwa", 0, AreaAlertSummary.builder()
+        .total(detections.size())
+        .affectedFarmers(uniqueFarmerIds.size())
+        .topThreats(topThreats)
+        .recent(recent)
+        .build());
+  }
+
+  @Benchmark
+  public DiseaseAreaAlert diseaseSinglePass() {
+    Map<String, long[]> diseaseCounts = new HashMap<>();
+    Set<String> uniqueFarmerIds = new HashSet<>();
+    PriorityQueue<DiseasesDetection> recent = new PriorityQueue<>(RECENT_ROWS + 1,
+        Comparator.comparing(DiseasesDetection::getDetectionDateTime));
+    for (DiseasesDetection detection : detections) {
+      diseaseCounts.computeIfAbsent(detection.getDiseaseName(), name -> new long[1])[0]++;
+      uniqueFarmerIds.add(detection.getFarmer().getId());
+      offer(recent, detection);
+    }
+    return DiseaseAreaAlert.of("Polonnaruwa", 0, AreaAlertSummary.builder()
+        .total(detections.size())
+        .affectedFarmers(uniqueFarmerIds.size())
+        .topThreats(topThreats(diseaseCounts))
+        .recent(newestFirst(recent, AlertGroupingBenchmark::recent))
+        .build());
+  }
+
+  private static <T> void offer(PriorityQueue<T> oldestFirst, T row) {
+    oldestFirst.offer(row);
+    if (oldestFirst.size() > RECENT_ROWS) {
+      oldestFirst.poll();
+    }
+  }
+
+  private static <T> List<RecentDetection> newestFirst(PriorityQueue<T> oldestFirst,
+      Function<T, RecentDetection> mapper) {
+    RecentDetection[] newestFirst = new RecentDetection[oldestFirst.size()];
+    for (int i = newestFirst.length - 1; i >= 0; i--) {
+      newestFirst[i] = mapper.apply(oldestFirst.poll());
+    }
+    return List.of(newestFirst);
+  }
+
+  private static List<ThreatCount> topThreats(Map<String, long[]> counts) {
+    return counts.entrySet().stream()
+        .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+        .limit(TOP_THREATS)
+        .map(entry -> new ThreatCount(entry.getKey(), entry.getValue()[0]))
+        .toList();
+  }
+
+  private static RecentDetection recent(PestInfestation infestation) {
+    return RecentDetection.builder()
+        .id(infestation.getId())
+        .name(infestation.getPestName())
+        .detectedLocation(infestation.getDetectedLocation())
+        .latitude(infestation.getLatitude())
+        .longitude(infestation.getLongitude())
+        .detectionDateTime(infestation.getDetectionDateTime())
+        .farmerId(infestation.getFarmer().getId())
+        .build();
+  }
+
+  private static RecentDetection recent(DiseasesDetection detection) {
+    return RecentDetection.builder()
+        .id(detection.getId())
+        .name(detection.getDiseaseName())
+        .detectedLocation(detection.getDetectedLocation())
+        .latitude(detection.getLatitude())
+        .longitude(detection.getLongitude())
+        .detectionDateTime(detection.getDetectionDateTime())
+        .farmerId(detection.getFarmer().getId())
+        .build();
+  }
+}
@@ -0,0 +1,123 @@
+package com.research.farmer_smart.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.repository.DetectionEventStore;
+import com.research.farmer_smart.service.serviceImpl.AlertSummaryServiceImpl;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * The area summary as the alert endpoints compute it: {@link AlertSummaryServiceImpl} running its
+ * {@code $facet} aggregation against a real MongoDB, given with {@code -Dbenchmark.mongo.uri}
+ * (default {@code mongodb://localhost:27017}). Rows are spread over the last 14 days, so about half
+ * fall in the 7-day window. Every call passes a new version, so the summary cache always misses and
+ * each invocation is one aggregation plus the mapping to the response record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class AlertSummaryBenchmark {
+
+  private static final String DATABASE = "farmer_smart_benchmark";
+  private static final int HISTORY_DAYS = 14;
+  private static final int INSERT_BATCH = 10_000;
+
+  @Param({"100000", "1000000"})
+  public int rows;
+
+  // Polonnaruwa takes the largest share of the fixtures, Jaffna the smallest
+  @Param({"polonnaruwa", "jaffna"})
+  public String region;
+
+  private MongoClient client;
+  private MongoTemplate mongoTemplate;
+  private AlertSummaryServiceImpl alertSummaryService;
+  private long version;
+
+  @Setup
+  public void setUp() {
+    client = MongoClients.create(
+        System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+    mongoTemplate = new MongoTemplate(client, DATABASE);
+    mongoTemplate.dropCollection(PestInfestation.class);
+    mongoTemplate.dropCollection(DiseasesDetection.class);
+    for (Class<?> type : List.of(PestInfestation.class, DiseasesDetection.class)) {
+      mongoTemplate.indexOps(type).ensureIndex(new Index()
+          .on("regionTokens", Sort.Direction.ASC)
+          .on("detectionDateTime", Sort.Direction.DESC)
+          .named("region_detected"));
+    }
+
+    // The window is relative to the clock, unlike the fixed dates of the fixtures
+    LocalDateTime now = LocalDateTime.now();
+    Random random = new Random(7);
+    List<PestInfestation> infestations = Fixtures.pestInfestations(rows);
+    for (PestInfestation infestation : infestations) {
+      RegionKey key = RegionKeys.of(infestation.getDetectedLocation());
+      infestation.setRegionKey(key.key());
+      infestation.setRegionTokens(key.tokens());
+      infestation.setDetectionDateTime(now.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60)));
+    }
+    List<DiseasesDetection> detections = Fixtures.diseasesDetections(rows);
+    for (DiseasesDetection detection : detections) {
+      RegionKey key = RegionKeys.of(detection.getDetectedLocation());
+      detection.setRegionKey(key.key());
+      detection.setRegionTokens(key.tokens());
+      detection.setDetectionDateTime(now.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60)));
+    }
+    for (int from = 0; from < rows; from += INSERT_BATCH) {
+      int to = Math.min(rows, from + INSERT_BATCH);
+      mongoTemplate.insert(infestations.subList(from, to), PestInfestation.class);
+      mongoTemplate.insert(detections.subList(from, to), DiseasesDetection.class);
+    }
+
+    alertSummaryService = new AlertSummaryServiceImpl(mongoTemplate,
+        new DetectionEventStore(mongoTemplate, DetectionEventStore.Mode.REGULAR),
+        new SimpleMeterRegistry(), Duration.ofSeconds(30), Duration.ofMinutes(10), 1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    mongoTemplate.dropCollection(PestInfestation.class);
+    mongoTemplate.dropCollection(DiseasesDetection.class);
+    client.close();
+  }
+
+  @Benchmark
+  public AreaAlertSummary pestSummary() {
+    return alertSummaryService.summarizePestAlerts(region, Long.toString(version++));
+  }
+
+  @Benchmark
+  public AreaAlertSummary diseaseSummary() {
+    return alertSummaryService.summarizeDiseaseAlerts(region, Long.toString(version++));
+  }
+}
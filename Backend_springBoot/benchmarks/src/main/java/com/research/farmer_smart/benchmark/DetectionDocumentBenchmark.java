@@ -0,0 +1,110 @@
+package com.research.farmer_smart.benchmark;
+
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.Farmer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Client side of listing disease detections: BSON as it arrives from the server decoded and
+ * mapped to entities, once with the full {@code Farmer} copy every detection used to embed and
+ * once with the {@code FarmerRef} it embeds now. The average document size of both shapes is
+ * printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class DetectionDocumentBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  public int rows;
+
+  private final DocumentCodec codec = new DocumentCodec();
+  private MappingMongoConverter converter;
+  private List<RawBsonDocument> legacyDocuments;
+  private List<RawBsonDocument> compactDocuments;
+
+  @Setup
+  public void setUp() {
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+
+    Map<String, Farmer> farmers = Fixtures.farmers(rows).stream()
+        .collect(Collectors.toMap(Farmer::getId, Function.identity()));
+    legacyDocuments = new ArrayList<>(rows);
+    compactDocuments = new ArrayList<>(rows);
+    for (DiseasesDetection detection : Fixtures.diseasesDetections(rows)) {
+      Document compact = new Document();
+      converter.write(detection, compact);
+      Document fullFarmer = new Document();
+      converter.write(farmers.get(detection.getFarmer().getId()), fullFarmer);
+      Document legacy = new Document(compact);
+      legacy.put("farmer", fullFarmer);
+      compactDocuments.add(new RawBsonDocument(compact, codec));
+      legacyDocuments.add(new RawBsonDocument(legacy, codec));
+    }
+    System.out.printf("%nAverage document: legacy %d bytes, compact %d bytes%n",
+        averageSize(legacyDocuments), averageSize(compactDocuments));
+  }
+
+  private static long averageSize(List<RawBsonDocument> documents) {
+    long bytes = 0;
+    for (RawBsonDocument document : documents) {
+      bytes += document.getByteBuffer().remaining();
+    }
+    return bytes / documents.size();
+  }
+
+  @Benchmark
+  public void readLegacy(Blackhole blackhole) {
+    read(legacyDocuments, blackhole);
+  }
+
+  @Benchmark
+  public void readCompact(Blackhole blackhole) {
+    read(compactDocuments, blackhole);
+  }
+
+  private void read(List<RawBsonDocument> documents, Blackhole blackhole) {
+    for (RawBsonDocument raw : documents) {
+      Document document;
+      try (BsonBinaryReader reader = new BsonBinaryReader(raw.getByteBuffer().asNIO())) {
+        document = codec.decode(reader, DecoderContext.builder().build());
+      }
+      blackhole.consume(converter.read(DiseasesDetection.class, document));
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.research.farmer_smart.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.repository.DetectionEventStore;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * The 7-day area read of {@code searchByLocation} against a real MongoDB 7.0+, given with
+ * {@code -Dbenchmark.mongo.uri} (default {@code mongodb://localhost:27017}): the same pest
+ * infestations, spread over 90 days, once in the regular collection with its
+ * {@code region_detected} index and once as {@link DetectionEventStore} time-series events.
+ * {@code region} picks a busy and a quiet area. Setup prints the collStats sizes of both
+ * collections after an fsync.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class DetectionStoreBenchmark {
+
+  private static final String DATABASE = "farmer_smart_benchmark";
+  private static final String REGULAR = "pest_infestations";
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 8, 0);
+  private static final int HISTORY_DAYS = 90;
+  private static final int INSERT_BATCH = 10_000;
+
+  @Param({"100000", "1000000"})
+  public int rows;
+
+  // Polonnaruwa takes the largest share of the fixtures, Jaffna the smallest
+  @Param({"polonnaruwa", "jaffna"})
+  public String region;
+
+  private MongoClient client;
+  private MongoTemplate mongoTemplate;
+  private String events;
+  private LocalDateTime since;
+
+  @Setup
+  public void setUp() {
+    client = MongoClients.create(
+        System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+    mongoTemplate = new MongoTemplate(client, DATABASE);
+    events = DetectionEventStore.collectionName(DetectionKind.PEST);
+    mongoTemplate.dropCollection(REGULAR);
+    mongoTemplate.dropCollection(events);
+
+    mongoTemplate.indexOps(REGULAR).ensureIndex(new Index()
+        .on("regionTokens", Sort.Direction.ASC)
+        .on("detectionDateTime", Sort.Direction.DESC)
+        .named("region_detected"));
+    DetectionEventStore store = new DetectionEventStore(mongoTemplate,
+        DetectionEventStore.Mode.DUAL_WRITE);
+    store.ensureCollections();
+
+    List<PestInfestation> infestations = Fixtures.pestInfestations(rows);
+    Random random = new Random(7);
+    for (PestInfestation infestation : infestations) {
+      RegionKey key = RegionKeys.of(infestation.getDetectedLocation());
+      infestation.setRegionKey(key.key());
+      infestation.setRegionTokens(key.tokens());
+      infestation.setDetectionDateTime(NOW.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60)));
+    }
+    for (int from = 0; from < rows; from += INSERT_BATCH) {
+      List<PestInfestation> batch = infestations.subList(from, Math.min(rows, from + INSERT_BATCH));
+      mongoTemplate.insert(batch, REGULAR);
+      store.append(DetectionKind.PEST, batch);
+    }
+    since = NOW.minusDays(7);
+
+    client.getDatabase("admin").runCommand(new Document("fsync", 1));
+    System.out.printf("%n%s%n%s%n", stats(REGULAR), stats(events));
+  }
+
+  private String stats(String collection) {
+    Document stats = mongoTemplate.executeCommand(new Document("collStats", collection));
+    Document timeseries = stats.get("timeseries", Document.class);
+    return String.format("%s: %s documents%s, %s bytes of data, %s bytes stored, %s bytes of indexes",
+        collection, stats.get("count"),
+        timeseries == null ? "" : " in " + timeseries.get("bucketCount") + " buckets",
+        stats.get("size"), stats.get("storageSize"), stats.get("totalIndexSize"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    mongoTemplate.dropCollection(REGULAR);
+    mongoTemplate.dropCollection(events);
+    client.close();
+  }
+
+  @Benchmark
+  public void regularWindow(Blackhole blackhole) {
+    read(REGULAR, "regionTokens", blackhole);
+  }
+
+  @Benchmark
+  public void timeSeriesWindow(Blackhole blackhole) {
+    read(events, DetectionEventStore.REGION_FIELD, blackhole);
+  }
+
+  private void read(String collection, String regionField, Blackhole blackhole) {
+    Query query = Query.query(Criteria.where(regionField).is(region)
+        .and("detectionDateTime").gt(since));
+    for (Document document : mongoTemplate.find(query, Document.class, collection)) {
+      blackhole.consume(document);
+    }
+  }
+}
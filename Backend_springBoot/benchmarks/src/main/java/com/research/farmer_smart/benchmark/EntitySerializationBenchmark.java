@@ -0,0 +1,57 @@
+package com.research.farmer_smart.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.research.farmer_smart.model.PestInfestation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes a list of {@code PestInfestation} documents, each with its embedded {@code Farmer}, the
+ * way the list and search endpoints stream them. Output goes to a discarding stream so the
+ * measurement is the serializer and not a growing buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class EntitySerializationBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int rows;
+
+  private ObjectMapper defaultMapper;
+  private ObjectMapper applicationMapper;
+  private List<PestInfestation> infestations;
+
+  @Setup
+  public void setUp() {
+    defaultMapper = Fixtures.defaultMapper();
+    applicationMapper = Fixtures.applicationMapper();
+    infestations = Fixtures.pestInfestations(rows);
+  }
+
+  @Benchmark
+  public void pestInfestations() throws IOException {
+    defaultMapper.writeValue(OutputStream.nullOutputStream(), infestations);
+  }
+
+  @Benchmark
+  public void pestInfestationsBlackbird() throws IOException {
+    applicationMapper.writeValue(OutputStream.nullOutputStream(), infestations);
+  }
+}
@@ -0,0 +1,166 @@
+package com.research.farmer_smart.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.controller.response.AreaAlertSummary.RecentDetection;
+import com.research.farmer_smart.controller.response.AreaAlertSummary.ThreatCount;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.FarmerRef;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.model.Role;
+import com.research.farmer_smart.model.User;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic inputs shared by the benchmarks. Object mappers mirror the one Spring Boot builds for
+ * the application, with and without the Blackbird module registered in JacksonConfig.
+ */
+final class Fixtures {
+
+  /** Pest names weighted towards the few that dominate real reports, plus some invalid input. */
+  static final String[] PEST_NAMES = {
+      "brown plant hopper", "brown plant hopper", "brown plant hopper", "brown plant hopper",
+      "rice gall midge", "rice gall midge", "rice gall midge", "thrips", "thrips",
+      "yellow rice borer", "rice leaf roller", "paddy stem maggot", "Rice Water Weevil",
+      "asiatic rice borer", "rice shell pest", "locust"};
+  static final String[] DISEASE_NAMES = {
+      "blast", "blast", "blast", "blast", "brown spot", "brown spot", "bacterial blight",
+      "Tungro", "sheath rot"};
+  /** Paddy-growing divisions, the first few reporting most of the detections. */
+  static final String[] LOCATIONS = {
+      "Polonnaruwa, Polonnaruwa", "Ampara, Ampara", "Kurunegala, Kurunegala",
+      "Anuradhapura, Anuradhapura", "Hambantota, Hambantota", "Batticaloa, Batticaloa",
+      "Malabe, Colombo", "Kaduwela, Colombo", "Trincomalee, Trincomalee", "Matara, Matara",
+      "Kegalle, Kegalle", "Badulla, Badulla", "Galle, Galle", "Jaffna, Jaffna"};
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+  private Fixtures() {
+  }
+
+  /** Picks index {@code i} with probability roughly proportional to 1/(i+1). */
+  static <T> T skewed(Random random, T[] values) {
+    double u = random.nextDouble();
+    return values[(int) Math.min(values.length - 1,
+        Math.floor(Math.pow(values.length + 1, u)) - 1)];
+  }
+
+  static List<Farmer> farmers(int count) {
+    List<Farmer> farmers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      farmers.add(farmer(i));
+    }
+    return farmers;
+  }
+
+  static List<PestInfestation> pestInfestations(int rows) {
+    Random random = new Random(42);
+    List<Farmer> farmers = farmers(Math.max(1, Math.min(rows / 20, 50_000)));
+    List<PestInfestation> infestations = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      PestInfestation infestation = new PestInfestation();
+      infestation.setId(String.format("65f0c2a1%016x", i));
+      infestation.setFarmer(farmers.get(random.nextInt(farmers.size())));
+      infestation.setPestName(skewed(random, PEST_NAMES));
+      infestation.setDetectedLocation(skewed(random, LOCATIONS));
+      infestation.setLatitude(6.0 + random.nextDouble() * 3.8);
+      infestation.setLongitude(79.7 + random.nextDouble() * 2.1);
+      infestation.setDetectionDateTime(NOW.minusMinutes(random.nextInt(7 * 24 * 60)));
+      infestations.add(infestation);
+    }
+    return infestations;
+  }
+
+  static List<DiseasesDetection> diseasesDetections(int rows) {
+    Random random = new Random(42);
+    List<Farmer> farmers = farmers(Math.max(1, Math.min(rows / 20, 50_000)));
+    List<DiseasesDetection> detections = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      DiseasesDetection detection = new DiseasesDetection();
+      detection.setId(String.format("65f0c2a2%016x", i));
+      detection.setFarmer(FarmerRef.of(farmers.get(random.nextInt(farmers.size()))));
+      detection.setDiseaseName(skewed(random, DISEASE_NAMES));
+      detection.setDetectedLocation(skewed(random, LOCATIONS));
+      detection.setLatitude(6.0 + random.nextDouble() * 3.8);
+      detection.setLongitude(79.7 + random.nextDouble() * 2.1);
+      detection.setDetectionDateTime(NOW.minusMinutes(random.nextInt(7 * 24 * 60)));
+      detections.add(detection);
+    }
+    return detections;
+  }
+
+  static ObjectMapper defaultMapper() {
+    return JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+
+  static ObjectMapper applicationMapper() {
+    return JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .addModule(new BlackbirdModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+
+  static AreaAlertSummary areaSummary() {
+    LocalDateTime now = NOW;
+    List<RecentDetection> recent = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      recent.add(RecentDetection.builder()
+          .id("65f0c2a1b7e4d3000000000" + i)
+          .name(i % 3 == 0 ? "brown planthopper" : "rice gall midge")
+          .detectedLocation("Malabe, Colombo")
+          .latitude(6.9 + i * 0.001)
+          .longitude(79.95 - i * 0.001)
+          .detectionDateTime(now.minusHours(i))
+          .farmerId("65f0c2a1b7e4d30000000f0" + i)
+          .build());
+    }
+    return AreaAlertSummary.builder()
+        .regionToken("colombo")
+        .total(42)
+        .affectedFarmers(17)
+        .affectedLocations(List.of("Malabe, Colombo", "Kaduwela, Colombo", "Homagama, Colombo"))
+        .topThreats(List.of(
+            new ThreatCount("brown planthopper", 21),
+            new ThreatCount("rice gall midge", 14),
+            new ThreatCount("thrips", 7)))
+        .recent(recent)
+        .build();
+  }
+
+  static Farmer farmer(int i) {
+    Farmer farmer = new Farmer();
+    farmer.setId(String.format("65f0c2a1b7e4d300%08x", i));
+    farmer.setFirstName("Nimal" + i);
+    farmer.setLastName("Perera");
+    farmer.setEmail("nimal" + i + "@example.lk");
+    farmer.setContactNumber("0771234567");
+    farmer.setLandSize("2 acres");
+    farmer.setLandLocation("Malabe, Colombo");
+    farmer.setRegistrationDate(LocalDate.of(2024, 6, 1));
+    return farmer;
+  }
+
+  static User farmerUser() {
+    User user = new User();
+    user.setId("65f0c2a1b7e4d30000000a01");
+    user.setEmail("nimal0@example.lk");
+    user.setUsername("nimal.perera");
+    user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+    user.setRole(Role.FARMER);
+    user.setFarmer(FarmerRef.of(farmer(0)));
+    return user;
+  }
+}
@@ -0,0 +1,78 @@
+package com.research.farmer_smart.benchmark;
+
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.model.AlertLevel;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.User;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The HashMap response trees the alert and user endpoints built before they returned records,
+ * kept here as the baseline for {@link ResponseSerializationBenchmark}.
+ */
+final class LegacyResponses {
+
+  private LegacyResponses() {
+  }
+
+  static Map<String, Object> pestAreaAlert(String location, AreaAlertSummary summary) {
+    long total = summary.getTotal();
+    List<Map<String, Object>> threatSummary = summary.getTopThreats().stream()
+        .map(threat -> {
+          Map<String, Object> entry = new HashMap<>();
+          entry.put("pestName", threat.getName());
+          entry.put("occurrences", threat.getOccurrences());
+          entry.put("percentage", Math.round((threat.getOccurrences() * 100.0) / total));
+          return entry;
+        })
+        .collect(Collectors.toList());
+
+    List<Map<String, Object>> recentInfestations = summary.getRecent().stream()
+        .map(recent -> {
+          Map<String, Object> row = new HashMap<>();
+          row.put("id", recent.getId());
+          row.put("pestName", recent.getName());
+          row.put("detectedLocation", recent.getDetectedLocation());
+          row.put("latitude", recent.getLatitude());
+          row.put("longitude", recent.getLongitude());
+          row.put("detectionDateTime", recent.getDetectionDateTime());
+          row.put("farmerId", recent.getFarmerId());
+          return row;
+        })
+        .collect(Collectors.toList());
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("location", location);
+    response.put("totalInfestations", total);
+    response.put("affectedLocations", summary.getAffectedLocations());
+    response.put("recentInfestations", recentInfestations);
+    response.put("topThreats", threatSummary);
+    response.put("alertLevel", AlertLevel.of(total).name());
+    return response;
+  }
+
+  static Map<String, Object> userDetails(User user, Farmer farmer) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("userId", user.getId());
+    response.put("email", user.getEmail());
+    response.put("username", user.getUsername());
+    response.put("role", user.getRole().toString());
+
+    if (farmer != null) {
+      Map<String, Object> farmerDetails = new HashMap<>();
+      farmerDetails.put("id", farmer.getId());
+      farmerDetails.put("firstName", farmer.getFirstName());
+      farmerDetails.put("lastName", farmer.getLastName());
+      farmerDetails.put("email", farmer.getEmail());
+      farmerDetails.put("contactNumber", farmer.getContactNumber());
+      farmerDetails.put("landSize", farmer.getLandSize());
+      farmerDetails.put("landLocation", farmer.getLandLocation());
+      farmerDetails.put("registrationDate", farmer.getRegistrationDate());
+      response.put("farmerDetails", farmerDetails);
+    }
+    return response;
+  }
+}
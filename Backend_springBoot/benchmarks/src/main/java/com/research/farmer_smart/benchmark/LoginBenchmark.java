@@ -0,0 +1,125 @@
+package com.research.farmer_smart.benchmark;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.research.farmer_smart.exception.HashingCapacityException;
+import com.research.farmer_smart.model.User;
+import com.research.farmer_smart.service.AccessTokenService;
+import com.research.farmer_smart.service.serviceImpl.AccessTokenServiceImpl;
+import com.research.farmer_smart.service.serviceImpl.PasswordHashingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * A login storm: 32 request threads checking passwords at once. BCrypt on the calling thread
+ * against the bounded hashing pool, where {@code admitted} and {@code rejected} count logins
+ * served and turned away with 503. The token benchmarks are what each authenticated request
+ * costs instead of logging in again.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+  private static final String PASSWORD = "paddy-field-2024";
+
+  @Param({"10"})
+  public int strength;
+
+  private BCryptPasswordEncoder encoder;
+  private PasswordHashingServiceImpl hashingService;
+  private AccessTokenService accessTokenService;
+  private NimbusJwtDecoder jwtDecoder;
+  private String hash;
+  private String token;
+  private User user;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Outcomes {
+    public long admitted;
+    public long rejected;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      admitted = 0;
+      rejected = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    encoder = new BCryptPasswordEncoder(strength);
+    hashingService = new PasswordHashingServiceImpl(new SimpleMeterRegistry(), strength, 0, 64,
+        Duration.ofSeconds(2));
+    hash = encoder.encode(PASSWORD);
+
+    byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    SecretKey secretKey = new SecretKeySpec(key, "HmacSHA256");
+    accessTokenService = new AccessTokenServiceImpl(
+        new NimbusJwtEncoder(new ImmutableSecret<>(secretKey)), Duration.ofHours(1));
+    jwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(MacAlgorithm.HS256).build();
+    user = Fixtures.farmerUser();
+    token = accessTokenService.issue(user).value();
+  }
+
+  @TearDown
+  public void tearDown() {
+    hashingService.shutdown();
+  }
+
+  @Benchmark
+  public boolean bcryptOnRequestThread() {
+    return encoder.matches(PASSWORD, hash);
+  }
+
+  @Benchmark
+  public boolean bcryptOnHashingPool(Outcomes outcomes) {
+    try {
+      boolean matches = hashingService.matches(PASSWORD, hash);
+      outcomes.admitted++;
+      return matches;
+    } catch (HashingCapacityException e) {
+      outcomes.rejected++;
+      return false;
+    }
+  }
+
+  @Benchmark
+  public String issueToken() {
+    return accessTokenService.issue(user).value();
+  }
+
+  @Benchmark
+  public Jwt verifyToken() {
+    return jwtDecoder.decode(token);
+  }
+}
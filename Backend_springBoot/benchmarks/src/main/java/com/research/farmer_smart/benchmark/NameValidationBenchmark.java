@@ -0,0 +1,78 @@
+package com.research.farmer_smart.benchmark;
+
+import com.research.farmer_smart.service.DiseaseSolutionService;
+import com.research.farmer_smart.service.PestSolutionService;
+import com.research.farmer_smart.service.serviceImpl.DiseaseSolutionServiceImpl;
+import com.research.farmer_smart.service.serviceImpl.PestSolutionServiceImpl;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.objenesis.ObjenesisStd;
+
+/**
+ * {@code VALID_PEST_NAMES} / {@code VALID_DISEASE_NAMES} checks over a batch of reported names,
+ * mixed case and with some names outside the lists. The services are instantiated without their
+ * repositories; the checks only read the static name sets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class NameValidationBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int rows;
+
+  private PestSolutionService pestSolutionService;
+  private DiseaseSolutionService diseaseSolutionService;
+  private String[] pestNames;
+  private String[] diseaseNames;
+
+  @Setup
+  public void setUp() {
+    ObjenesisStd objenesis = new ObjenesisStd();
+    pestSolutionService = objenesis.newInstance(PestSolutionServiceImpl.class);
+    diseaseSolutionService = objenesis.newInstance(DiseaseSolutionServiceImpl.class);
+    Random random = new Random(42);
+    pestNames = new String[rows];
+    diseaseNames = new String[rows];
+    for (int i = 0; i < rows; i++) {
+      pestNames[i] = Fixtures.skewed(random, Fixtures.PEST_NAMES);
+      diseaseNames[i] = Fixtures.skewed(random, Fixtures.DISEASE_NAMES);
+    }
+  }
+
+  @Benchmark
+  public int validPestNames() {
+    int valid = 0;
+    for (String pestName : pestNames) {
+      if (pestSolutionService.isValidPestName(pestName)) {
+        valid++;
+      }
+    }
+    return valid;
+  }
+
+  @Benchmark
+  public int validDiseaseNames() {
+    int valid = 0;
+    for (String diseaseName : diseaseNames) {
+      if (diseaseSolutionService.isValidDiseaseName(diseaseName)) {
+        valid++;
+      }
+    }
+    return valid;
+  }
+}
@@ -0,0 +1,79 @@
+package com.research.farmer_smart.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.controller.response.PestAreaAlert;
+import com.research.farmer_smart.controller.response.UserDetails;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.User;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds and serializes the body of {@code /api/pest-alerts/area/{location}} and
+ * {@code /auth/user/{userId}}, the old HashMap way against the response records. Run with
+ * {@code -prof gc} and compare {@code gc.alloc.rate.norm} for bytes allocated per request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+  private ObjectMapper defaultMapper;
+  private ObjectMapper applicationMapper;
+  private AreaAlertSummary summary;
+  private User user;
+  private Farmer farmer;
+
+  @Setup
+  public void setUp() {
+    defaultMapper = Fixtures.defaultMapper();
+    applicationMapper = Fixtures.applicationMapper();
+    summary = Fixtures.areaSummary();
+    user = Fixtures.farmerUser();
+    farmer = Fixtures.farmer(0);
+  }
+
+  @Benchmark
+  public byte[] areaAlertHashMap() throws JsonProcessingException {
+    return defaultMapper.writeValueAsBytes(LegacyResponses.pestAreaAlert("Malabe", summary));
+  }
+
+  @Benchmark
+  public byte[] areaAlertRecord() throws JsonProcessingException {
+    return defaultMapper.writeValueAsBytes(PestAreaAlert.of("Malabe", summary));
+  }
+
+  @Benchmark
+  public byte[] areaAlertRecordBlackbird() throws JsonProcessingException {
+    return applicationMapper.writeValueAsBytes(PestAreaAlert.of("Malabe", summary));
+  }
+
+  @Benchmark
+  public byte[] userDetailsHashMap() throws JsonProcessingException {
+    return defaultMapper.writeValueAsBytes(LegacyResponses.userDetails(user, farmer));
+  }
+
+  @Benchmark
+  public byte[] userDetailsRecord() throws JsonProcessingException {
+    return defaultMapper.writeValueAsBytes(UserDetails.of(user, farmer, null));
+  }
+
+  @Benchmark
+  public byte[] userDetailsRecordBlackbird() throws JsonProcessingException {
+    return applicationMapper.writeValueAsBytes(UserDetails.of(user, farmer, null));
+  }
+}
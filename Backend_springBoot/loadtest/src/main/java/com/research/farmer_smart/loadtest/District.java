@@ -0,0 +1,33 @@
+package com.research.farmer_smart.loadtest;
+
+import java.util.List;
+
+/**
+ * A paddy-growing district with its approximate centroid. The weight is the share of generated
+ * farmers and detections, roughly following where paddy is cultivated.
+ */
+record District(String name, double latitude, double longitude, int weight,
+    List<String> divisions) {
+
+  static final List<District> ALL = List.of(
+      new District("Ampara", 7.30, 81.67, 18, List.of("Uhana", "Dehiattakandiya", "Damana")),
+      new District("Polonnaruwa", 7.94, 81.00, 14,
+          List.of("Hingurakgoda", "Medirigiriya", "Thamankaduwa")),
+      new District("Kurunegala", 7.49, 80.36, 12, List.of("Nikaweratiya", "Kuliyapitiya", "Mahawa")),
+      new District("Anuradhapura", 8.31, 80.40, 12,
+          List.of("Thambuttegama", "Kekirawa", "Medawachchiya")),
+      new District("Batticaloa", 7.71, 81.69, 8, List.of("Vakarai", "Chenkalady")),
+      new District("Hambantota", 6.12, 81.12, 7, List.of("Tissamaharama", "Ambalantota")),
+      new District("Trincomalee", 8.57, 81.23, 6, List.of("Kantale", "Seruvila")),
+      new District("Monaragala", 6.87, 81.35, 3, List.of("Buttala")),
+      new District("Badulla", 6.99, 81.06, 3, List.of("Mahiyanganaya")),
+      new District("Puttalam", 8.03, 79.83, 3, List.of("Chilaw")),
+      new District("Mannar", 8.98, 79.90, 3, List.of("Madhu")),
+      new District("Kilinochchi", 9.38, 80.40, 3, List.of("Poonakary")),
+      new District("Gampaha", 7.09, 79.99, 2, List.of("Minuwangoda")),
+      new District("Matara", 5.95, 80.55, 2, List.of("Akuressa")),
+      new District("Kandy", 7.29, 80.63, 1, List.of("Gampola")),
+      new District("Galle", 6.05, 80.22, 1, List.of("Baddegama")),
+      new District("Kalutara", 6.58, 79.96, 1, List.of("Horana")),
+      new District("Colombo", 6.93, 79.85, 1, List.of("Malabe", "Kaduwela")));
+}
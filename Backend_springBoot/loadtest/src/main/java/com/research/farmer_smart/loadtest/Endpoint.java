@@ -0,0 +1,15 @@
+package com.research.farmer_smart.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * One entry of the request mix. {@code weight} is its relative share of the requests each worker
+ * sends, {@code request} builds the next request against the base URI. Endpoints that need
+ * {@code $geoNear} only run by default against a real Mongo, the in-process stand-in lacks it.
+ */
+record Endpoint(String name, int weight, boolean geo,
+    BiFunction<String, Random, HttpRequest> request) {
+
+}
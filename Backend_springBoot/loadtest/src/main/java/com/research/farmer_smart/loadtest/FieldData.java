@@ -0,0 +1,253 @@
+package com.research.farmer_smart.loadtest;
+
+import com.research.farmer_smart.model.DiseaseSolution;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.Expert;
+import com.research.farmer_smart.model.ExpertRef;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.FarmerRef;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.model.PestSolution;
+import com.research.farmer_smart.model.Role;
+import com.research.farmer_smart.model.User;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Generates farmers, experts, their user accounts, detections and solutions, and writes them
+ * straight through {@link MongoTemplate} with the derived region and GeoJSON fields the services
+ * would have set. Alert counters are not backfilled, they only drive notifications.
+ */
+class FieldData {
+
+  static final String PASSWORD = "farmer-smart-load";
+
+  /** Valid pest names, most reports concentrated on the first few. */
+  static final List<String> PEST_NAMES = List.of(
+      "brown plant hopper", "rice gall midge", "thrips", "yellow rice borer", "rice leaf roller",
+      "paddy stem maggot", "rice water weevil", "asiatic rice borer", "rice leaf hopper",
+      "rice shell pest", "rice stem fly", "rice leaf caterpillar");
+  static final List<String> DISEASE_NAMES = List.of(
+      "blast", "brown spot", "bacterial blight", "tungro");
+
+  private static final int CHUNK = 5_000;
+  private static final int TOTAL_WEIGHT = District.ALL.stream().mapToInt(District::weight).sum();
+
+  private final MongoTemplate mongoTemplate;
+  private final PasswordEncoder passwordEncoder;
+  private final Random random;
+  private final LocalDateTime now = LocalDateTime.now();
+
+  final List<Farmer> farmers = new ArrayList<>();
+  final List<Expert> experts = new ArrayList<>();
+  final List<User> users = new ArrayList<>();
+  final List<String> infestationIds = new ArrayList<>();
+  final List<String> detectionIds = new ArrayList<>();
+
+  FieldData(MongoTemplate mongoTemplate, PasswordEncoder passwordEncoder, long seed) {
+    this.mongoTemplate = mongoTemplate;
+    this.passwordEncoder = passwordEncoder;
+    this.random = new Random(seed);
+  }
+
+  void seed(LoadTestOptions options) {
+    // One hash for every account, BCrypt at full cost would dominate seeding
+    String password = passwordEncoder.encode(PASSWORD);
+
+    for (int i = 0; i < options.farmers(); i++) {
+      District district = district(random);
+      Farmer farmer = new Farmer();
+      farmer.setId(new ObjectId().toHexString());
+      farmer.setFirstName("Farmer" + i);
+      farmer.setLastName(district.name());
+      farmer.setEmail("farmer" + i + "@example.lk");
+      farmer.setContactNumber(String.format("07%08d", i));
+      farmer.setLandSize((1 + random.nextInt(10)) + " acres");
+      farmer.setLandLocation(location(random, district));
+      RegionKey region = RegionKeys.of(farmer.getLandLocation());
+      farmer.setRegionKey(region.key());
+      farmer.setRegionTokens(region.tokens());
+      farmer.setRegistrationDate(LocalDate.now().minusDays(random.nextInt(720)));
+      farmers.add(farmer);
+      users.add(user(farmer.getEmail(), "farmer" + i, password, Role.FARMER, farmer, null));
+    }
+    for (int i = 0; i < options.experts(); i++) {
+      District district = district(random);
+      Expert expert = new Expert();
+      expert.setId(new ObjectId().toHexString());
+      expert.setFirstName("Expert" + i);
+      expert.setLastName(district.name());
+      expert.setEmail("expert" + i + "@example.lk");
+      expert.setContactNumber(String.format("07%08d", 90_000_000 + i));
+      expert.setAssignedArea(district.name());
+      expert.setDesignation("Agricultural Instructor");
+      expert.setSpecialization(i % 2 == 0 ? "Entomology" : "Plant Pathology");
+      expert.setQualifications("BSc Agriculture");
+      expert.setRegistrationDate(LocalDate.now().minusDays(random.nextInt(720)));
+      experts.add(expert);
+      users.add(user(expert.getEmail(), "expert" + i, password, Role.EXPERT, null, expert));
+    }
+    insert(farmers, Farmer.class);
+    insert(experts, Expert.class);
+    insert(users, User.class);
+
+    List<PestInfestation> infestations = new ArrayList<>();
+    for (int i = 0; i < options.infestations(); i++) {
+      Farmer farmer = farmers.get(random.nextInt(farmers.size()));
+      PestInfestation infestation = new PestInfestation();
+      infestation.setId(new ObjectId().toHexString());
+      infestation.setFarmer(farmer);
+      infestation.setPestName(skewed(random, PEST_NAMES));
+      infestation.setDetectedLocation(farmer.getLandLocation());
+      RegionKey region = RegionKeys.of(infestation.getDetectedLocation());
+      infestation.setRegionKey(region.key());
+      infestation.setRegionTokens(region.tokens());
+      double[] point = near(farmer);
+      infestation.setLatitude(point[0]);
+      infestation.setLongitude(point[1]);
+      infestation.setLocation(new GeoJsonPoint(point[1], point[0]));
+      infestation.setDetectionDateTime(detectedAt());
+      infestations.add(infestation);
+      infestationIds.add(infestation.getId());
+      if (infestations.size() == CHUNK) {
+        insert(infestations, PestInfestation.class);
+        infestations.clear();
+      }
+    }
+    insert(infestations, PestInfestation.class);
+
+    List<DiseasesDetection> detections = new ArrayList<>();
+    for (int i = 0; i < options.detections(); i++) {
+      Farmer farmer = farmers.get(random.nextInt(farmers.size()));
+      DiseasesDetection detection = new DiseasesDetection();
+      detection.setId(new ObjectId().toHexString());
+      detection.setFarmer(FarmerRef.of(farmer));
+      detection.setDiseaseName(skewed(random, DISEASE_NAMES));
+      detection.setDetectedLocation(farmer.getLandLocation());
+      RegionKey region = RegionKeys.of(detection.getDetectedLocation());
+      detection.setRegionKey(region.key());
+      detection.setRegionTokens(region.tokens());
+      double[] point = near(farmer);
+      detection.setLatitude(point[0]);
+      detection.setLongitude(point[1]);
+      detection.setLocation(new GeoJsonPoint(point[1], point[0]));
+      detection.setDetectionDateTime(detectedAt());
+      detections.add(detection);
+      detectionIds.add(detection.getId());
+      if (detections.size() == CHUNK) {
+        insert(detections, DiseasesDetection.class);
+        detections.clear();
+      }
+    }
+    insert(detections, DiseasesDetection.class);
+
+    seedSolutions(options.solutions());
+  }
+
+  private void seedSolutions(int count) {
+    if (experts.isEmpty() || infestationIds.isEmpty() || detectionIds.isEmpty()) {
+      return;
+    }
+    List<PestSolution> pestSolutions = new ArrayList<>();
+    List<DiseaseSolution> diseaseSolutions = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Expert expert = experts.get(random.nextInt(experts.size()));
+      if (i % 2 == 0) {
+        PestInfestation infestation = mongoTemplate.findById(
+            infestationIds.get(random.nextInt(infestationIds.size())), PestInfestation.class);
+        PestSolution solution = new PestSolution();
+        solution.setExpert(expert);
+        solution.setPestInfestation(infestation);
+        solution.setPestName(infestation.getPestName());
+        solution.setSolutionDescription("Apply recommended control for " + infestation.getPestName());
+        solution.setInsertDateTime(infestation.getDetectionDateTime().plusHours(6));
+        pestSolutions.add(solution);
+      } else {
+        DiseasesDetection detection = mongoTemplate.findById(
+            detectionIds.get(random.nextInt(detectionIds.size())), DiseasesDetection.class);
+        DiseaseSolution solution = new DiseaseSolution();
+        solution.setExpert(expert);
+        solution.setDiseasesDetection(detection);
+        solution.setDiseaseName(detection.getDiseaseName());
+        solution.setSolutionDescription("Apply recommended treatment for " + detection.getDiseaseName());
+        solution.setInsertDateTime(detection.getDetectionDateTime().plusHours(6));
+        diseaseSolutions.add(solution);
+      }
+    }
+    insert(pestSolutions, PestSolution.class);
+    insert(diseaseSolutions, DiseaseSolution.class);
+  }
+
+  static District district(Random random) {
+    int pick = random.nextInt(TOTAL_WEIGHT);
+    for (District district : District.ALL) {
+      pick -= district.weight();
+      if (pick < 0) {
+        return district;
+      }
+    }
+    throw new IllegalStateException("District weights changed while picking");
+  }
+
+  static String location(Random random, District district) {
+    return district.divisions().get(random.nextInt(district.divisions().size())) + ", "
+        + district.name();
+  }
+
+  /** Index 0 is the most frequent, each later entry roughly half as likely as the one before. */
+  static <T> T skewed(Random random, List<T> values) {
+    int index = 0;
+    while (index < values.size() - 1 && random.nextBoolean()) {
+      index++;
+    }
+    return values.get(index);
+  }
+
+  static double[] point(Random random, District district) {
+    return new double[]{
+        district.latitude() + random.nextGaussian() * 0.12,
+        district.longitude() + random.nextGaussian() * 0.12};
+  }
+
+  private double[] near(Farmer farmer) {
+    District district = District.ALL.stream()
+        .filter(candidate -> farmer.getLandLocation().endsWith(candidate.name()))
+        .findFirst()
+        .orElseThrow();
+    return point(random, district);
+  }
+
+  private LocalDateTime detectedAt() {
+    // Most reports are recent, the tail reaches two weeks back
+    double days = Math.min(14, -Math.log(1 - random.nextDouble()) * 3);
+    return now.minusMinutes((long) (days * 24 * 60));
+  }
+
+  private static User user(String email, String username, String password, Role role,
+      Farmer farmer, Expert expert) {
+    User user = new User();
+    user.setId(new ObjectId().toHexString());
+    user.setEmail(email);
+    user.setUsername(username);
+    user.setPassword(password);
+    user.setRole(role);
+    user.setFarmer(farmer == null ? null : FarmerRef.of(farmer));
+    user.setExpert(expert == null ? null : ExpertRef.of(expert));
+    return user;
+  }
+
+  private <T> void insert(List<T> documents, Class<T> type) {
+    if (!documents.isEmpty()) {
+      mongoTemplate.insert(documents, type);
+    }
+  }
+}
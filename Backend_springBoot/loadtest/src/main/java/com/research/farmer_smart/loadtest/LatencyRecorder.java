@@ -0,0 +1,53 @@
+package com.research.farmer_smart.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint as seen by one worker, merged after the run. Percentiles are exact
+ * nearest-rank values over every recorded request.
+ */
+class LatencyRecorder {
+
+  private long[] nanos = new long[1024];
+  private int count;
+  private int errors;
+
+  void record(long elapsedNanos, boolean error) {
+    if (count == nanos.length) {
+      nanos = Arrays.copyOf(nanos, count * 2);
+    }
+    nanos[count++] = elapsedNanos;
+    if (error) {
+      errors++;
+    }
+  }
+
+  void merge(LatencyRecorder other) {
+    for (int i = 0; i < other.count; i++) {
+      record(other.nanos[i], false);
+    }
+    errors += other.errors;
+  }
+
+  int count() {
+    return count;
+  }
+
+  int errors() {
+    return errors;
+  }
+
+  long[] sorted() {
+    long[] sorted = Arrays.copyOf(nanos, count);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  static double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+  }
+}
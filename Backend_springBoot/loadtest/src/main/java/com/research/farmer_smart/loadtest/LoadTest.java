@@ -0,0 +1,289 @@
+package com.research.farmer_smart.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.research.farmer_smart.FarmerSmartApplication;
+import com.research.farmer_smart.controller.request.DiseasesDetectionRequest;
+import com.research.farmer_smart.controller.request.LoginRequest;
+import com.research.farmer_smart.controller.request.PestInfestationRequest;
+import com.research.farmer_smart.loadtest.LoadTestReport.Result;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.User;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Boots the application against an in-process Mongo stand-in (or {@code mongoUri}, which should
+ * point at an empty database), seeds it with generated field data
+ * and drives the REST endpoints from {@code concurrency} closed-loop workers. Each worker picks the
+ * next endpoint by weight, waits for the response and records its latency. Results from the
+ * warmup period are discarded.
+ */
+public final class LoadTest {
+
+  private LoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options = LoadTestOptions.from(args);
+
+    MongoServer mongo = null;
+    String mongoUri = options.mongoUri();
+    if (mongoUri == null) {
+      mongo = new MongoServer(new MemoryBackend());
+      InetSocketAddress address = mongo.bind();
+      mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/farmer_smart";
+    }
+    // Command-line arguments, so they win over application.properties
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(FarmerSmartApplication.class)
+        .run(
+            "--spring.data.mongodb.uri=" + mongoUri,
+            "--server.port=0",
+            "--logging.level.root=WARN",
+            "--farmer-smart.notifications.smtp.enabled=false");
+    try {
+      // Same encoder and cost as UserServiceImpl
+      FieldData data = new FieldData(context.getBean(MongoTemplate.class),
+          new BCryptPasswordEncoder(), options.seed());
+      long seedStart = System.nanoTime();
+      data.seed(options);
+      double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+      System.out.printf("Seeded %d farmers, %d experts, %d infestations, %d detections in %.1fs%n",
+          data.farmers.size(), data.experts.size(), data.infestationIds.size(),
+          data.detectionIds.size(), seedSeconds);
+
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      List<Endpoint> endpoints = endpoints(data, context.getBean(ObjectMapper.class)).stream()
+          .filter(endpoint -> options.endpoints().isEmpty()
+              ? !endpoint.geo() || options.mongoUri() != null
+              : options.endpoints().contains(endpoint.name()))
+          .toList();
+      if (endpoints.isEmpty()) {
+        throw new IllegalArgumentException("No endpoints selected: " + options.endpoints());
+      }
+
+      String baseUri = "http://localhost:" + port;
+      HttpClient client = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+      drive(client, baseUri, endpoints, options, options.warmup());
+      long start = System.nanoTime();
+      Map<String, LatencyRecorder> recorders = drive(client, baseUri, endpoints, options,
+          options.duration());
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      LoadTestReport report = report(options, data, seedSeconds, recorders, seconds);
+      print(report);
+      Files.createDirectories(options.report().toAbsolutePath().getParent());
+      context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter()
+          .writeValue(options.report().toFile(), report);
+      System.out.println("Report written to " + options.report().toAbsolutePath());
+    } finally {
+      context.close();
+      if (mongo != null) {
+        mongo.shutdownNow();
+      }
+    }
+  }
+
+  private static Map<String, LatencyRecorder> drive(HttpClient client, String baseUri,
+      List<Endpoint> endpoints, LoadTestOptions options, Duration duration) throws Exception {
+    int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+    long deadline = System.nanoTime() + duration.toNanos();
+    ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+    try {
+      List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+      for (int w = 0; w < options.concurrency(); w++) {
+        Random random = new Random(options.seed() + w);
+        futures.add(workers.submit(() -> {
+          Map<String, LatencyRecorder> recorders = new HashMap<>();
+          while (System.nanoTime() < deadline) {
+            Endpoint endpoint = pick(endpoints, totalWeight, random);
+            HttpRequest request = endpoint.request().apply(baseUri, random);
+            long sent = System.nanoTime();
+            boolean error;
+            try {
+              HttpResponse<Void> response = client.send(request, BodyHandlers.discarding());
+              error = response.statusCode() >= 400;
+            } catch (IOException e) {
+              error = true;
+            }
+            recorders.computeIfAbsent(endpoint.name(), name -> new LatencyRecorder())
+                .record(System.nanoTime() - sent, error);
+          }
+          return recorders;
+        }));
+      }
+      Map<String, LatencyRecorder> merged = new TreeMap<>();
+      for (Future<Map<String, LatencyRecorder>> future : futures) {
+        future.get().forEach((name, recorder) ->
+            merged.computeIfAbsent(name, key -> new LatencyRecorder()).merge(recorder));
+      }
+      return merged;
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  private static Endpoint pick(List<Endpoint> endpoints, int totalWeight, Random random) {
+    int pick = random.nextInt(totalWeight);
+    for (Endpoint endpoint : endpoints) {
+      pick -= endpoint.weight();
+      if (pick < 0) {
+        return endpoint;
+      }
+    }
+    return endpoints.get(endpoints.size() - 1);
+  }
+
+  private static List<Endpoint> endpoints(FieldData data, ObjectMapper objectMapper) {
+    List<User> users = data.users;
+    List<Farmer> farmers = data.farmers;
+    return List.of(
+        new Endpoint("pest-area", 20, false, (base, random) ->
+            get(base + "/api/pest-alerts/area/" + segment(area(random)))),
+        new Endpoint("disease-area", 15, false, (base, random) ->
+            get(base + "/api/disease-alerts/area/" + segment(area(random)))),
+        new Endpoint("farmers-area", 5, false, (base, random) ->
+            get(base + "/api/pest-alerts/farmers/" + segment(area(random)))),
+        new Endpoint("pest-near", 8, true, (base, random) -> {
+          double[] point = FieldData.point(random, FieldData.district(random));
+          return get(base + "/api/pest-alerts/near?lat=" + point[0] + "&lng=" + point[1]
+              + "&radiusKm=10");
+        }),
+        new Endpoint("disease-near", 4, true, (base, random) -> {
+          double[] point = FieldData.point(random, FieldData.district(random));
+          return get(base + "/api/disease-alerts/near?lat=" + point[0] + "&lng=" + point[1]
+              + "&radiusKm=10");
+        }),
+        new Endpoint("user-details", 10, false, (base, random) ->
+            get(base + "/auth/user/" + users.get(random.nextInt(users.size())).getId())),
+        new Endpoint("login", 5, false, (base, random) -> {
+          LoginRequest login = new LoginRequest();
+          login.setEmail(users.get(random.nextInt(users.size())).getEmail());
+          login.setPassword(FieldData.PASSWORD);
+          return post(base + "/auth/login", json(objectMapper, login));
+        }),
+        new Endpoint("pest-solutions", 8, false, (base, random) ->
+            get(base + "/api/pest-solutions/pest/"
+                + segment(FieldData.skewed(random, FieldData.PEST_NAMES)))),
+        new Endpoint("disease-solutions", 4, false, (base, random) ->
+            get(base + "/disease-solutions/disease/"
+                + segment(FieldData.skewed(random, FieldData.DISEASE_NAMES)))),
+        new Endpoint("pest-page", 3, false, (base, random) ->
+            get(base + "/api/pest-infestations/page?size=50")),
+        new Endpoint("record-pest", 6, false, (base, random) -> {
+          Farmer farmer = farmers.get(random.nextInt(farmers.size()));
+          double[] point = FieldData.point(random, FieldData.district(random));
+          PestInfestationRequest request = new PestInfestationRequest();
+          request.setFarmerId(farmer.getId());
+          request.setPestName(FieldData.skewed(random, FieldData.PEST_NAMES));
+          request.setDetectedLocation(farmer.getLandLocation());
+          request.setLatitude(point[0]);
+          request.setLongitude(point[1]);
+          request.setDetectionDateTime(LocalDateTime.now());
+          return post(base + "/api/pest-infestations", json(objectMapper, request));
+        }),
+        new Endpoint("record-disease", 4, false, (base, random) -> {
+          Farmer farmer = farmers.get(random.nextInt(farmers.size()));
+          double[] point = FieldData.point(random, FieldData.district(random));
+          DiseasesDetectionRequest request = new DiseasesDetectionRequest();
+          request.setFarmerId(farmer.getId());
+          request.setDiseaseName(FieldData.skewed(random, FieldData.DISEASE_NAMES));
+          request.setDetectedLocation(farmer.getLandLocation());
+          request.setLatitude(point[0]);
+          request.setLongitude(point[1]);
+          request.setDetectionDateTime(LocalDateTime.now());
+          return post(base + "/diseases-detection", json(objectMapper, request));
+        }));
+  }
+
+  /** A district or one of its divisions, weighted like the seeded data. */
+  private static String area(Random random) {
+    District district = FieldData.district(random);
+    return random.nextInt(4) == 0 ? FieldData.location(random, district) : district.name();
+  }
+
+  private static String segment(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+  }
+
+  private static String json(ObjectMapper objectMapper, Object body) {
+    try {
+      return objectMapper.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static HttpRequest get(String uri) {
+    return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30)).GET().build();
+  }
+
+  private static HttpRequest post(String uri, String body) {
+    return HttpRequest.newBuilder(URI.create(uri))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private static LoadTestReport report(LoadTestOptions options, FieldData data,
+      double seedSeconds, Map<String, LatencyRecorder> recorders, double seconds) {
+    LatencyRecorder all = new LatencyRecorder();
+    List<Result> results = new ArrayList<>();
+    recorders.forEach((name, recorder) -> {
+      results.add(Result.of(name, recorder, seconds));
+      all.merge(recorder);
+    });
+    return new LoadTestReport(
+        new LoadTestReport.Settings(options.concurrency(), options.warmup().toMillis() / 1000.0,
+            seconds, options.seed()),
+        new LoadTestReport.Seeded(data.farmers.size(), data.experts.size(), data.users.size(),
+            data.infestationIds.size(), data.detectionIds.size(), options.solutions(),
+            seedSeconds),
+        results,
+        Result.of("total", all, seconds));
+  }
+
+  private static void print(LoadTestReport report) {
+    System.out.printf("%-18s %9s %7s %10s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    List<Result> rows = new ArrayList<>(report.endpoints());
+    rows.add(report.total());
+    for (Result row : rows) {
+      System.out.printf("%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+          row.endpoint(), row.requests(), row.errors(), row.throughputPerSecond(),
+          row.p50Millis(), row.p90Millis(), row.p99Millis(), row.maxMillis());
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.research.farmer_smart.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Harness settings, read from {@code loadtest.*} system properties and overridden by
+ * {@code key=value} program arguments.
+ */
+record LoadTestOptions(
+    int concurrency,
+    Duration warmup,
+    Duration duration,
+    int farmers,
+    int experts,
+    int infestations,
+    int detections,
+    int solutions,
+    Set<String> endpoints,
+    Path report,
+    long seed,
+    String mongoUri) {
+
+  private static final String PREFIX = "loadtest.";
+
+  static LoadTestOptions from(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    System.getProperties().stringPropertyNames().stream()
+        .filter(name -> name.startsWith(PREFIX))
+        .forEach(name -> values.put(name.substring(PREFIX.length()), System.getProperty(name)));
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (eq <= 0) {
+        throw new IllegalArgumentException("Expected key=value, got: " + arg);
+      }
+      values.put(arg.substring(0, eq), arg.substring(eq + 1));
+    }
+
+    return new LoadTestOptions(
+        Integer.parseInt(values.getOrDefault("concurrency", "16")),
+        DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+        DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+        Integer.parseInt(values.getOrDefault("farmers", "2000")),
+        Integer.parseInt(values.getOrDefault("experts", "50")),
+        Integer.parseInt(values.getOrDefault("infestations", "50000")),
+        Integer.parseInt(values.getOrDefault("detections", "50000")),
+        Integer.parseInt(values.getOrDefault("solutions", "2000")),
+        Arrays.stream(values.getOrDefault("endpoints", "").split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toUnmodifiableSet()),
+        Path.of(values.getOrDefault("report", "target/loadtest-report.json")),
+        Long.parseLong(values.getOrDefault("seed", "42")),
+        values.get("mongoUri"));
+  }
+}
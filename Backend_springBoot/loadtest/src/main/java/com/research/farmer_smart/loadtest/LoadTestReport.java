@@ -0,0 +1,32 @@
+package com.research.farmer_smart.loadtest;
+
+import java.util.List;
+
+/**
+ * Machine-readable result of one run, written as JSON next to the console summary.
+ */
+record LoadTestReport(Settings settings, Seeded seeded, List<Result> endpoints, Result total) {
+
+  record Settings(int concurrency, double warmupSeconds, double durationSeconds, long seed) {
+
+  }
+
+  record Seeded(int farmers, int experts, int users, int infestations, int detections,
+      int solutions, double seconds) {
+
+  }
+
+  record Result(String endpoint, int requests, int errors, double throughputPerSecond,
+      double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+
+    static Result of(String endpoint, LatencyRecorder recorder, double seconds) {
+      long[] sorted = recorder.sorted();
+      return new Result(endpoint, recorder.count(), recorder.errors(),
+          recorder.count() / seconds,
+          LatencyRecorder.percentileMillis(sorted, 50),
+          LatencyRecorder.percentileMillis(sorted, 90),
+          LatencyRecorder.percentileMillis(sorted, 99),
+          LatencyRecorder.percentileMillis(sorted, 100));
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.research.farmer_smart.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Serializers for response records and entities read their accessors through generated lambdas
+   * instead of reflective calls. Boot registers every Module bean with the shared ObjectMapper.
+   */
+  @Bean
+  public Module blackbirdModule() {
+    return new BlackbirdModule();
+  }
+}
@@ -0,0 +1,132 @@
+package com.research.farmer_smart.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared with {@code @Indexed}, {@code @CompoundIndex} and
+ * {@code @GeoSpatialIndexed} on the {@code @Document} classes, and counts the ones that already
+ * exist. Runs once the application is ready, on its own thread, so an unreachable cluster does
+ * not hold up startup. Indexes are only added, never dropped: an existing index on the same keys
+ * with different options is reported and left for an operator to replace.
+ */
+@Component
+public class MongoIndexInitializer {
+
+  private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+  private final MongoTemplate mongoTemplate;
+  private final MongoMappingContext mappingContext;
+  private final boolean ensureOnStartup;
+
+  public MongoIndexInitializer(MongoTemplate mongoTemplate, MongoMappingContext mappingContext,
+      @Value("${farmer-smart.mongo.indexes.ensure-on-startup:true}") boolean ensureOnStartup) {
+    this.mongoTemplate = mongoTemplate;
+    this.mappingContext = mappingContext;
+    this.ensureOnStartup = ensureOnStartup;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void onApplicationReady() {
+    if (!ensureOnStartup) {
+      return;
+    }
+    Thread thread = new Thread(() -> {
+      try {
+        ensureIndexes();
+      } catch (Exception e) {
+        logger.error("Could not create or verify Mongo indexes: {}", e.getMessage());
+      }
+    }, "mongo-indexes");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Creates every declared index that is missing. Safe to call repeatedly.
+   *
+   * @return the number of indexes created
+   */
+  public int ensureIndexes() {
+    IndexResolver resolver = IndexResolver.create(mappingContext);
+    int created = 0;
+    int verified = 0;
+    for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+      if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+        continue;
+      }
+      String collection = entity.getCollection();
+      Map<List<String>, Document> existing = existingIndexes(collection);
+      for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+        if (isOnEmbeddedCopy(index)) {
+          continue;
+        }
+        Document options = existing.get(keyOf(index.getIndexKeys()));
+        if (options == null) {
+          // A unique index over duplicate legacy rows cannot be built; that must not keep the
+          // remaining indexes from being created. Signup checks users.email itself meanwhile,
+          // see UserEmailIndex
+          try {
+            mongoTemplate.indexOps(collection).ensureIndex(index);
+            logger.info("Created index {} on {}", index.getIndexKeys().toJson(), collection);
+            created++;
+          } catch (RuntimeException e) {
+            logger.error("Could not create index {} on {}: {}", index.getIndexKeys().toJson(),
+                collection, e.getMessage());
+          }
+        } else if (Boolean.TRUE.equals(index.getIndexOptions().get("unique"))
+            && !Boolean.TRUE.equals(options.get("unique"))) {
+          logger.warn("Index {} on {} exists but is not unique, replace it to enforce uniqueness",
+              options.get("name"), collection);
+        } else {
+          verified++;
+        }
+      }
+    }
+    logger.info("Mongo indexes: {} created, {} verified", created, verified);
+    return created;
+  }
+
+  /*
+   * The resolver also derives indexes from the annotations of embedded types, e.g. the farmer
+   * region indexes inside every detection and user. Those copies are never queried, so only
+   * indexes declared on the document class itself are kept; it names the others by their path.
+   */
+  private static boolean isOnEmbeddedCopy(IndexDefinition index) {
+    String name = index.getIndexOptions().getString("name");
+    return name != null && name.contains(".");
+  }
+
+  // Existing indexes of a collection by their key pattern, field order included
+  private Map<List<String>, Document> existingIndexes(String collection) {
+    Map<List<String>, Document> indexes = new LinkedHashMap<>();
+    if (mongoTemplate.collectionExists(collection)) {
+      for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+        indexes.put(keyOf(index.get("key", Document.class)), index);
+      }
+    }
+    return indexes;
+  }
+
+  // Field and direction pairs; 1 and 1.0 are the same direction
+  private static List<String> keyOf(Document keys) {
+    List<String> key = new ArrayList<>();
+    keys.forEach((field, direction) -> key.add(field + ":"
+        + (direction instanceof Number number ? String.valueOf(number.intValue()) : direction)));
+    return key;
+  }
+}
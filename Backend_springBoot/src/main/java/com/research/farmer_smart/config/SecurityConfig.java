@@ -2,38 +2,142 @@ package com.research.farmer_smart.config;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.research.farmer_smart.service.serviceImpl.AccessTokenServiceImpl;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+  private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
+  // Open to anonymous callers; a bearer token sent to them is not even read, see bearerTokenResolver
+  private static final String[] PUBLIC_PATHS = {
+      "/auth/signup", "/auth/login",
+      "/api/pest-infestations/**",
+      "/diseases-detection/**",
+      "/api/pest-solutions/**",
+      "/rice-quality/**",
+      "/disease-solutions/**",
+      "/api/pest-alerts/**",
+      "/api/disease-alerts/**",
+      "/api/alerts/**",
+      "/api/farmers/**",
+      "auth/user/**",
+      "/weed-seed-detection/**",
+      "/actuator/health"
+  };
+
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(HttpSecurity http,
+      HandlerMappingIntrospector introspector) throws Exception {
+    RequestMatcher publicPaths = publicPaths(introspector);
     http
         .csrf(AbstractHttpConfigurer::disable)
         .authorizeHttpRequests(auth -> auth
-            .requestMatchers("/auth/signup", "/auth/login").permitAll()
-            .requestMatchers("/api/pest-infestations/**").permitAll()
-            .requestMatchers("/diseases-detection/**").permitAll()
-            .requestMatchers("/api/pest-solutions/**").permitAll()
-            .requestMatchers("/rice-quality/**").permitAll()
-            .requestMatchers("/disease-solutions/**").permitAll()
-            .requestMatchers("/api/pest-alerts/**").permitAll()
-            .requestMatchers("/api/disease-alerts/**").permitAll()
-            .requestMatchers("/api/farmers/**").permitAll()
-            .requestMatchers("auth/user/**").permitAll()
-            .requestMatchers("/weed-seed-detection/**").permitAll()
+            // Neither role can be self-assigned: public signup only creates farmers, experts are
+            // created by administrators and administrators only in the database
+            .requestMatchers("/auth/signup/batch").hasRole("EXPERT")
+            .requestMatchers("/auth/signup/expert").hasRole("ADMIN")
+            .requestMatchers(publicPaths).permitAll()
+            // Metrics and cache stats describe traffic and data volumes
+            .requestMatchers("/actuator/**").hasRole("ADMIN")
             .anyRequest().authenticated()
         )
+        // Bearer tokens from /auth/login, checked against the signature and expiry only
+        .oauth2ResourceServer(oauth2 -> oauth2
+            .bearerTokenResolver(bearerTokenResolver(publicPaths))
+            .jwt(jwt -> jwt.jwtAuthenticationConverter(roleAuthenticationConverter())))
         .sessionManagement(session -> session.sessionCreationPolicy(STATELESS));
 
     return http.build();
   }
-}
 
+  @Bean
+  public SecretKey accessTokenKey(@Value("${farmer-smart.auth.token.secret:}") String secret,
+      Environment environment) {
+    byte[] key;
+    if (secret.isBlank()) {
+      if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+        throw new IllegalStateException("farmer-smart.auth.token.secret is not set; set "
+            + "FARMER_SMART_TOKEN_SECRET or run with the dev profile to sign with a random key");
+      }
+      // Tokens then only verify on this instance and until it restarts
+      logger.warn("farmer-smart.auth.token.secret is not set, signing access tokens with a random key");
+      key = new byte[32];
+      new SecureRandom().nextBytes(key);
+    } else {
+      key = Base64.getDecoder().decode(secret);
+      if (key.length < 32) {
+        throw new IllegalStateException("farmer-smart.auth.token.secret must be at least 256 bits");
+      }
+    }
+    return new SecretKeySpec(key, "HmacSHA256");
+  }
+
+  @Bean
+  public JwtEncoder jwtEncoder(SecretKey accessTokenKey) {
+    return new NimbusJwtEncoder(new ImmutableSecret<>(accessTokenKey));
+  }
+
+  @Bean
+  public JwtDecoder jwtDecoder(SecretKey accessTokenKey) {
+    NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(accessTokenKey)
+        .macAlgorithm(MacAlgorithm.HS256)
+        .build();
+    decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(AccessTokenServiceImpl.ISSUER));
+    return decoder;
+  }
+
+  private static RequestMatcher publicPaths(HandlerMappingIntrospector introspector) {
+    MvcRequestMatcher.Builder mvc = new MvcRequestMatcher.Builder(introspector);
+    return new OrRequestMatcher(Arrays.stream(PUBLIC_PATHS)
+        .<RequestMatcher>map(mvc::pattern)
+        .toList());
+  }
+
+  // An expired token on a public endpoint would otherwise turn the request into a 401
+  private static BearerTokenResolver bearerTokenResolver(RequestMatcher publicPaths) {
+    DefaultBearerTokenResolver resolver = new DefaultBearerTokenResolver();
+    return request -> publicPaths.matches(request) ? null : resolver.resolve(request);
+  }
+
+  private static JwtAuthenticationConverter roleAuthenticationConverter() {
+    JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+    authorities.setAuthoritiesClaimName(AccessTokenServiceImpl.ROLE_CLAIM);
+    authorities.setAuthorityPrefix("ROLE_");
+    JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+    converter.setJwtGrantedAuthoritiesConverter(authorities);
+    return converter;
+  }
+}
@@ -0,0 +1,27 @@
+package com.research.farmer_smart.controller;
+
+import com.research.farmer_smart.service.AlertStreamService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/alerts")
+public class AlertStreamController {
+
+  private final AlertStreamService alertStreamService;
+
+  // Pushes a "pest" or "disease" event for every detection recorded in the region
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamAlerts(@RequestParam String region) {
+    return alertStreamService.subscribe(region)
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.badRequest().build());
+  }
+}
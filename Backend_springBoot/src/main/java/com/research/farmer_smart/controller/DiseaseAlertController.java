@@ -1,24 +1,32 @@
 package com.research.farmer_smart.controller;
 
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.controller.response.DiseaseAreaAlert;
+import com.research.farmer_smart.controller.response.FarmersInArea;
+import com.research.farmer_smart.controller.response.NearbyDiseaseAlerts;
 import com.research.farmer_smart.model.DiseasesDetection;
 import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.service.AlertSummaryService;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Key;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
 import com.research.farmer_smart.service.DiseaseNotificationService;
 import com.research.farmer_smart.service.DiseasesDetectionService;
+import com.research.farmer_smart.util.RegionKeys;
+import com.research.farmer_smart.util.VersionedResponses;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @RestController
 @AllArgsConstructor
@@ -31,81 +39,91 @@ public class DiseaseAlertController {
 
     private final DiseasesDetectionService diseasesDetectionService;
 
+    private final AlertSummaryService alertSummaryService;
+
+    private final ContentVersionService contentVersionService;
+
     @GetMapping("/area/{location}")
-    public ResponseEntity<Map<String, Object>> getDiseaseAlertsByArea(@PathVariable String location) {
+    public ResponseEntity<DiseaseAreaAlert> getDiseaseAlertsByArea(@PathVariable String location,
+            WebRequest webRequest) {
+        String regionToken = RegionKeys.lookupToken(location);
+        // The response also carries the number of farmers in the area
+        String etag = contentVersionService.etag(
+                Key.of(Scope.DISEASE_ALERTS, regionToken), Key.of(Scope.FARMERS, regionToken));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         try {
-            List<Farmer> farmersInArea = diseaseNotificationService.getFarmersInArea(location);
-            List<DiseasesDetection> recentInfestations = diseasesDetectionService.searchByLocation(location);
-
-            // Count unique farmers in infestations
-            Set<String> uniqueFarmerIds = recentInfestations.stream()
-                    .map(infestation -> infestation.getFarmer().getId())
-                    .collect(Collectors.toSet());
-
-            // Count disease occurrences and get top threats
-            Map<String, Long> diseaseCounts = recentInfestations.stream()
-                    .collect(Collectors.groupingBy(
-                            DiseasesDetection::getDiseaseName,
-                            Collectors.counting()
-                    ));
-
-            // Sort pests by frequency
-            List<Map.Entry<String, Long>> topThreats = diseaseCounts.entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                    .limit(3)
-                    .collect(Collectors.toList());
-
-            // Create threat summary
-            List<Map<String, Object>> threatSummary = topThreats.stream()
-                    .map(entry -> {
-                        Map<String, Object> threat = new HashMap<>();
-                        threat.put("diseaseName", entry.getKey());
-                        threat.put("occurrences", entry.getValue());
-                        threat.put("percentage", Math.round((entry.getValue() * 100.0) / recentInfestations.size()));
-                        return threat;
-                    })
-                    .collect(Collectors.toList());
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("location", location);
-            response.put("totalFarmersInArea", farmersInArea.size());
-            response.put("affectedFarmers", uniqueFarmerIds.size());
-            response.put("recentInfestations", recentInfestations);
-            response.put("topThreats", threatSummary);
-            response.put("alertLevel", getAlertLevel(recentInfestations.size()));
-            response.put("timestamp", LocalDateTime.now());
+            long farmersInArea = diseaseNotificationService.countFarmersInArea(location);
+            // Totals, top threats and the 10 most recent rows come back from one aggregation
+            AreaAlertSummary summary = alertSummaryService.summarizeDiseaseAlerts(location, etag);
+            DiseaseAreaAlert response = DiseaseAreaAlert.of(location, farmersInArea, summary);
 
             logger.info("Found {} infestations and {} farmers in {}",
-                    recentInfestations.size(), farmersInArea.size(), location);
-            return ResponseEntity.ok(response);
+                    summary.getTotal(), farmersInArea, location);
+            return VersionedResponses.ok(etag, response);
         } catch (Exception e) {
             logger.error("Error getting disease alerts for location {}: {}", location, e.getMessage());
             throw e;
         }
     }
 
+    @GetMapping("/near")
+    public ResponseEntity<NearbyDiseaseAlerts> getDiseaseAlertsNear(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            WebRequest webRequest) {
+        // Any write may land inside the radius
+        String etag = contentVersionService.etag(Key.of(Scope.DISEASE_ALERTS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        GeoResults<DiseasesDetection> results = diseasesDetectionService.searchNearby(lat, lng, radiusKm);
+
+        // Nearest first, as returned by $geoNear
+        NearbyDiseaseAlerts response = NearbyDiseaseAlerts.of(lat, lng, radiusKm, results);
+
+        logger.info("Found {} disease detections within {} km of {}, {}",
+                response.totalDetections(), radiusKm, lat, lng);
+        return VersionedResponses.ok(etag, response);
+    }
+
+    // Every detection in the circle, unordered; cheaper than /near when distances are not needed
+    @GetMapping("/within")
+    public ResponseEntity<List<DiseasesDetection>> getDiseaseAlertsWithin(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.DISEASE_ALERTS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<DiseasesDetection> detections = diseasesDetectionService.findWithinRadius(lat, lng, radiusKm);
+        logger.info("Found {} disease detections within {} km of {}, {}",
+                detections.size(), radiusKm, lat, lng);
+        return VersionedResponses.ok(etag, detections);
+    }
+
     @GetMapping("/farmers/{location}")
-    public ResponseEntity<Map<String, Object>> getFarmersInArea(@PathVariable String location) {
+    public ResponseEntity<FarmersInArea> getFarmersInArea(@PathVariable String location,
+            WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.FARMERS, RegionKeys.lookupToken(location)));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         try {
             List<Farmer> farmers = diseaseNotificationService.getFarmersInArea(location);
-            Map<String, Object> response = new HashMap<>();
-            response.put("location", location);
-            response.put("farmers", farmers);
-            response.put("count", farmers.size());
+            FarmersInArea response = FarmersInArea.of(location, farmers);
 
             logger.info("Found {} farmers in {}", farmers.size(), location);
-            return ResponseEntity.ok(response);
+            return VersionedResponses.ok(etag, response);
         } catch (Exception e) {
             logger.error("Error getting farmers for location {}: {}", location, e.getMessage());
             throw e;
         }
     }
-
-    private String getAlertLevel(int infestationCount) {
-        if (infestationCount >= 3) return "HIGH";
-        if (infestationCount >= 2) return "MEDIUM";
-        return "LOW";
-    }
 }
 
 
@@ -2,19 +2,27 @@ package com.research.farmer_smart.controller;
 
 import com.research.farmer_smart.controller.request.DiseaseSolutionRequest;
 import com.research.farmer_smart.exception.DiseasesDetectionException;
+import com.research.farmer_smart.exception.DiseasesDetectionStorageException;
+import com.research.farmer_smart.exception.ExpertNotFoundException;
 import com.research.farmer_smart.model.DiseaseSolution;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Key;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
 import com.research.farmer_smart.service.DiseaseSolutionService;
+import com.research.farmer_smart.util.VersionedResponses;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @AllArgsConstructor
@@ -23,6 +31,7 @@ public class DiseaseSolutionController {
 
   private static final Logger logger = LoggerFactory.getLogger(DiseaseSolutionController.class);
   private final DiseaseSolutionService diseaseSolutionService;
+  private final ContentVersionService contentVersionService;
 
   @PostMapping("")
   public DiseaseSolution addSolution(@Valid @RequestBody DiseaseSolutionRequest request) {
@@ -31,28 +40,45 @@ public class DiseaseSolutionController {
       DiseaseSolution result = diseaseSolutionService.addSolution(request);
       logger.info("Successfully created disease solution with ID: {}", result.getId());
       return result;
-    } catch (DiseasesDetectionException e) {
+    } catch (DiseasesDetectionException | ExpertNotFoundException e) {
       logger.error("Validation error: {}", e.getMessage());
       throw e;
     } catch (Exception e) {
       logger.error("Unexpected error while adding disease solution: ", e);
-      throw new DiseasesDetectionException("Failed to process request: " + e.getMessage());
+      throw new DiseasesDetectionStorageException("Failed to process request: " + e.getMessage());
     }
   }
 
   @GetMapping("/disease/{diseaseName}")
-  public List<DiseaseSolution> getSolutionsByDiseaseName(@PathVariable String diseaseName) {
-    return diseaseSolutionService.getSolutionsByDiseaseName(diseaseName);
+  public ResponseEntity<List<DiseaseSolution>> getSolutionsByDiseaseName(
+      @PathVariable String diseaseName, WebRequest webRequest) {
+    String etag = contentVersionService.etag(
+        Key.of(Scope.DISEASE_SOLUTIONS, diseaseName.toLowerCase()));
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+    return VersionedResponses.ok(etag,
+        diseaseSolutionService.getSolutionsByDiseaseName(diseaseName));
   }
 
   @GetMapping("/expert/{expertId}")
-  public List<DiseaseSolution> getExpertSolutions(@PathVariable String expertId) {
-    return diseaseSolutionService.getExpertSolutions(expertId);
+  public ResponseEntity<List<DiseaseSolution>> getExpertSolutions(@PathVariable String expertId,
+      WebRequest webRequest) {
+    String etag = contentVersionService.etag(Key.of(Scope.DISEASE_SOLUTIONS, null));
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+    return VersionedResponses.ok(etag, diseaseSolutionService.getExpertSolutions(expertId));
   }
 
   @GetMapping("/infestation/{diseaseDetectionId}")
-  public List<DiseaseSolution> getSolutionsForDiseaseDetection(
-      @PathVariable String diseaseDetectionId) {
-    return diseaseSolutionService.getSolutionsForDiseaseDetection(diseaseDetectionId);
+  public ResponseEntity<List<DiseaseSolution>> getSolutionsForDiseaseDetection(
+      @PathVariable String diseaseDetectionId, WebRequest webRequest) {
+    String etag = contentVersionService.etag(Key.of(Scope.DISEASE_SOLUTIONS, null));
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+    return VersionedResponses.ok(etag,
+        diseaseSolutionService.getSolutionsForDiseaseDetection(diseaseDetectionId));
   }
 }
@@ -1,12 +1,23 @@
 package com.research.farmer_smart.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.research.farmer_smart.controller.request.DiseasesDetectionRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.CursorPage;
+import com.research.farmer_smart.controller.response.DailyDetectionCount;
+import com.research.farmer_smart.model.DetectionKind;
 import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.service.DetectionRetentionService;
 import com.research.farmer_smart.service.DiseasesDetectionService;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
@@ -23,6 +35,8 @@ public class DiseasesDetectionController {
 
   private static final Logger logger = LoggerFactory.getLogger(DiseasesDetectionController.class);
   private final DiseasesDetectionService diseasesDetectionService;
+  private final DetectionRetentionService detectionRetentionService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping("")
   public DiseasesDetection recordPestInfestation(@RequestBody DiseasesDetectionRequest request) {
@@ -30,7 +44,6 @@ public class DiseasesDetectionController {
     try {
       DiseasesDetection result = diseasesDetectionService.recordDiseasesDetection(request);
       logger.info("Successfully recorded diseases detection: {}", result);
-      System.out.println(result);
       return result;
     } catch (Exception e) {
       logger.error("Error recording diseases detection: ", e);
@@ -38,6 +51,12 @@ public class DiseasesDetectionController {
     }
   }
 
+  @PostMapping("/batch")
+  public BatchResult recordDiseasesDetections(@RequestBody List<DiseasesDetectionRequest> requests) {
+    logger.info("Received batch of {} diseases detections", requests.size());
+    return diseasesDetectionService.recordDiseasesDetections(requests);
+  }
+
   @GetMapping("/farmer/{farmerId}")
   public List<DiseasesDetection> getFarmerDiseasesDetection(@PathVariable String farmerId) {
     return diseasesDetectionService.getFarmerDiseasesDetection(
@@ -49,6 +68,37 @@ public class DiseasesDetectionController {
     return diseasesDetectionService.searchByDiseaseName(diseaseName);
   }
 
+  @GetMapping("/page")
+  public CursorPage<DiseasesDetection> getDiseasePage(
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "100") int size) {
+    return diseasesDetectionService.getDiseasePage(after, size);
+  }
+
+  @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamAllDisease() {
+    logger.info("Received request to stream all disease detections");
+    // One JSON document per line, written as the cursor is read
+    StreamingResponseBody body = out -> {
+      try (Stream<DiseasesDetection> detections = diseasesDetectionService.streamAllDisease()) {
+        Iterator<DiseasesDetection> iterator = detections.iterator();
+        while (iterator.hasNext()) {
+          out.write(objectMapper.writeValueAsBytes(iterator.next()));
+          out.write('\n');
+        }
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  // Daily counts per disease, from the summaries for archived days and the raw rows for the rest
+  @GetMapping("/history")
+  public List<DailyDetectionCount> getDiseaseHistory(@RequestParam String location,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return detectionRetentionService.getHistory(DetectionKind.DISEASE, location, from, to);
+  }
+
   @GetMapping("/{id}")
   public DiseasesDetection getDiseasesDetectionById(@PathVariable String id) {
     return diseasesDetectionService.getPestInfestationById(id);
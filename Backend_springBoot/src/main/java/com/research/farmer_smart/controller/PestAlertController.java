@@ -1,17 +1,28 @@
 package com.research.farmer_smart.controller;
 
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.controller.response.FarmersInArea;
+import com.research.farmer_smart.controller.response.NearbyPestAlerts;
+import com.research.farmer_smart.controller.response.PestAreaAlert;
 import com.research.farmer_smart.model.Farmer;
 import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.service.AlertSummaryService;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Key;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
 import com.research.farmer_smart.service.NotificationService;
 import com.research.farmer_smart.service.PestInfestationService;
+import com.research.farmer_smart.util.RegionKeys;
+import com.research.farmer_smart.util.VersionedResponses;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @AllArgsConstructor
@@ -21,74 +32,22 @@ public class PestAlertController {
     private static final Logger logger = LoggerFactory.getLogger(PestAlertController.class);
     private final NotificationService notificationService;
     private final PestInfestationService pestInfestationService;
+    private final AlertSummaryService alertSummaryService;
+    private final ContentVersionService contentVersionService;
 
     @GetMapping("/area/{location}")
-    public ResponseEntity<Map<String, Object>> getPestAlertsByArea(@PathVariable String location) {
+    public ResponseEntity<?> getPestAlertsByArea(@PathVariable String location, WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.PEST_ALERTS, RegionKeys.lookupToken(location)));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         try {
-            // Get all pest infestations for the location
-            List<PestInfestation> allInfestations = pestInfestationService.searchByLocation(location);
-            logger.info("Found {} total infestations for location: {}", allInfestations.size(), location);
-
-            if (allInfestations.isEmpty()) {
-                Map<String, Object> emptyResponse = new HashMap<>();
-                emptyResponse.put("location", location);
-                emptyResponse.put("totalInfestations", 0);
-                emptyResponse.put("affectedLocations", Collections.emptySet());
-                emptyResponse.put("recentInfestations", Collections.emptyList());
-                emptyResponse.put("topThreats", Collections.emptyList());
-                emptyResponse.put("alertLevel", "LOW");
-                emptyResponse.put("timestamp", LocalDateTime.now());
-                return ResponseEntity.ok(emptyResponse);
-            }
-
-            // Get unique locations affected
-            Set<String> affectedLocations = allInfestations.stream()
-                .map(PestInfestation::getDetectedLocation)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-            
-            // Count pest occurrences and get top threats
-            Map<String, Long> pestCounts = allInfestations.stream()
-                .collect(Collectors.groupingBy(
-                    PestInfestation::getPestName,
-                    Collectors.counting()
-                ));
-            
-            // Sort pests by frequency
-            List<Map.Entry<String, Long>> topThreats = pestCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(3)
-                .collect(Collectors.toList());
-            
-            // Create threat summary
-            List<Map<String, Object>> threatSummary = topThreats.stream()
-                .map(entry -> {
-                    Map<String, Object> threat = new HashMap<>();
-                    threat.put("pestName", entry.getKey());
-                    threat.put("occurrences", entry.getValue());
-                    threat.put("percentage", Math.round((entry.getValue() * 100.0) / allInfestations.size()));
-                    return threat;
-                })
-                .collect(Collectors.toList());
-
-            // Sort infestations by date (most recent first)
-            List<PestInfestation> recentInfestations = allInfestations.stream()
-                .sorted(Comparator.comparing(PestInfestation::getDetectionDateTime).reversed())
-                .limit(10)  // Get only the 10 most recent
-                .collect(Collectors.toList());
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("location", location);
-            response.put("totalInfestations", allInfestations.size());
-            response.put("affectedLocations", affectedLocations);
-            response.put("recentInfestations", recentInfestations);
-            response.put("topThreats", threatSummary);
-            response.put("alertLevel", getAlertLevel(allInfestations.size()));
-            response.put("timestamp", LocalDateTime.now());
-            
-            logger.info("Processed alerts for location: {}. Found {} infestations across {} areas", 
-                location, allInfestations.size(), affectedLocations.size());
-            return ResponseEntity.ok(response);
+            // Totals, top threats and the 10 most recent rows come back from one aggregation
+            AreaAlertSummary summary = alertSummaryService.summarizePestAlerts(location, etag);
+            PestAreaAlert response = PestAreaAlert.of(location, summary);
+            logger.info("Processed alerts for location: {}. Found {} infestations across {} areas",
+                location, summary.getTotal(), summary.getAffectedLocations().size());
+            return VersionedResponses.ok(etag, response);
 
         } catch (Exception e) {
             logger.error("Error getting pest alerts for location {}: {}", location, e.getMessage(), e);
@@ -101,17 +60,54 @@ public class PestAlertController {
         }
     }
 
+    @GetMapping("/near")
+    public ResponseEntity<NearbyPestAlerts> getPestAlertsNear(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            WebRequest webRequest) {
+        // Any write may land inside the radius; rows embed the farmer, so farmer edits count too
+        String etag = contentVersionService.etag(Key.of(Scope.PEST_ALERTS, null), Key.of(Scope.FARMERS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        GeoResults<PestInfestation> results = pestInfestationService.searchNearby(lat, lng, radiusKm);
+
+        // Nearest first, as returned by $geoNear
+        NearbyPestAlerts response = NearbyPestAlerts.of(lat, lng, radiusKm, results);
+
+        logger.info("Found {} infestations within {} km of {}, {}", response.totalInfestations(), radiusKm, lat, lng);
+        return VersionedResponses.ok(etag, response);
+    }
+
+    // Every infestation in the circle, unordered; cheaper than /near when distances are not needed
+    @GetMapping("/within")
+    public ResponseEntity<List<PestInfestation>> getPestAlertsWithin(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.PEST_ALERTS, null), Key.of(Scope.FARMERS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<PestInfestation> infestations = pestInfestationService.findWithinRadius(lat, lng, radiusKm);
+        logger.info("Found {} infestations within {} km of {}, {}", infestations.size(), radiusKm, lat, lng);
+        return VersionedResponses.ok(etag, infestations);
+    }
+
     @GetMapping("/farmers/{location}")
-    public ResponseEntity<Map<String, Object>> getFarmersInArea(@PathVariable String location) {
+    public ResponseEntity<?> getFarmersInArea(@PathVariable String location, WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.FARMERS, RegionKeys.lookupToken(location)));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         try {
             List<Farmer> farmers = notificationService.getFarmersInArea(location);
-            Map<String, Object> response = new HashMap<>();
-            response.put("location", location);
-            response.put("farmers", farmers);
-            response.put("count", farmers.size());
-            
+            FarmersInArea response = FarmersInArea.of(location, farmers);
+
             logger.info("Found {} farmers in {}", farmers.size(), location);
-            return ResponseEntity.ok(response);
+            return VersionedResponses.ok(etag, response);
         } catch (Exception e) {
             logger.error("Error getting farmers for location {}: {}", location, e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -122,9 +118,4 @@ public class PestAlertController {
         }
     }
 
-    private String getAlertLevel(int infestationCount) {
-        if (infestationCount >= 3) return "HIGH";
-        if (infestationCount >= 2) return "MEDIUM";
-        return "LOW";
-    }
 } 
\ No newline at end of file
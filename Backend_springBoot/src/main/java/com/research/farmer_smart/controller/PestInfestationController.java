@@ -1,15 +1,28 @@
 package com.research.farmer_smart.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.research.farmer_smart.controller.request.PestInfestationRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.CursorPage;
+import com.research.farmer_smart.controller.response.DailyDetectionCount;
+import com.research.farmer_smart.exception.PestInfestationException;
+import com.research.farmer_smart.model.DetectionKind;
 import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.service.DetectionRetentionService;
 import com.research.farmer_smart.service.PestInfestationService;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @AllArgsConstructor
@@ -18,6 +31,8 @@ public class PestInfestationController {
 
     private static final Logger logger = LoggerFactory.getLogger(PestInfestationController.class);
     private final PestInfestationService pestInfestationService;
+    private final DetectionRetentionService detectionRetentionService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<PestInfestation> recordPestInfestation(@RequestBody PestInfestation pestInfestation) {
@@ -25,12 +40,21 @@ public class PestInfestationController {
             logger.info("Received request to record pest infestation: {}", pestInfestation);
             PestInfestation savedInfestation = pestInfestationService.savePestInfestation(pestInfestation);
             return ResponseEntity.ok(savedInfestation);
+        } catch (PestInfestationException e) {
+            // Rejected input, answered with 400 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             logger.error("Error recording pest infestation: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> recordPestInfestations(@RequestBody List<PestInfestationRequest> requests) {
+        logger.info("Received batch of {} pest infestations", requests.size());
+        return ResponseEntity.ok(pestInfestationService.recordPestInfestations(requests));
+    }
+
     @GetMapping
     public ResponseEntity<List<PestInfestation>> getAllPestInfestations() {
         try {
@@ -43,6 +67,29 @@ public class PestInfestationController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<PestInfestation>> getPestInfestationsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(pestInfestationService.getPestInfestationsPage(after, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPestInfestations() {
+        logger.info("Received request to stream all pest infestations");
+        // One JSON document per line, written as the cursor is read
+        StreamingResponseBody body = out -> {
+            try (Stream<PestInfestation> infestations = pestInfestationService.streamAllPestInfestations()) {
+                Iterator<PestInfestation> iterator = infestations.iterator();
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/farmer/{farmerId}")
     public ResponseEntity<List<PestInfestation>> getFarmerPestInfestations(@PathVariable String farmerId) {
         return ResponseEntity.ok(pestInfestationService.getFarmerPestInfestations(farmerId));
@@ -53,6 +100,15 @@ public class PestInfestationController {
         return ResponseEntity.ok(pestInfestationService.searchByPestName(pestName));
     }
 
+    // Daily counts per pest, from the summaries for archived days and the raw rows for the rest
+    @GetMapping("/history")
+    public ResponseEntity<List<DailyDetectionCount>> getPestHistory(
+            @RequestParam String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(detectionRetentionService.getHistory(DetectionKind.PEST, location, from, to));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PestInfestation> getPestInfestationById(@PathVariable String id) {
         try {
@@ -1,15 +1,21 @@
 package com.research.farmer_smart.controller;
 
 import com.research.farmer_smart.controller.request.PestSolutionRequest;
+import com.research.farmer_smart.controller.response.PestSolutionSummary;
 import com.research.farmer_smart.exception.PestInfestationException;
 import com.research.farmer_smart.model.PestSolution;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Key;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
 import com.research.farmer_smart.service.PestSolutionService;
+import com.research.farmer_smart.util.VersionedResponses;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -19,6 +25,7 @@ public class PestSolutionController {
 
     private static final Logger logger = LoggerFactory.getLogger(PestSolutionController.class);
     private final PestSolutionService pestSolutionService;
+    private final ContentVersionService contentVersionService;
 
     @PostMapping
     public ResponseEntity<PestSolution> addSolution(@Valid @RequestBody PestSolutionRequest request) {
@@ -36,18 +43,53 @@ public class PestSolutionController {
         }
     }
 
+    // Full solutions embed the infestation and, through it, the farmer, so farmer edits count too
     @GetMapping("/pest/{pestName}")
-    public ResponseEntity<List<PestSolution>> getSolutionsByPestName(@PathVariable String pestName) {
-        return ResponseEntity.ok(pestSolutionService.getSolutionsByPestName(pestName));
+    public ResponseEntity<List<PestSolution>> getSolutionsByPestName(@PathVariable String pestName, WebRequest webRequest) {
+        String etag = contentVersionService.etag(
+                Key.of(Scope.PEST_SOLUTIONS, pestName.toLowerCase()), Key.of(Scope.FARMERS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return VersionedResponses.ok(etag, pestSolutionService.getSolutionsByPestName(pestName));
+    }
+
+    @GetMapping("/pest/{pestName}/summary")
+    public ResponseEntity<List<PestSolutionSummary>> getSolutionSummariesByPestName(@PathVariable String pestName,
+            WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.PEST_SOLUTIONS, pestName.toLowerCase()));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return VersionedResponses.ok(etag, pestSolutionService.getSolutionSummariesByPestName(pestName));
     }
 
     @GetMapping("/expert/{expertId}")
-    public ResponseEntity<List<PestSolution>> getExpertSolutions(@PathVariable String expertId) {
-        return ResponseEntity.ok(pestSolutionService.getExpertSolutions(expertId));
+    public ResponseEntity<List<PestSolution>> getExpertSolutions(@PathVariable String expertId, WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.PEST_SOLUTIONS, null), Key.of(Scope.FARMERS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return VersionedResponses.ok(etag, pestSolutionService.getExpertSolutions(expertId));
+    }
+
+    @GetMapping("/expert/{expertId}/summary")
+    public ResponseEntity<List<PestSolutionSummary>> getExpertSolutionSummaries(@PathVariable String expertId,
+            WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.PEST_SOLUTIONS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return VersionedResponses.ok(etag, pestSolutionService.getExpertSolutionSummaries(expertId));
     }
 
     @GetMapping("/infestation/{pestInfestationId}")
-    public ResponseEntity<List<PestSolution>> getSolutionsForPestInfestation(@PathVariable String pestInfestationId) {
-        return ResponseEntity.ok(pestSolutionService.getSolutionsForPestInfestation(pestInfestationId));
+    public ResponseEntity<List<PestSolution>> getSolutionsForPestInfestation(@PathVariable String pestInfestationId,
+            WebRequest webRequest) {
+        String etag = contentVersionService.etag(Key.of(Scope.PEST_SOLUTIONS, null), Key.of(Scope.FARMERS, null));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return VersionedResponses.ok(etag, pestSolutionService.getSolutionsForPestInfestation(pestInfestationId));
     }
 } 
\ No newline at end of file
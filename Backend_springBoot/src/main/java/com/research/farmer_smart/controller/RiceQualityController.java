@@ -1,8 +1,10 @@
 package com.research.farmer_smart.controller;
 
 import com.research.farmer_smart.controller.request.RiceQualityRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
 import com.research.farmer_smart.model.RiceQuality;
 import com.research.farmer_smart.service.RiceQualityService;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,4 +33,10 @@ public class RiceQualityController {
       throw e;
     }
   }
+
+  @PostMapping("/batch")
+  public BatchResult recordRiceQualities(@RequestBody List<RiceQualityRequest> requests) {
+    logger.info("Received batch of {} rice quality records", requests.size());
+    return riceQualityService.recordRiceQualities(requests);
+  }
 }
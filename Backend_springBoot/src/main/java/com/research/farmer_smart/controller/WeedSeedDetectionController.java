@@ -1,8 +1,10 @@
 package com.research.farmer_smart.controller;
 
 import com.research.farmer_smart.controller.request.WeedSeedDetectionRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
 import com.research.farmer_smart.model.WeedSeedDetection;
 import com.research.farmer_smart.service.WeedSeedDetectionService;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,4 +33,10 @@ public class WeedSeedDetectionController {
       throw e;
     }
   }
+
+  @PostMapping("/batch")
+  public BatchResult recordWeedSeedDetections(@RequestBody List<WeedSeedDetectionRequest> requests) {
+    logger.info("Received batch of {} weed seed detections", requests.size());
+    return weedSeedDetectionService.recordWeedSeedDetections(requests);
+  }
 }
@@ -0,0 +1,24 @@
+package com.research.farmer_smart.controller.response;
+
+import com.research.farmer_smart.model.DetectionKind;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A detection pushed to live alert subscribers. Clients add it to the area summary they already
+ * hold instead of polling for a fresh one.
+ */
+@Data
+@Builder
+public class AlertDelta {
+
+  private DetectionKind kind;
+  private String id;
+  private String name;
+  private String detectedLocation;
+  private Double latitude;
+  private Double longitude;
+  private LocalDateTime detectionDateTime;
+  private String farmerId;
+}
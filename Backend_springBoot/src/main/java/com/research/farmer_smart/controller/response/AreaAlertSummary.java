@@ -0,0 +1,44 @@
+package com.research.farmer_smart.controller.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Last-7-days summary of detections in one region, computed by a single aggregation so only the
+ * totals, the top threats and a handful of recent rows ever leave Mongo.
+ */
+@Data
+@Builder
+public class AreaAlertSummary {
+
+  private String regionToken;
+  private long total;
+  private long affectedFarmers;
+  private List<String> affectedLocations;
+  private List<ThreatCount> topThreats;
+  private List<RecentDetection> recent;
+
+  @Data
+  @AllArgsConstructor
+  public static class ThreatCount {
+
+    private String name;
+    private long occurrences;
+  }
+
+  @Data
+  @Builder
+  public static class RecentDetection {
+
+    private String id;
+    private String name;
+    private String detectedLocation;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime detectionDateTime;
+    private String farmerId;
+  }
+}
@@ -0,0 +1,40 @@
+package com.research.farmer_smart.controller.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of a batch upload. Items are reported in request order, so a device replaying its
+ * offline queue can drop the accepted entries and retry only the rejected ones.
+ */
+@Data
+@AllArgsConstructor
+public class BatchResult {
+
+  private int accepted;
+  private int rejected;
+  private List<ItemResult> items;
+
+  public static BatchResult of(List<ItemResult> items) {
+    int accepted = (int) items.stream().filter(item -> item.getError() == null).count();
+    return new BatchResult(accepted, items.size() - accepted, items);
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class ItemResult {
+
+    private int index;
+    private String id;
+    private String error;
+
+    public static ItemResult accepted(int index, String id) {
+      return new ItemResult(index, id, null);
+    }
+
+    public static ItemResult rejected(int index, String error) {
+      return new ItemResult(index, null, error);
+    }
+  }
+}
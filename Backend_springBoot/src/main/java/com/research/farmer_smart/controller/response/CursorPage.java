@@ -0,0 +1,17 @@
+package com.research.farmer_smart.controller.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code after} to get the
+ * following page; it is {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private List<T> items;
+  private String nextCursor;
+}
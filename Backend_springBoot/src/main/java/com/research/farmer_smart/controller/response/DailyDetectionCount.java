@@ -0,0 +1,13 @@
+package com.research.farmer_smart.controller.response;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the {@code /history} endpoints: detections of one pest or disease in the area on
+ * one UTC day, from the daily summaries for archived days and from the raw rows otherwise.
+ * {@code farmers} counts distinct farmers per source, so a day split between the two may count a
+ * farmer twice.
+ */
+public record DailyDetectionCount(LocalDate day, String name, long count, long farmers) {
+
+}
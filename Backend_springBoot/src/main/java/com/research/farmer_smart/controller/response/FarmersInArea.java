@@ -0,0 +1,14 @@
+package com.research.farmer_smart.controller.response;
+
+import com.research.farmer_smart.model.Farmer;
+import java.util.List;
+
+/**
+ * Body of the {@code /farmers/{location}} alert endpoints.
+ */
+public record FarmersInArea(String location, List<Farmer> farmers, int count) {
+
+  public static FarmersInArea of(String location, List<Farmer> farmers) {
+    return new FarmersInArea(location, farmers, farmers.size());
+  }
+}
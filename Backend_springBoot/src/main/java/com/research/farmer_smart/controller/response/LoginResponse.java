@@ -11,4 +11,7 @@ public class LoginResponse {
     private String profileId;  // Farmer/Expert ID
     private String username;
     private String role;
+    private String accessToken;  // Send as "Authorization: Bearer <token>"
+    private String tokenType;
+    private Long expiresIn;      // Seconds
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.research.farmer_smart.controller.response;
+
+import com.research.farmer_smart.model.AlertLevel;
+import com.research.farmer_smart.model.DiseasesDetection;
+import java.util.List;
+import org.springframework.data.geo.GeoResults;
+
+/**
+ * Body of {@code GET /api/disease-alerts/near}, nearest detection first.
+ */
+public record NearbyDiseaseAlerts(
+    double latitude,
+    double longitude,
+    double radiusKm,
+    int totalDetections,
+    List<Row> nearbyDetections,
+    AlertLevel alertLevel) {
+
+  public static NearbyDiseaseAlerts of(double latitude, double longitude, double radiusKm,
+      GeoResults<DiseasesDetection> results) {
+    List<Row> rows = results.getContent().stream()
+        .map(result -> new Row(result.getContent(), result.getDistance().getValue()))
+        .toList();
+    return new NearbyDiseaseAlerts(latitude, longitude, radiusKm, rows.size(), rows,
+        AlertLevel.of(rows.size()));
+  }
+
+  public record Row(DiseasesDetection detection, double distanceKm) {
+
+  }
+}
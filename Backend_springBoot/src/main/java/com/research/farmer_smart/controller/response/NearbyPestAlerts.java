@@ -0,0 +1,31 @@
+package com.research.farmer_smart.controller.response;
+
+import com.research.farmer_smart.model.AlertLevel;
+import com.research.farmer_smart.model.PestInfestation;
+import java.util.List;
+import org.springframework.data.geo.GeoResults;
+
+/**
+ * Body of {@code GET /api/pest-alerts/near}, nearest infestation first.
+ */
+public record NearbyPestAlerts(
+    double latitude,
+    double longitude,
+    double radiusKm,
+    int totalInfestations,
+    List<Row> nearbyInfestations,
+    AlertLevel alertLevel) {
+
+  public static NearbyPestAlerts of(double latitude, double longitude, double radiusKm,
+      GeoResults<PestInfestation> results) {
+    List<Row> rows = results.getContent().stream()
+        .map(result -> new Row(result.getContent(), result.getDistance().getValue()))
+        .toList();
+    return new NearbyPestAlerts(latitude, longitude, radiusKm, rows.size(), rows,
+        AlertLevel.of(rows.size()));
+  }
+
+  public record Row(PestInfestation infestation, double distanceKm) {
+
+  }
+}
@@ -0,0 +1,54 @@
+package com.research.farmer_smart.controller.response;
+
+import com.research.farmer_smart.controller.response.AreaAlertSummary.RecentDetection;
+import com.research.farmer_smart.controller.response.AreaAlertSummary.ThreatCount;
+import com.research.farmer_smart.model.AlertLevel;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Body of {@code GET /api/pest-alerts/area/{location}}.
+ */
+public record PestAreaAlert(
+    String location,
+    long totalInfestations,
+    List<String> affectedLocations,
+    List<Recent> recentInfestations,
+    List<Threat> topThreats,
+    AlertLevel alertLevel) {
+
+  public static PestAreaAlert of(String location, AreaAlertSummary summary) {
+    long total = summary.getTotal();
+    return new PestAreaAlert(
+        location,
+        total,
+        summary.getAffectedLocations(),
+        summary.getRecent().stream().map(Recent::of).toList(),
+        summary.getTopThreats().stream().map(threat -> Threat.of(threat, total)).toList(),
+        AlertLevel.of(total));
+  }
+
+  public record Threat(String pestName, long occurrences, long percentage) {
+
+    static Threat of(ThreatCount threat, long total) {
+      return new Threat(threat.getName(), threat.getOccurrences(),
+          Math.round((threat.getOccurrences() * 100.0) / total));
+    }
+  }
+
+  public record Recent(
+      String id,
+      String pestName,
+      String detectedLocation,
+      Double latitude,
+      Double longitude,
+      LocalDateTime detectionDateTime,
+      String farmerId) {
+
+    static Recent of(RecentDetection recent) {
+      return new Recent(recent.getId(), recent.getName(), recent.getDetectedLocation(),
+          recent.getLatitude(), recent.getLongitude(), recent.getDetectionDateTime(),
+          recent.getFarmerId());
+    }
+  }
+}
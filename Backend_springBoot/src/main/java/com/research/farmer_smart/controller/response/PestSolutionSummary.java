@@ -0,0 +1,20 @@
+package com.research.farmer_smart.controller.response;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Lightweight view of a pest solution for list screens: ids and display names only, no embedded
+ * expert, infestation or farmer documents.
+ */
+@Data
+@Builder
+public class PestSolutionSummary {
+    private String id;
+    private String pestName;
+    private LocalDateTime insertDateTime;
+    private String expertId;
+    private String expertName;
+    private String pestInfestationId;
+}
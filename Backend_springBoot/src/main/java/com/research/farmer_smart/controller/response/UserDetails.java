@@ -0,0 +1,71 @@
+package com.research.farmer_smart.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.research.farmer_smart.model.Expert;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.User;
+import java.time.LocalDate;
+
+/**
+ * Body of {@code GET /auth/user/{userId}}. Only the profile matching the user's role is present;
+ * it comes from the profile document, the user itself only holds a reference to it.
+ */
+@JsonInclude(Include.NON_NULL)
+public record UserDetails(
+    String userId,
+    String email,
+    String username,
+    String role,
+    FarmerDetails farmerDetails,
+    ExpertDetails expertDetails) {
+
+  public static UserDetails of(User user, Farmer farmer, Expert expert) {
+    return new UserDetails(
+        user.getId(),
+        user.getEmail(),
+        user.getUsername(),
+        user.getRole() == null ? null : user.getRole().toString(),
+        farmer == null ? null : FarmerDetails.of(farmer),
+        expert == null ? null : ExpertDetails.of(expert));
+  }
+
+  @JsonInclude(Include.ALWAYS)
+  public record FarmerDetails(
+      String id,
+      String firstName,
+      String lastName,
+      String email,
+      String contactNumber,
+      String landSize,
+      String landLocation,
+      LocalDate registrationDate) {
+
+    static FarmerDetails of(Farmer farmer) {
+      return new FarmerDetails(farmer.getId(), farmer.getFirstName(), farmer.getLastName(),
+          farmer.getEmail(), farmer.getContactNumber(), farmer.getLandSize(),
+          farmer.getLandLocation(), farmer.getRegistrationDate());
+    }
+  }
+
+  @JsonInclude(Include.ALWAYS)
+  public record ExpertDetails(
+      String id,
+      String firstName,
+      String lastName,
+      String email,
+      String contactNumber,
+      String assignedArea,
+      String designation,
+      String specialization,
+      String qualifications,
+      LocalDate registrationDate) {
+
+    static ExpertDetails of(Expert expert) {
+      return new ExpertDetails(expert.getId(), expert.getFirstName(), expert.getLastName(),
+          expert.getEmail(), expert.getContactNumber(), expert.getAssignedArea(),
+          expert.getDesignation(), expert.getSpecialization(), expert.getQualifications(),
+          expert.getRegistrationDate());
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.research.farmer_smart.exception;
+
+public class DiseasesDetectionNotFoundException extends DiseasesDetectionException {
+
+  public DiseasesDetectionNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,9 @@
+package com.research.farmer_smart.exception;
+
+// A disease record or solution could not be written; the request itself was fine
+public class DiseasesDetectionStorageException extends DiseasesDetectionException {
+
+  public DiseasesDetectionStorageException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,7 @@
+package com.research.farmer_smart.exception;
+
+public class EmailAlreadyExistsException extends RuntimeException {
+    public EmailAlreadyExistsException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.research.farmer_smart.exception;
 
 import com.research.farmer_smart.controller.response.ErrorResponse;
 import com.research.farmer_smart.controller.response.LoginResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -23,6 +24,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(EmailAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleEmailAlreadyExistsException(EmailAlreadyExistsException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(SignUpException.class)
+    public ResponseEntity<ErrorResponse> handleSignUpException(SignUpException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(HashingCapacityException.class)
+    public ResponseEntity<ErrorResponse> handleHashingCapacityException(HashingCapacityException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -41,6 +59,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(DiseasesDetectionException.class)
+    public ResponseEntity<ErrorResponse> handleDiseasesDetectionException(DiseasesDetectionException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler({DiseasesDetectionNotFoundException.class, ExpertNotFoundException.class,
+            FarmerNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleNotFoundException(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+    }
+
+    // Database failures are the server's problem, not the client's
+    @ExceptionHandler(DiseasesDetectionStorageException.class)
+    public ResponseEntity<ErrorResponse> handleDiseasesDetectionStorageException(
+            DiseasesDetectionStorageException e) {
+        return ResponseEntity.internalServerError().body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(HistoryRangeException.class)
+    public ResponseEntity<ErrorResponse> handleHistoryRangeException(HistoryRangeException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
         ErrorResponse error = new ErrorResponse("An unexpected error occurred: " + e.getMessage());
@@ -0,0 +1,11 @@
+package com.research.farmer_smart.exception;
+
+/**
+ * The password hashing pool is saturated; the request is turned away with 503 instead of queueing
+ * behind the BCrypt work already admitted.
+ */
+public class HashingCapacityException extends RuntimeException {
+    public HashingCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.research.farmer_smart.exception;
+
+public class HistoryRangeException extends RuntimeException {
+    public HistoryRangeException(String message) {
+        super(message);
+    }
+}
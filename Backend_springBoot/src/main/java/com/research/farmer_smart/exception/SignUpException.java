@@ -0,0 +1,7 @@
+package com.research.farmer_smart.exception;
+
+public class SignUpException extends RuntimeException {
+    public SignUpException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.research.farmer_smart.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the {@code flow} tag to {@code http.server.requests}, next to the usual uri, method and
+ * status tags.
+ */
+@Component
+public class FlowServerRequestObservationConvention extends
+    DefaultServerRequestObservationConvention {
+
+  @Override
+  public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+    return super.getLowCardinalityKeyValues(context)
+        .and("flow", MetricsContext.flowOf(context.getCarrier().getRequestURI()));
+  }
+}
@@ -0,0 +1,28 @@
+package com.research.farmer_smart.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Marks the request thread with its flow, so Mongo commands issued while serving it are tagged
+ * with the same flow as the request itself.
+ */
+@Component
+public class FlowTaggingFilter extends OncePerRequestFilter {
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    MetricsContext.setFlow(MetricsContext.flowOf(request.getRequestURI()));
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      MetricsContext.clearFlow();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.research.farmer_smart.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Flow and operation of the work running on the current thread, attached as tags to the Mongo
+ * command metrics it causes. Every metric carries the same {@code flow} values (pest, disease,
+ * rice-quality, weed-seed, auth, alerts, none) so the four detection flows can be compared
+ * side by side.
+ */
+public final class MetricsContext {
+
+  public static final String NONE = "none";
+
+  private static final ThreadLocal<String> FLOW = new ThreadLocal<>();
+  private static final ThreadLocal<String> OPERATION = new ThreadLocal<>();
+
+  private MetricsContext() {
+  }
+
+  public static String flow() {
+    String flow = FLOW.get();
+    return flow != null ? flow : NONE;
+  }
+
+  public static String operation() {
+    String operation = OPERATION.get();
+    return operation != null ? operation : NONE;
+  }
+
+  /**
+   * Runs {@code work} tagged with the given flow and operation, for work handed to a background
+   * executor where no request or proxied call sets them.
+   */
+  public static <T> T call(String flow, String operation, Supplier<T> work) {
+    String previousFlow = FLOW.get();
+    FLOW.set(flow);
+    String previousOperation = enterOperation(operation);
+    try {
+      return work.get();
+    } finally {
+      exitOperation(previousOperation);
+      if (previousFlow == null) {
+        FLOW.remove();
+      } else {
+        FLOW.set(previousFlow);
+      }
+    }
+  }
+
+  static void setFlow(String flow) {
+    FLOW.set(flow);
+  }
+
+  static void clearFlow() {
+    FLOW.remove();
+  }
+
+  /**
+   * Makes {@code operation} current and returns the one it replaces, to be handed back to
+   * {@link #exitOperation(String)}. The innermost repository or service call wins.
+   */
+  static String enterOperation(String operation) {
+    String previous = OPERATION.get();
+    OPERATION.set(operation);
+    return previous;
+  }
+
+  static void exitOperation(String previous) {
+    if (previous == null) {
+      OPERATION.remove();
+    } else {
+      OPERATION.set(previous);
+    }
+  }
+
+  /**
+   * Flow an HTTP request belongs to, by the controller path prefix.
+   */
+  public static String flowOf(String path) {
+    if (path == null) {
+      return NONE;
+    }
+    if (path.startsWith("/api/pest-")) {
+      return "pest";
+    }
+    if (path.startsWith("/diseases-detection") || path.startsWith("/disease-solutions")
+        || path.startsWith("/api/disease-")) {
+      return "disease";
+    }
+    if (path.startsWith("/rice-quality")) {
+      return "rice-quality";
+    }
+    if (path.startsWith("/weed-seed-detection")) {
+      return "weed-seed";
+    }
+    if (path.startsWith("/auth") || path.startsWith("/api/farmers")) {
+      return "auth";
+    }
+    if (path.startsWith("/api/alerts")) {
+      return "alerts";
+    }
+    return NONE;
+  }
+}
@@ -0,0 +1,104 @@
+package com.research.farmer_smart.metrics;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the Mongo commands, and their total time, issued by the work running on the current
+ * thread between {@link #begin()} and {@link #end(Tally)}. The tally is picked when the command
+ * starts, on the thread that sent it, so commands from background executors are not counted.
+ */
+@Component
+public class MongoCommandTracker implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+  private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+  private final Map<Integer, Tally> started = new ConcurrentHashMap<>();
+
+  /**
+   * Starts a new tally on the current thread and returns the one it replaces, to be handed back
+   * to {@link #end(Tally)}.
+   */
+  public static Tally begin() {
+    Tally previous = CURRENT.get();
+    CURRENT.set(new Tally());
+    return previous;
+  }
+
+  /**
+   * Tally of the commands issued on the current thread since {@link #begin()}, or {@code null}
+   * when nothing is being tracked.
+   */
+  public static Tally current() {
+    return CURRENT.get();
+  }
+
+  public static void end(Tally previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  @Override
+  public void customize(MongoClientSettings.Builder builder) {
+    builder.addCommandListener(this);
+  }
+
+  @Override
+  public void commandStarted(CommandStartedEvent event) {
+    Tally tally = CURRENT.get();
+    if (tally != null) {
+      started.put(event.getRequestId(), tally);
+    }
+  }
+
+  @Override
+  public void commandSucceeded(CommandSucceededEvent event) {
+    record(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+  }
+
+  @Override
+  public void commandFailed(CommandFailedEvent event) {
+    record(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+  }
+
+  private void record(int requestId, long elapsedNanos) {
+    Tally tally = started.remove(requestId);
+    if (tally != null) {
+      tally.record(elapsedNanos);
+    }
+  }
+
+  /**
+   * Number of commands and their summed round-trip time. Updated from the driver's listener
+   * callbacks, which may run on another thread than the one reading it.
+   */
+  public static final class Tally {
+
+    private int commands;
+    private long nanos;
+
+    synchronized void record(long elapsedNanos) {
+      commands++;
+      nanos += elapsedNanos;
+    }
+
+    public synchronized int commands() {
+      return commands;
+    }
+
+    public synchronized double millis() {
+      return nanos / 1_000_000.0;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.research.farmer_smart.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Names the repository method, or for direct {@code MongoTemplate} use the service method, that
+ * issued each Mongo command. The name becomes the {@code operation} tag of
+ * {@code mongodb.driver.commands}.
+ */
+@Aspect
+@Component
+public class MongoOperationAspect {
+
+  private static final String BASE_PACKAGE = "com.research.farmer_smart.";
+
+  private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object aroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(),
+        MongoOperationAspect::repositoryName);
+    return proceed(joinPoint, repository + "." + joinPoint.getSignature().getName());
+  }
+
+  @Around("execution(public * com.research.farmer_smart.service..*(..))")
+  public Object aroundService(ProceedingJoinPoint joinPoint) throws Throwable {
+    String service = joinPoint.getSignature().getDeclaringType().getSimpleName()
+        .replaceFirst("Impl$", "");
+    return proceed(joinPoint, service + "." + joinPoint.getSignature().getName());
+  }
+
+  private static Object proceed(ProceedingJoinPoint joinPoint, String operation)
+      throws Throwable {
+    String previous = MetricsContext.enterOperation(operation);
+    try {
+      return joinPoint.proceed();
+    } finally {
+      MetricsContext.exitOperation(previous);
+    }
+  }
+
+  // Spring Data hands out proxies; the application interface is among the ones they implement
+  private static String repositoryName(Class<?> proxyClass) {
+    return ClassUtils.getAllInterfacesForClassAsSet(proxyClass).stream()
+        .filter(type -> type.getName().startsWith(BASE_PACKAGE))
+        .map(Class::getSimpleName)
+        .findFirst()
+        .orElse(proxyClass.getSimpleName());
+  }
+}
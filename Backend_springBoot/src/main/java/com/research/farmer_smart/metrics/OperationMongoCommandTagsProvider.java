@@ -0,0 +1,39 @@
+package com.research.farmer_smart.metrics;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags {@code mongodb.driver.commands} with the flow and operation that issued the command, on
+ * top of the default command, collection, cluster and status tags. Both are captured when the
+ * command starts, on the thread that sent it.
+ */
+@Component
+public class OperationMongoCommandTagsProvider implements MongoCommandTagsProvider {
+
+  private final MongoCommandTagsProvider defaults = new DefaultMongoCommandTagsProvider();
+  private final Map<Integer, Tags> startedTags = new ConcurrentHashMap<>();
+
+  @Override
+  public void commandStarted(CommandStartedEvent event) {
+    defaults.commandStarted(event);
+    startedTags.put(event.getRequestId(), Tags.of(
+        "flow", MetricsContext.flow(),
+        "operation", MetricsContext.operation()));
+  }
+
+  @Override
+  public Iterable<Tag> commandTags(CommandEvent event) {
+    Tags started = startedTags.remove(event.getRequestId());
+    return Tags.of(defaults.commandTags(event))
+        .and(started != null ? started : Tags.of("flow", MetricsContext.NONE,
+            "operation", MetricsContext.NONE));
+  }
+}
@@ -0,0 +1,72 @@
+package com.research.farmer_smart.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Reports the Mongo commands a request issued in a {@code Server-Timing} header, for example
+ * {@code mongo;desc="4 commands";dur=3.125}. The header is written when the response commits,
+ * so commands issued while the body is being serialized (lazy DBRefs) are counted too; for a
+ * streamed body it covers the commands issued before the first flush.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "farmer-smart.metrics.server-timing.enabled", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "Server-Timing";
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    MongoCommandTracker.Tally previous = MongoCommandTracker.begin();
+    MongoCommandTracker.Tally tally = MongoCommandTracker.current();
+    ServerTimingResponse wrapped = new ServerTimingResponse(response, tally);
+    try {
+      filterChain.doFilter(request, wrapped);
+    } finally {
+      MongoCommandTracker.end(previous);
+      if (!response.isCommitted()) {
+        wrapped.writeHeader();
+      }
+    }
+  }
+
+  static String format(MongoCommandTracker.Tally tally) {
+    return String.format(Locale.ROOT, "mongo;desc=\"%d commands\";dur=%.3f",
+        tally.commands(), tally.millis());
+  }
+
+  private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+    private final MongoCommandTracker.Tally tally;
+    private boolean written;
+
+    ServerTimingResponse(HttpServletResponse response, MongoCommandTracker.Tally tally) {
+      super(response);
+      this.tally = tally;
+    }
+
+    @Override
+    protected void onResponseCommitted() {
+      writeHeader();
+    }
+
+    void writeHeader() {
+      if (!written) {
+        written = true;
+        ((HttpServletResponse) getResponse()).addHeader(HEADER, format(tally));
+      }
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.research.farmer_smart.migration;
+
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.service.AlertCounterService;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes the hourly alert counters still within their TTL from the raw pest infestation and
+ * disease detection history. Enable with {@code farmer-smart.migration.alert-counters.rebuild=true} after the
+ * region-key backfill, or whenever the counters are suspected to have drifted.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "farmer-smart.migration.alert-counters.rebuild", havingValue = "true")
+public class AlertCounterRebuild implements ApplicationRunner {
+
+  private final AlertCounterService alertCounterService;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    alertCounterService.rebuild(DetectionKind.PEST);
+    alertCounterService.rebuild(DetectionKind.DISEASE);
+  }
+}
@@ -0,0 +1,164 @@
+package com.research.farmer_smart.migration;
+
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.repository.DetectionEventStore;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies the pest infestations and disease detections stored before dual writes were switched
+ * on into the time-series event collections of {@link DetectionEventStore}. Enable with
+ * {@code farmer-smart.migration.detection-events.enabled=true} once every instance runs with
+ * {@code farmer-smart.detections.time-series.mode=dual-write}; reads move over with
+ * {@code mode=time-series} after it has finished.
+ *
+ * <p>Runs online, on its own thread once the application is ready. The first run records an
+ * {@code _id} cutoff: anything newer was written by the dual writes. Older detections are read
+ * in {@code _id} order, {@code batch-size} at a time, followed by a {@code pause}. Progress is
+ * kept in {@code migration_checkpoints}; after a restart the first batch skips detections whose
+ * events were written just before it stopped. When a collection is done, its storage and index
+ * sizes are logged next to those of its event collection.
+ */
+@Component
+@ConditionalOnProperty(name = "farmer-smart.migration.detection-events.enabled", havingValue = "true")
+public class DetectionEventBackfill {
+
+  private static final Logger logger = LoggerFactory.getLogger(DetectionEventBackfill.class);
+  private static final String CHECKPOINTS = "migration_checkpoints";
+  private static final Map<DetectionKind, Class<?>> SOURCES = Map.of(
+      DetectionKind.PEST, PestInfestation.class,
+      DetectionKind.DISEASE, DiseasesDetection.class);
+
+  private final MongoTemplate mongoTemplate;
+  private final DetectionEventStore detectionEventStore;
+  private final int batchSize;
+  private final Duration pause;
+
+  public DetectionEventBackfill(MongoTemplate mongoTemplate,
+      DetectionEventStore detectionEventStore,
+      @Value("${farmer-smart.migration.detection-events.batch-size:500}") int batchSize,
+      @Value("${farmer-smart.migration.detection-events.pause:200ms}") Duration pause) {
+    this.mongoTemplate = mongoTemplate;
+    this.detectionEventStore = detectionEventStore;
+    this.batchSize = batchSize;
+    this.pause = pause;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void onApplicationReady() {
+    Thread thread = new Thread(() -> {
+      try {
+        run();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        logger.warn("Detection event backfill interrupted, it resumes on the next start");
+      } catch (Exception e) {
+        logger.error("Detection event backfill stopped, it resumes on the next start: {}",
+            e.getMessage());
+      }
+    }, "detection-event-backfill");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public void run() throws InterruptedException {
+    if (!detectionEventStore.writesEvents()) {
+      // Without dual writes, detections recorded during or after the backfill would be missed
+      logger.warn("Detection event backfill skipped: time-series mode is {}, switch to dual-write "
+          + "first", detectionEventStore.mode());
+      return;
+    }
+    detectionEventStore.ensureCollections();
+    backfill(DetectionKind.PEST);
+    backfill(DetectionKind.DISEASE);
+  }
+
+  private void backfill(DetectionKind kind) throws InterruptedException {
+    String collection = mongoTemplate.getCollectionName(SOURCES.get(kind));
+    String checkpointId = "detection-events:" + collection;
+    Document checkpoint = mongoTemplate.findById(checkpointId, Document.class, CHECKPOINTS);
+    boolean resumed = checkpoint != null;
+    if (checkpoint == null) {
+      checkpoint = new Document("_id", checkpointId)
+          .append("cutoff", new ObjectId())
+          .append("detections", 0L)
+          .append("events", 0L);
+      mongoTemplate.save(checkpoint, CHECKPOINTS);
+    } else if (checkpoint.getBoolean("done", false)) {
+      return;
+    } else {
+      logger.info("Resuming detection event backfill of {} after {}", collection,
+          checkpoint.get("lastId"));
+    }
+
+    ObjectId cutoff = checkpoint.getObjectId("cutoff");
+    long detections = checkpoint.get("detections", Number.class).longValue();
+    long events = checkpoint.get("events", Number.class).longValue();
+    Object lastId = checkpoint.get("lastId");
+    while (true) {
+      Criteria range = Criteria.where("_id").lt(cutoff);
+      if (lastId != null) {
+        range = range.gt(lastId);
+      }
+      List<Document> batch = mongoTemplate.find(new Query(range).with(Sort.by("_id"))
+          .limit(batchSize), Document.class, collection);
+      if (batch.isEmpty()) {
+        break;
+      }
+
+      List<Document> pending = batch;
+      if (resumed) {
+        // The events of this batch may have been written before the checkpoint was
+        Set<Object> existing = detectionEventStore.existingIds(kind,
+            batch.stream().map(document -> document.get("_id")).toList());
+        pending = batch.stream().filter(document -> !existing.contains(document.get("_id")))
+            .toList();
+        resumed = false;
+      }
+      events += detectionEventStore.appendDocuments(kind, pending);
+      detections += pending.size();
+
+      lastId = batch.get(batch.size() - 1).get("_id");
+      mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(checkpointId)),
+          new Update().set("lastId", lastId).set("detections", detections).set("events", events)
+              .set("updatedAt", Instant.now()),
+          CHECKPOINTS);
+      Thread.sleep(pause.toMillis());
+    }
+
+    mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(checkpointId)),
+        new Update().set("done", true).set("updatedAt", Instant.now()), CHECKPOINTS);
+    logger.info("Backfilled {} {} as {} events: {}; {}", detections, collection, events,
+        storage(collection), storage(DetectionEventStore.collectionName(kind)));
+  }
+
+  // Storage and index size as reported by collStats, compressed on disk
+  private String storage(String collection) {
+    try {
+      Document stats = mongoTemplate.executeCommand(new Document("collStats", collection));
+      return String.format("%s %s documents, %s bytes stored, %s bytes of indexes", collection,
+          stats.get("count"), stats.get("storageSize"), stats.get("totalIndexSize"));
+    } catch (RuntimeException e) {
+      return collection + " size unavailable (" + e.getMessage() + ")";
+    }
+  }
+}
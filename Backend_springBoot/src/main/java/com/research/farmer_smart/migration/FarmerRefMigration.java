@@ -0,0 +1,208 @@
+package com.research.farmer_smart.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.RiceQuality;
+import com.research.farmer_smart.model.User;
+import com.research.farmer_smart.model.WeedSeedDetection;
+import com.research.farmer_smart.util.RegionKeys;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shrinks the full farmer and expert copies embedded in users and detections to the fields of
+ * {@code FarmerRef} / {@code ExpertRef}. Enable with
+ * {@code farmer-smart.migration.farmer-ref.enabled=true}.
+ *
+ * <p>Runs online, on its own thread once the application is ready: documents are read in
+ * {@code _id} order, {@code batch-size} at a time, and the batch is written as one unordered bulk
+ * update followed by a {@code pause}. Each update only applies if the embedded copy is still the
+ * one that was read, so a concurrent profile edit is never overwritten. The last {@code _id} of
+ * every batch is saved in {@code migration_checkpoints}; a restart carries on from there and a
+ * finished collection is skipped. Before and after, the average size of the first documents and
+ * the time to read them back are logged per collection.
+ */
+@Component
+@ConditionalOnProperty(name = "farmer-smart.migration.farmer-ref.enabled", havingValue = "true")
+public class FarmerRefMigration {
+
+  private static final Logger logger = LoggerFactory.getLogger(FarmerRefMigration.class);
+  private static final String CHECKPOINTS = "migration_checkpoints";
+  private static final Set<String> FARMER_FIELDS = Set.of("_id", "firstName", "lastName",
+      "regionKey");
+  private static final Set<String> EXPERT_FIELDS = Set.of("_id", "firstName", "lastName");
+  // Documents read back for the size and latency report, the size of a typical list page
+  private static final int SAMPLE_SIZE = 100;
+  private static final int SAMPLE_RUNS = 5;
+
+  private final MongoTemplate mongoTemplate;
+  private final int batchSize;
+  private final Duration pause;
+
+  public FarmerRefMigration(MongoTemplate mongoTemplate,
+      @Value("${farmer-smart.migration.farmer-ref.batch-size:500}") int batchSize,
+      @Value("${farmer-smart.migration.farmer-ref.pause:200ms}") Duration pause) {
+    this.mongoTemplate = mongoTemplate;
+    this.batchSize = batchSize;
+    this.pause = pause;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void onApplicationReady() {
+    Thread thread = new Thread(() -> {
+      try {
+        run();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        logger.warn("Farmer reference migration interrupted, it resumes on the next start");
+      } catch (Exception e) {
+        logger.error("Farmer reference migration stopped, it resumes on the next start: {}",
+            e.getMessage());
+      }
+    }, "farmer-ref-migration");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public void run() throws InterruptedException {
+    String users = mongoTemplate.getCollectionName(User.class);
+    migrate(users, "farmer", FARMER_FIELDS);
+    migrate(users, "expert", EXPERT_FIELDS);
+    for (Class<?> type : Arrays.asList(DiseasesDetection.class, RiceQuality.class,
+        WeedSeedDetection.class)) {
+      migrate(mongoTemplate.getCollectionName(type), "farmer", FARMER_FIELDS);
+    }
+  }
+
+  private void migrate(String collection, String field, Set<String> kept)
+      throws InterruptedException {
+    String checkpointId = "farmer-ref:" + collection + "." + field;
+    Document checkpoint = mongoTemplate.findById(checkpointId, Document.class, CHECKPOINTS);
+    if (checkpoint == null) {
+      Sample before = sample(collection);
+      checkpoint = new Document("_id", checkpointId)
+          .append("migrated", 0L)
+          .append("sizeBefore", before.averageSize())
+          .append("millisBefore", before.millis());
+      mongoTemplate.save(checkpoint, CHECKPOINTS);
+    } else if (checkpoint.getBoolean("done", false)) {
+      return;
+    } else {
+      logger.info("Resuming farmer reference migration of {}.{} after {}", collection, field,
+          checkpoint.get("lastId"));
+    }
+
+    long migrated = checkpoint.get("migrated", Number.class).longValue();
+    Object lastId = checkpoint.get("lastId");
+    while (true) {
+      Query query = new Query(lastId == null ? new Criteria() : Criteria.where("_id").gt(lastId))
+          .with(Sort.by("_id"))
+          .limit(batchSize);
+      query.fields().include(field);
+      List<Document> documents = mongoTemplate.find(query, Document.class, collection);
+      if (documents.isEmpty()) {
+        break;
+      }
+
+      BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, collection);
+      int pending = 0;
+      for (Document document : documents) {
+        Document embedded = document.get(field, Document.class);
+        Document compact = embedded == null ? null : compact(embedded, kept);
+        if (compact != null) {
+          bulk.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))
+                  .and(field).is(embedded)),
+              Update.update(field, compact));
+          pending++;
+        }
+      }
+      if (pending > 0) {
+        migrated += bulk.execute().getModifiedCount();
+      }
+
+      lastId = documents.get(documents.size() - 1).get("_id");
+      mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(checkpointId)),
+          new Update().set("lastId", lastId).set("migrated", migrated)
+              .set("updatedAt", Instant.now()),
+          CHECKPOINTS);
+      Thread.sleep(pause.toMillis());
+    }
+
+    Sample after = sample(collection);
+    mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(checkpointId)),
+        new Update().set("done", true).set("sizeAfter", after.averageSize())
+            .set("millisAfter", after.millis()).set("updatedAt", Instant.now()),
+        CHECKPOINTS);
+    logger.info("Compacted {} {} copies in {}: average document {} -> {} bytes, "
+            + "reading {} documents {} -> {} ms", migrated, field, collection,
+        checkpoint.get("sizeBefore"), after.averageSize(), SAMPLE_SIZE,
+        checkpoint.get("millisBefore"), after.millis());
+  }
+
+  /*
+   * The embedded copy cut down to the kept fields, or null if there is nothing to remove. Farmer
+   * copies written before the region key existed get it from their land location.
+   */
+  private static Document compact(Document embedded, Set<String> kept) {
+    boolean deriveRegion = kept.contains("regionKey") && embedded.get("regionKey") == null
+        && embedded.getString("landLocation") != null;
+    if (!deriveRegion && kept.containsAll(embedded.keySet())) {
+      return null;
+    }
+    Document compact = new Document();
+    embedded.forEach((key, value) -> {
+      if (kept.contains(key)) {
+        compact.put(key, value);
+      }
+    });
+    if (deriveRegion) {
+      compact.put("regionKey", RegionKeys.of(embedded.getString("landLocation")).key());
+    }
+    return compact;
+  }
+
+  private record Sample(long averageSize, double millis) {
+  }
+
+  // The first documents by _id, read whole as the list endpoints do: median time of a few reads
+  private Sample sample(String collection) {
+    MongoCollection<RawBsonDocument> raw = mongoTemplate.getCollection(collection)
+        .withDocumentClass(RawBsonDocument.class);
+    List<Long> nanos = new ArrayList<>();
+    long bytes = 0;
+    int count = 0;
+    for (int run = 0; run < SAMPLE_RUNS; run++) {
+      long start = System.nanoTime();
+      bytes = 0;
+      count = 0;
+      for (RawBsonDocument document : raw.find().sort(new Document("_id", 1)).limit(SAMPLE_SIZE)) {
+        bytes += document.getByteBuffer().remaining();
+        count++;
+      }
+      nanos.add(System.nanoTime() - start);
+    }
+    nanos.sort(null);
+    double millis = Math.round(nanos.get(SAMPLE_RUNS / 2) / 10_000.0) / 100.0;
+    return new Sample(count == 0 ? 0 : bytes / count, millis);
+  }
+}
@@ -0,0 +1,58 @@
+package com.research.farmer_smart.migration;
+
+import com.mongodb.client.result.UpdateResult;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.PestInfestation;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration that creates the 2dsphere indexes on pest infestations and disease detections
+ * and fills in the GeoJSON {@code location} field from the legacy latitude/longitude fields.
+ * Enable with {@code farmer-smart.migration.geo-location.enabled=true}; it is safe to run again.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "farmer-smart.migration.geo-location.enabled", havingValue = "true")
+public class GeoLocationMigration implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(GeoLocationMigration.class);
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    migrate(PestInfestation.class);
+    migrate(DiseasesDetection.class);
+  }
+
+  private void migrate(Class<?> entityClass) {
+    String collection = mongoTemplate.getCollectionName(entityClass);
+
+    mongoTemplate.indexOps(entityClass)
+        .ensureIndex(new GeospatialIndex("location").typed(GeoSpatialIndexType.GEO_2DSPHERE));
+
+    Document filter = new Document("location", new Document("$exists", false))
+        .append("latitude", new Document("$type", "number"))
+        .append("longitude", new Document("$type", "number"));
+
+    // Pipeline update so the point is built server side: GeoJSON order is [longitude, latitude]
+    Document point = new Document("type", "Point")
+        .append("coordinates", List.of("$longitude", "$latitude"));
+    List<Document> pipeline = List.of(new Document("$set", new Document("location", point)));
+
+    UpdateResult result = mongoTemplate.getCollection(collection).updateMany(filter, pipeline);
+    logger.info("Backfilled GeoJSON location on {} documents in {}",
+        result.getModifiedCount(), collection);
+  }
+}
@@ -0,0 +1,93 @@
+package com.research.farmer_smart.migration;
+
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfill for the region key: creates the region indexes and derives {@code regionKey} /
+ * {@code regionTokens} for farmers, pest infestations and disease detections written before the
+ * key existed. Enable with {@code farmer-smart.migration.region-key.enabled=true}; documents that
+ * already have a key are skipped, so it can be re-run after an interruption. After a change to how
+ * {@link RegionKeys} derives tokens, also set
+ * {@code farmer-smart.migration.region-key.recompute=true} for one run to re-derive every document.
+ */
+@Component
+@ConditionalOnProperty(name = "farmer-smart.migration.region-key.enabled", havingValue = "true")
+public class RegionKeyMigration implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(RegionKeyMigration.class);
+  private static final int BATCH_SIZE = 500;
+
+  private final MongoTemplate mongoTemplate;
+  private final boolean recompute;
+
+  public RegionKeyMigration(MongoTemplate mongoTemplate,
+      @Value("${farmer-smart.migration.region-key.recompute:false}") boolean recompute) {
+    this.mongoTemplate = mongoTemplate;
+    this.recompute = recompute;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    IndexOperations farmerIndexes = mongoTemplate.indexOps(Farmer.class);
+    farmerIndexes.ensureIndex(new Index("regionKey", Direction.ASC));
+    farmerIndexes.ensureIndex(new Index("regionTokens", Direction.ASC));
+    backfill(Farmer.class, "landLocation");
+
+    for (Class<?> detectionClass : new Class<?>[]{PestInfestation.class, DiseasesDetection.class}) {
+      IndexOperations indexes = mongoTemplate.indexOps(detectionClass);
+      indexes.ensureIndex(new Index("regionKey", Direction.ASC));
+      indexes.ensureIndex(new Index("regionTokens", Direction.ASC)
+          .on("detectionDateTime", Direction.DESC)
+          .named("region_detected"));
+      backfill(detectionClass, "detectedLocation");
+    }
+  }
+
+  private void backfill(Class<?> entityClass, String locationField) {
+    String collection = mongoTemplate.getCollectionName(entityClass);
+    Query query = recompute ? new Query() : new Query(Criteria.where("regionKey").exists(false));
+    query.fields().include(locationField);
+
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, collection);
+    int pending = 0;
+    long updated = 0;
+    try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+      for (Document document : (Iterable<Document>) documents::iterator) {
+        RegionKey region = RegionKeys.of(document.getString(locationField));
+        bulk.updateOne(new Query(Criteria.where("_id").is(document.get("_id"))),
+            new Update().set("regionKey", region.key()).set("regionTokens", region.tokens()));
+        if (++pending == BATCH_SIZE) {
+          updated += bulk.execute().getModifiedCount();
+          bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, collection);
+          pending = 0;
+        }
+      }
+    }
+    if (pending > 0) {
+      updated += bulk.execute().getModifiedCount();
+    }
+    logger.info("Backfilled region keys on {} documents in {}", updated, collection);
+  }
+}
@@ -0,0 +1,38 @@
+package com.research.farmer_smart.model;
+
+import java.time.Instant;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Hourly count of detections of one pest or disease in one region token. A detection tagged
+ * "Malabe, Colombo" increments the buckets of both tokens, so district and division lookups read
+ * the same small set of documents.
+ */
+@Data
+@Document(collection = "alert_counters")
+@CompoundIndex(name = "counter_bucket", def = "{'kind': 1, 'region': 1, 'name': 1, 'bucket': 1}",
+    unique = true)
+public class AlertCounter {
+
+  // Area alerts read the last 7 days, so buckets expire a day after that
+  public static final int RETENTION_DAYS = 8;
+
+  @Id
+  private String id;
+
+  private DetectionKind kind;
+
+  private String region;
+
+  private String name;
+
+  // Start of the UTC hour the detections fall in
+  @Indexed(name = "bucket_ttl", expireAfter = RETENTION_DAYS + "d")
+  private Instant bucket;
+
+  private long count;
+}
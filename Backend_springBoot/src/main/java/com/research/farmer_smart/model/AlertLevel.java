@@ -0,0 +1,17 @@
+package com.research.farmer_smart.model;
+
+/**
+ * Severity of an area alert by the number of detections in the last 7 days. The same scale is
+ * shown on the alert endpoints and drives when farmers are notified.
+ */
+public enum AlertLevel {
+  LOW,
+  MEDIUM,
+  HIGH;
+
+  public static AlertLevel of(long detectionCount) {
+    if (detectionCount >= 3) return HIGH;
+    if (detectionCount >= 2) return MEDIUM;
+    return LOW;
+  }
+}
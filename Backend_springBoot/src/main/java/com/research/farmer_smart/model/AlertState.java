@@ -0,0 +1,37 @@
+package com.research.farmer_smart.model;
+
+import java.time.Instant;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Current alert level of one pest or disease in one region token, and the last level farmers were
+ * notified of. Kept in Mongo so a restart does not re-notify every area that is already on alert.
+ */
+@Data
+@Document(collection = "alert_states")
+@CompoundIndex(name = "alert_state_key", def = "{'kind': 1, 'region': 1, 'name': 1}",
+    unique = true)
+public class AlertState {
+
+  @Id
+  private String id;
+
+  private DetectionKind kind;
+
+  private String region;
+
+  private String name;
+
+  private AlertLevel level;
+
+  private long detectionCount;
+
+  private Instant updatedAt;
+
+  private AlertLevel notifiedLevel;
+
+  private Instant notifiedAt;
+}
@@ -0,0 +1,43 @@
+package com.research.farmer_smart.model;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Daily count of archived detections of one pest or disease in one region token, written by the
+ * retention job once the raw rows of that day have moved to the archive. Like the alert
+ * counters, a detection tagged "Malabe, Colombo" counts towards both tokens.
+ */
+@Data
+@Document(collection = "detection_daily_summaries")
+@CompoundIndex(name = "summary_day", def = "{'kind': 1, 'region': 1, 'name': 1, 'day': 1}",
+    unique = true)
+@CompoundIndex(name = "region_day", def = "{'kind': 1, 'region': 1, 'day': 1}")
+public class DetectionDailySummary {
+
+  @Id
+  private String id;
+
+  private DetectionKind kind;
+
+  private String region;
+
+  private String name;
+
+  // Start of the UTC day the detections fall in
+  private Instant day;
+
+  private long count;
+
+  // Farmers that reported it that day, merged with the hot rows of a partly archived day
+  private List<String> farmerIds;
+
+  // Distinct farmer count of summaries written before farmerIds was kept
+  private long farmers;
+
+  private List<String> detectedLocations;
+}
@@ -0,0 +1,6 @@
+package com.research.farmer_smart.model;
+
+public enum DetectionKind {
+  PEST,
+  DISEASE
+}
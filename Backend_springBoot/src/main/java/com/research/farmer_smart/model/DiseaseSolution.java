@@ -5,17 +5,21 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "disease_solutions")
+@CompoundIndex(name = "diseases_detection_id", def = "{'diseasesDetection._id': 1}")
 public class DiseaseSolution {
 
   @Id
   private String id;
 
   @DBRef
+  @Indexed
   @NotNull
   private Expert expert;
 
@@ -28,6 +32,7 @@ public class DiseaseSolution {
   @NotNull
   private LocalDateTime insertDateTime;
 
+  @Indexed
   @NotBlank
   private String diseaseName;
 }
@@ -1,34 +1,58 @@
 package com.research.farmer_smart.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "diseases_detections")
+@CompoundIndex(name = "region_detected", def = "{'regionTokens': 1, 'detectionDateTime': -1}")
+@CompoundIndex(name = "farmer_id", def = "{'farmer._id': 1}")
+// The retention job reads the oldest rows first
+@CompoundIndex(name = "detected", def = "{'detectionDateTime': 1, '_id': 1}")
 public class DiseasesDetection {
 
   @Id
   private String id;
 
   @NotNull
-  private Farmer farmer;
+  private FarmerRef farmer;
 
+  @Indexed
   @NotBlank
   private String diseaseName;
 
   @NotBlank
   private String detectedLocation;
 
+  // Derived from detectedLocation at write time, see RegionKeys
+  @Indexed
+  private String regionKey;
+
+  @JsonIgnore
+  private List<String> regionTokens;
+
   @NotNull
   private Double longitude;
 
   @NotNull
   private Double latitude;
 
+  // GeoJSON copy of latitude/longitude so radius queries can use the 2dsphere index
+  @JsonIgnore
+  @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+  private GeoJsonPoint location;
+
   @NotNull
   private LocalDateTime detectionDateTime;
 }
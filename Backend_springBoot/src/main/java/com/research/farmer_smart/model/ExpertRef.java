@@ -0,0 +1,26 @@
+package com.research.farmer_smart.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+
+/**
+ * The part of an {@link Expert} copied into their user account, see {@link FarmerRef}.
+ */
+@Data
+public class ExpertRef {
+
+  @Id
+  private String id;
+
+  private String firstName;
+
+  private String lastName;
+
+  public static ExpertRef of(Expert expert) {
+    ExpertRef ref = new ExpertRef();
+    ref.setId(expert.getId());
+    ref.setFirstName(expert.getFirstName());
+    ref.setLastName(expert.getLastName());
+    return ref;
+  }
+}
@@ -1,13 +1,16 @@
 package com.research.farmer_smart.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -40,6 +43,14 @@ public class Farmer {
   @NotBlank
   private String landLocation;
 
+  // Derived from landLocation at write time, see RegionKeys
+  @Indexed
+  private String regionKey;
+
+  @JsonIgnore
+  @Indexed
+  private List<String> regionTokens;
+
   @NotNull
   private LocalDate registrationDate;
 }
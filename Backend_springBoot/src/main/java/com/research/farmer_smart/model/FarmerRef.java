@@ -0,0 +1,32 @@
+package com.research.farmer_smart.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+
+/**
+ * The part of a {@link Farmer} copied into users and detections: enough to show who reported
+ * something and where they farm. Everything else is read from the farmers collection by id.
+ * Stored under the same {@code farmer} field the full copy used, so documents written before the
+ * compaction still read, their extra fields are ignored.
+ */
+@Data
+public class FarmerRef {
+
+  @Id
+  private String id;
+
+  private String firstName;
+
+  private String lastName;
+
+  private String regionKey;
+
+  public static FarmerRef of(Farmer farmer) {
+    FarmerRef ref = new FarmerRef();
+    ref.setId(farmer.getId());
+    ref.setFirstName(farmer.getFirstName());
+    ref.setLastName(farmer.getLastName());
+    ref.setRegionKey(farmer.getRegionKey());
+    return ref;
+  }
+}
@@ -0,0 +1,55 @@
+package com.research.farmer_smart.model;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * An area alert waiting to be delivered. Written right after the detection that raised it and
+ * drained by the outbox dispatcher, so the request that records a detection never waits on
+ * recipient lookups or mail delivery. The two inserts are not transactional: if the process dies
+ * between them the detection is kept and its alert is lost.
+ */
+@Data
+@Document(collection = "notification_outbox")
+@CompoundIndex(name = "status_due", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class OutboxMessage {
+
+  @Id
+  private String id;
+
+  private DetectionKind kind;
+
+  // Location as entered on the detection, used in the message text
+  private String location;
+
+  private String regionToken;
+
+  private String name;
+
+  private int detectionCount;
+
+  private OutboxStatus status;
+
+  private int attempts;
+
+  private Instant createdAt;
+
+  private Instant nextAttemptAt;
+
+  // A PROCESSING message past this time belongs to a worker that died and is claimed again
+  private Instant lockedUntil;
+
+  private Instant sentAt;
+
+  // Channels that already took this alert, skipped when a later channel fails and it is retried
+  private Set<String> deliveredChannels = new LinkedHashSet<>();
+
+  private int recipients;
+
+  private String lastError;
+}
@@ -0,0 +1,10 @@
+package com.research.farmer_smart.model;
+
+public enum OutboxStatus {
+  PENDING,
+  PROCESSING,
+  SENT,
+  // No notification channel was configured when the message was drained
+  SKIPPED,
+  FAILED
+}
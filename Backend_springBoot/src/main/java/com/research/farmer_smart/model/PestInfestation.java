@@ -1,35 +1,59 @@
 package com.research.farmer_smart.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Document(collection = "pest_infestations")
+@CompoundIndex(name = "region_detected", def = "{'regionTokens': 1, 'detectionDateTime': -1}")
+// The retention job reads the oldest rows first
+@CompoundIndex(name = "detected", def = "{'detectionDateTime': 1, '_id': 1}")
 public class PestInfestation {
     @Id
     private String id;
 
     @DBRef
+    @Indexed
     @NotNull
     private Farmer farmer;
 
+    @Indexed
     @NotBlank
     private String pestName;
 
     @NotBlank
     private String detectedLocation;
 
+    // Derived from detectedLocation at write time, see RegionKeys
+    @Indexed
+    private String regionKey;
+
+    @JsonIgnore
+    private List<String> regionTokens;
+
     @NotNull
     private Double latitude;
 
     @NotNull
     private Double longitude;
 
+    // GeoJSON copy of latitude/longitude so radius queries can use the 2dsphere index
+    @JsonIgnore
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint location;
+
     @NotNull
     private LocalDateTime detectionDateTime;
 } 
\ No newline at end of file
@@ -4,12 +4,17 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
 @Data
 @Document(collection = "pest_solutions")
+// The resolved and summary queries match the DBRef ids, see PestSolutionRepositoryImpl
+@CompoundIndex(name = "expert_ref", def = "{'expert.$id': 1}")
+@CompoundIndex(name = "pest_infestation_ref", def = "{'pestInfestation.$id': 1}")
 public class PestSolution {
     @Id
     private String id;
@@ -28,6 +33,7 @@ public class PestSolution {
     @NotNull
     private LocalDateTime insertDateTime;
 
+    @Indexed
     @NotBlank
     private String pestName;
 } 
\ No newline at end of file
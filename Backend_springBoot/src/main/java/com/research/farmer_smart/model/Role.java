@@ -2,5 +2,7 @@ package com.research.farmer_smart.model;
 
 public enum Role {
   FARMER,
-  EXPERT
+  EXPERT,
+  // Never created through the API; granted by setting the role on an existing users document
+  ADMIN
 }
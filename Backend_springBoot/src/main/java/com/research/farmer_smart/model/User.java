@@ -5,10 +5,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "users")
+// Farmer profile edits are copied to the account
+@CompoundIndex(name = "farmer_id", def = "{'farmer._id': 1}")
 public class User {
 
   @Id
@@ -18,6 +22,8 @@ public class User {
   @Size(min = 6)
   private String username;
 
+  // Login looks users up by e-mail; the unique index is what rejects a second account for it
+  @Indexed(unique = true)
   @NotBlank
   @Size(max = 60)
   private String email;
@@ -29,7 +35,7 @@ public class User {
 
   private Role role;
 
-  private Farmer farmer;
+  private FarmerRef farmer;
 
-  private Expert expert;
+  private ExpertRef expert;
 }
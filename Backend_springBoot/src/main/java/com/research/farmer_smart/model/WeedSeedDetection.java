@@ -3,17 +3,20 @@ package com.research.farmer_smart.model;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "weed_seed_detection")
+// Farmer profile edits are copied to every record of that farmer
+@CompoundIndex(name = "farmer_id", def = "{'farmer._id': 1}")
 public class WeedSeedDetection {
 
   @Id
   private String id;
 
   @NotNull
-  private Farmer farmer;
+  private FarmerRef farmer;
 
   private Integer totalSeeds;
 
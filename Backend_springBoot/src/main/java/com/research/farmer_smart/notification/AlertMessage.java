@@ -0,0 +1,11 @@
+package com.research.farmer_smart.notification;
+
+import com.research.farmer_smart.model.Farmer;
+import java.util.List;
+
+/**
+ * One alert addressed to a batch of farmers in the same area.
+ */
+public record AlertMessage(String subject, String body, List<Farmer> recipients) {
+
+}
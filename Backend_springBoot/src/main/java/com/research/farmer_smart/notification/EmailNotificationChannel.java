@@ -0,0 +1,64 @@
+package com.research.farmer_smart.notification;
+
+import com.research.farmer_smart.model.Farmer;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends alerts over SMTP using the {@code spring.mail.*} settings. Recipients are put on BCC in
+ * chunks, so an area with a thousand farmers costs a handful of SMTP transactions rather than a
+ * thousand.
+ */
+@Component
+@ConditionalOnProperty(name = "farmer-smart.notifications.smtp.enabled", havingValue = "true")
+public class EmailNotificationChannel implements NotificationChannel {
+
+  private final JavaMailSender mailSender;
+  private final String from;
+  private final int recipientsPerMessage;
+
+  public EmailNotificationChannel(JavaMailSender mailSender,
+      @Value("${farmer-smart.notifications.smtp.from}") String from,
+      @Value("${farmer-smart.notifications.smtp.recipients-per-message:50}") int recipientsPerMessage) {
+    this.mailSender = mailSender;
+    this.from = from;
+    this.recipientsPerMessage = recipientsPerMessage;
+  }
+
+  @Override
+  public String name() {
+    return "smtp";
+  }
+
+  @Override
+  public void send(AlertMessage message) {
+    List<String> addresses = message.recipients().stream()
+        .map(Farmer::getEmail)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+
+    SimpleMailMessage[] mails = new SimpleMailMessage[
+        (addresses.size() + recipientsPerMessage - 1) / recipientsPerMessage];
+    for (int i = 0; i < mails.length; i++) {
+      List<String> chunk = addresses.subList(i * recipientsPerMessage,
+          Math.min(addresses.size(), (i + 1) * recipientsPerMessage));
+      SimpleMailMessage mail = new SimpleMailMessage();
+      mail.setFrom(from);
+      mail.setTo(from);
+      mail.setBcc(chunk.toArray(String[]::new));
+      mail.setSubject(message.subject());
+      mail.setText(message.body());
+      mails[i] = mail;
+    }
+    if (mails.length > 0) {
+      // Sent over a single SMTP connection
+      mailSender.send(mails);
+    }
+  }
+}
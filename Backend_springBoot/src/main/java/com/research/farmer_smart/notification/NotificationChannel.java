@@ -0,0 +1,12 @@
+package com.research.farmer_smart.notification;
+
+/**
+ * A way of reaching farmers, such as e-mail or push. Every channel bean receives every alert batch;
+ * a channel skips recipients it has no address for.
+ */
+public interface NotificationChannel {
+
+  String name();
+
+  void send(AlertMessage message);
+}
@@ -0,0 +1,37 @@
+package com.research.farmer_smart.notification;
+
+import com.research.farmer_smart.service.NotificationOutboxService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the notification outbox. Disable with
+ * {@code farmer-smart.notifications.dispatcher.enabled=false} on instances that should only
+ * record detections.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "farmer-smart.notifications.dispatcher.enabled", havingValue = "true")
+public class OutboxDispatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+  private final NotificationOutboxService notificationOutboxService;
+
+  @Scheduled(initialDelayString = "${farmer-smart.notifications.dispatcher.initial-delay-ms:10000}",
+      fixedDelayString = "${farmer-smart.notifications.dispatcher.poll-interval-ms:5000}")
+  public void drain() {
+    try {
+      int claimed = notificationOutboxService.dispatchPending();
+      if (claimed > 0) {
+        logger.info("Dispatched {} outbox messages", claimed);
+      }
+    } catch (Exception e) {
+      logger.error("Error draining notification outbox: {}", e.getMessage());
+    }
+  }
+}
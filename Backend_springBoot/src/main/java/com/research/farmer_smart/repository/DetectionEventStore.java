@@ -0,0 +1,223 @@
+package com.research.farmer_smart.repository;
+
+import com.mongodb.client.model.InsertManyOptions;
+import com.research.farmer_smart.model.DetectionKind;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pest infestations and disease detections copied into MongoDB time-series collections, with
+ * {@code detectionDateTime} as the time field and {@code meta: {region, name}} as the meta
+ * field. A detection becomes one event per region token, so every (area, pest) pair is its own
+ * series and a "location + last 7 days" read only opens that area's buckets. Events keep the
+ * {@code _id} and fields of the detection, and read back as the same entity class.
+ *
+ * <p>The regular collections stay the system of record, for ids, lookups and edits. See
+ * {@link Mode} for how writes and then reads move over; the backfill of existing detections is
+ * {@code DetectionEventBackfill}.
+ */
+@Component
+public class DetectionEventStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(DetectionEventStore.class);
+  public static final String TIME_FIELD = "detectionDateTime";
+  public static final String META_FIELD = "meta";
+  public static final String REGION_FIELD = META_FIELD + ".region";
+  private static final Map<DetectionKind, String> COLLECTIONS = Map.of(
+      DetectionKind.PEST, "pest_infestation_events",
+      DetectionKind.DISEASE, "disease_detection_events");
+  private static final Map<DetectionKind, String> NAME_FIELDS = Map.of(
+      DetectionKind.PEST, "pestName",
+      DetectionKind.DISEASE, "diseaseName");
+
+  public enum Mode {
+    /** Regular collections only, nothing is written to the event collections. */
+    REGULAR,
+    /** Every new detection is also written as events; reads stay on the regular collections. */
+    DUAL_WRITE,
+    /** As DUAL_WRITE, and the 7-day window reads come from the events. */
+    TIME_SERIES
+  }
+
+  private final MongoTemplate mongoTemplate;
+  private final Mode mode;
+  private volatile boolean collectionsReady;
+
+  public DetectionEventStore(MongoTemplate mongoTemplate,
+      @Value("${farmer-smart.detections.time-series.mode:regular}") Mode mode) {
+    this.mongoTemplate = mongoTemplate;
+    this.mode = mode;
+  }
+
+  public Mode mode() {
+    return mode;
+  }
+
+  public boolean writesEvents() {
+    return mode != Mode.REGULAR;
+  }
+
+  public boolean readsEvents() {
+    return mode == Mode.TIME_SERIES;
+  }
+
+  public static String collectionName(DetectionKind kind) {
+    return COLLECTIONS.get(kind);
+  }
+
+  // On its own thread, like the index initializer, so an unreachable cluster does not hold up startup
+  @EventListener(ApplicationReadyEvent.class)
+  void onApplicationReady() {
+    if (!writesEvents()) {
+      return;
+    }
+    Thread thread = new Thread(() -> {
+      try {
+        ensureCollections();
+      } catch (Exception e) {
+        logger.error("Could not create the detection event collections: {}", e.getMessage());
+      }
+    }, "detection-events");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Creates the time-series collections and their region index if missing. Safe to call
+   * repeatedly. An insert into a missing collection would create a regular one, so the first
+   * {@link #append} runs this too if startup has not got to it yet.
+   */
+  public void ensureCollections() {
+    for (DetectionKind kind : DetectionKind.values()) {
+      String collection = collectionName(kind);
+      if (!mongoTemplate.collectionExists(collection)) {
+        // Hours granularity: detections of one area and pest arrive minutes to days apart
+        mongoTemplate.createCollection(collection, CollectionOptions.timeSeries(TIME_FIELD,
+            options -> options.metaField(META_FIELD).granularity(Granularity.HOURS)));
+        logger.info("Created time-series collection {}", collection);
+      }
+      // MongoDB 6.3+ adds a meta and time index itself; older servers only get this one
+      mongoTemplate.indexOps(collection).ensureIndex(new Index()
+          .on(REGION_FIELD, Sort.Direction.ASC)
+          .on(TIME_FIELD, Sort.Direction.DESC)
+          .named("region_detected"));
+    }
+    collectionsReady = true;
+  }
+
+  /**
+   * Writes the events of detections already stored in the regular collection. Does nothing in
+   * {@link Mode#REGULAR}.
+   *
+   * @return the number of events written
+   */
+  public int append(DetectionKind kind, Collection<?> detections) {
+    if (!writesEvents() || detections.isEmpty()) {
+      return 0;
+    }
+    List<Document> documents = new ArrayList<>(detections.size());
+    for (Object detection : detections) {
+      Document document = new Document();
+      mongoTemplate.getConverter().write(detection, document);
+      documents.add(document);
+    }
+    return appendDocuments(kind, documents);
+  }
+
+  /**
+   * As {@link #append}, for detections read as documents from the regular collection.
+   *
+   * @return the number of events written
+   */
+  public int appendDocuments(DetectionKind kind, List<Document> detections) {
+    if (!writesEvents() || detections.isEmpty()) {
+      return 0;
+    }
+    if (!collectionsReady) {
+      ensureCollections();
+    }
+    List<Document> events = new ArrayList<>();
+    for (Document detection : detections) {
+      events.addAll(toEvents(kind, detection));
+    }
+    if (!events.isEmpty()) {
+      mongoTemplate.getCollection(collectionName(kind))
+          .insertMany(events, new InsertManyOptions().ordered(false));
+    }
+    return events.size();
+  }
+
+  // Detection ids among the given ones that already have events
+  public Set<Object> existingIds(DetectionKind kind, Collection<?> ids) {
+    Set<Object> existing = new HashSet<>();
+    Query query = Query.query(Criteria.where("_id").in(ids));
+    query.fields().include("_id");
+    for (Document event : mongoTemplate.find(query, Document.class, collectionName(kind))) {
+      existing.add(event.get("_id"));
+    }
+    return existing;
+  }
+
+  /**
+   * Replaces the events of an edited detection. Deleting from a time-series collection by
+   * {@code _id} needs MongoDB 7.0.
+   */
+  public void replace(DetectionKind kind, String id, Object detection) {
+    if (!writesEvents()) {
+      return;
+    }
+    mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), detection.getClass(),
+        collectionName(kind));
+    append(kind, List.of(detection));
+  }
+
+  /**
+   * Detections of one area since the given time, read from the events and mapped to the entity
+   * class of the regular collection.
+   */
+  public <T> List<T> findInRegionSince(DetectionKind kind, String regionToken,
+      LocalDateTime since, Class<T> type) {
+    return mongoTemplate.find(Query.query(Criteria.where(REGION_FIELD).is(regionToken)
+        .and(TIME_FIELD).gt(since)), type, collectionName(kind));
+  }
+
+  /*
+   * One event per region token, each carrying the whole detection. The tokens themselves move
+   * into meta, so they are not stored twice.
+   */
+  private static List<Document> toEvents(DetectionKind kind, Document detection) {
+    Document source = new Document(detection);
+    List<String> regionTokens = source.getList("regionTokens", String.class);
+    if (regionTokens == null || regionTokens.isEmpty() || source.get(TIME_FIELD) == null) {
+      return List.of();
+    }
+    source.remove("regionTokens");
+    List<Document> events = new ArrayList<>(regionTokens.size());
+    for (String regionToken : regionTokens) {
+      Document event = new Document(source);
+      event.put(META_FIELD, new Document("region", regionToken)
+          .append("name", source.get(NAME_FIELDS.get(kind))));
+      events.add(event);
+    }
+    return events;
+  }
+}
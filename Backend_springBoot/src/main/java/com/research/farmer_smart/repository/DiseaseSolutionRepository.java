@@ -1,7 +1,6 @@
 package com.research.farmer_smart.repository;
 
 import com.research.farmer_smart.model.DiseaseSolution;
-import com.research.farmer_smart.model.DiseasesDetection;
 import com.research.farmer_smart.model.Expert;
 import java.util.List;
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -12,5 +11,6 @@ public interface DiseaseSolutionRepository extends MongoRepository<DiseaseSoluti
 
   List<DiseaseSolution> findByExpert(Expert expert);
 
-  List<DiseaseSolution> findByDiseasesDetection(DiseasesDetection diseasesDetection);
+  // By the embedded detection's id, so solutions still match after the detection changes
+  List<DiseaseSolution> findByDiseasesDetectionId(String diseasesDetectionId);
 }
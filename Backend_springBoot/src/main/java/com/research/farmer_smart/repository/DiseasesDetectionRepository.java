@@ -1,20 +1,31 @@
 package com.research.farmer_smart.repository;
 
 import com.research.farmer_smart.model.DiseasesDetection;
-import com.research.farmer_smart.model.Farmer;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.Sphere;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface DiseasesDetectionRepository extends MongoRepository<DiseasesDetection, String> {
+public interface DiseasesDetectionRepository extends MongoRepository<DiseasesDetection, String>,
+    DiseasesDetectionRepositoryCustom {
 
-  List<DiseasesDetection> findByFarmer(Farmer farmer);
+  // By the embedded farmer's id, so detections still match after the farmer edits their profile
+  List<DiseasesDetection> findByFarmerId(String farmerId);
 
   List<DiseasesDetection> findByDiseaseName(String diseaseName);
 
-  List<DiseasesDetection> findByDetectedLocationContainingIgnoreCaseAndDetectionDateTimeAfter(
-          String location,
-          LocalDateTime oneWeekAgo
+  // $geoNear on the 2dsphere index, nearest first, with the distance of each hit
+  GeoResults<DiseasesDetection> findByLocationNearAndDetectionDateTimeAfter(
+          Point point,
+          Distance maxDistance,
+          LocalDateTime after
   );
+
+  // $geoWithin/$centerSphere on the 2dsphere index, unordered and without distances
+  List<DiseasesDetection> findByLocationWithinAndDetectionDateTimeAfter(Sphere sphere,
+      LocalDateTime after);
 }
@@ -0,0 +1,14 @@
+package com.research.farmer_smart.repository;
+
+import com.research.farmer_smart.model.DiseasesDetection;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The "area + recent days" read, served from the regular collection or from the time-series
+ * events depending on {@code farmer-smart.detections.time-series.mode}.
+ */
+public interface DiseasesDetectionRepositoryCustom {
+
+  List<DiseasesDetection> findInRegionSince(String regionToken, LocalDateTime since);
+}
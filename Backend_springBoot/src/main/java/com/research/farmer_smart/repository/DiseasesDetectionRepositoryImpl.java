@@ -0,0 +1,28 @@
+package com.research.farmer_smart.repository;
+
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.DiseasesDetection;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+@AllArgsConstructor
+public class DiseasesDetectionRepositoryImpl implements DiseasesDetectionRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+  private final DetectionEventStore detectionEventStore;
+
+  @Override
+  public List<DiseasesDetection> findInRegionSince(String regionToken, LocalDateTime since) {
+    if (detectionEventStore.readsEvents()) {
+      return detectionEventStore.findInRegionSince(DetectionKind.DISEASE, regionToken, since,
+          DiseasesDetection.class);
+    }
+    // The region_detected index
+    return mongoTemplate.find(Query.query(Criteria.where("regionTokens").is(regionToken)
+        .and("detectionDateTime").gt(since)), DiseasesDetection.class);
+  }
+}
@@ -2,21 +2,14 @@ package com.research.farmer_smart.repository;
 
 import com.research.farmer_smart.model.Farmer;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface FarmerRepository extends MongoRepository<Farmer, String> {
-    // This will match partial locations more flexibly
-    @Query("{ 'landLocation': { $regex: ?0, $options: 'i' } }")
-    List<Farmer> findByLandLocationContainingIgnoreCase(String location);
-    
-    // Add a new method to find farmers by area
-    @Query("{ $or: [ " +
-           "{ 'landLocation': { $regex: ?0, $options: 'i' } }, " +
-           "{ 'landLocation': { $regex: '.*malabe.*', $options: 'i' } } " +
-           "] }")
-    List<Farmer> findFarmersByArea(String location);
+    // Equality on the indexed multikey region tokens, see RegionKeys
+    List<Farmer> findByRegionTokens(String regionToken);
+
+    long countByRegionTokens(String regionToken);
 }
@@ -2,29 +2,29 @@ package com.research.farmer_smart.repository;
 
 import com.research.farmer_smart.model.PestInfestation;
 import com.research.farmer_smart.model.Farmer;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.Sphere;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.time.LocalDateTime;
 
 @Repository
-public interface PestInfestationRepository extends MongoRepository<PestInfestation, String> {
+public interface PestInfestationRepository extends MongoRepository<PestInfestation, String>,
+    PestInfestationRepositoryCustom {
     List<PestInfestation> findByFarmer(Farmer farmer);
+    // Unanchored regex, scans the pestName index rather than the collection
     List<PestInfestation> findByPestNameContainingIgnoreCase(String pestName);
-    List<PestInfestation> findByDetectedLocationAndPestNameAndDetectionDateTimeAfter(
-        String location, 
-        String pestName, 
-        LocalDateTime after
-    );
-    List<PestInfestation> findByDetectedLocationContainingIgnoreCaseAndDetectionDateTimeAfter(
-        String location, 
+
+    // $geoNear on the 2dsphere index, nearest first, with the distance of each hit
+    GeoResults<PestInfestation> findByLocationNearAndDetectionDateTimeAfter(
+        Point point,
+        Distance maxDistance,
         LocalDateTime after
     );
-    List<PestInfestation> findByFarmerId(String farmerId);
-    List<PestInfestation> findByPestNameContaining(String pestName);
-    List<PestInfestation> findByDetectedLocationContaining(String location);
-    List<PestInfestation> findByLatitudeBetweenAndLongitudeBetween(
-        double minLatitude, double maxLatitude,
-        double minLongitude, double maxLongitude
-    );
-} 
\ No newline at end of file
+
+    // $geoWithin/$centerSphere on the 2dsphere index, unordered and without distances
+    List<PestInfestation> findByLocationWithinAndDetectionDateTimeAfter(Sphere sphere, LocalDateTime after);
+}
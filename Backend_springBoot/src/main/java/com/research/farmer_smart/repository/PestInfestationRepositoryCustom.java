@@ -0,0 +1,13 @@
+package com.research.farmer_smart.repository;
+
+import com.research.farmer_smart.model.PestInfestation;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The "area + recent days" read, served from the regular collection or from the time-series
+ * events depending on {@code farmer-smart.detections.time-series.mode}.
+ */
+public interface PestInfestationRepositoryCustom {
+    List<PestInfestation> findInRegionSince(String regionToken, LocalDateTime since);
+}
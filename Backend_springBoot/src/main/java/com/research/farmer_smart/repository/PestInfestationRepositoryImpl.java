@@ -0,0 +1,28 @@
+package com.research.farmer_smart.repository;
+
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.PestInfestation;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+@AllArgsConstructor
+public class PestInfestationRepositoryImpl implements PestInfestationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final DetectionEventStore detectionEventStore;
+
+    @Override
+    public List<PestInfestation> findInRegionSince(String regionToken, LocalDateTime since) {
+        if (detectionEventStore.readsEvents()) {
+            return detectionEventStore.findInRegionSince(DetectionKind.PEST, regionToken, since,
+                PestInfestation.class);
+        }
+        // The region_detected index
+        return mongoTemplate.find(Query.query(Criteria.where("regionTokens").is(regionToken)
+            .and("detectionDateTime").gt(since)), PestInfestation.class);
+    }
+}
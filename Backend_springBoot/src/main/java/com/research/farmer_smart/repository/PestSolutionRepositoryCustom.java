@@ -0,0 +1,17 @@
+package com.research.farmer_smart.repository;
+
+import com.research.farmer_smart.controller.response.PestSolutionSummary;
+import com.research.farmer_smart.model.PestSolution;
+import java.util.List;
+
+/**
+ * Read paths that resolve the expert, pest infestation and farmer references of many solutions
+ * with one {@code $in} query per referenced collection instead of one lookup per reference.
+ */
+public interface PestSolutionRepositoryCustom {
+    List<PestSolution> findResolvedByPestName(String pestName);
+    List<PestSolution> findResolvedByExpertId(String expertId);
+    List<PestSolution> findResolvedByPestInfestationId(String pestInfestationId);
+    List<PestSolutionSummary> findSummariesByPestName(String pestName);
+    List<PestSolutionSummary> findSummariesByExpertId(String expertId);
+}
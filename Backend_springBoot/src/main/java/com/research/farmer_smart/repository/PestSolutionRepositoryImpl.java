@@ -0,0 +1,170 @@
+package com.research.farmer_smart.repository;
+
+import com.mongodb.DBRef;
+import com.research.farmer_smart.controller.response.PestSolutionSummary;
+import com.research.farmer_smart.model.Expert;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.model.PestSolution;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+@AllArgsConstructor
+public class PestSolutionRepositoryImpl implements PestSolutionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<PestSolution> findResolvedByPestName(String pestName) {
+        return findResolved(Criteria.where("pestName").is(pestName));
+    }
+
+    @Override
+    public List<PestSolution> findResolvedByExpertId(String expertId) {
+        if (!ObjectId.isValid(expertId)) {
+            return List.of();
+        }
+        return findResolved(Criteria.where("expert.$id").is(new ObjectId(expertId)));
+    }
+
+    @Override
+    public List<PestSolution> findResolvedByPestInfestationId(String pestInfestationId) {
+        if (!ObjectId.isValid(pestInfestationId)) {
+            return List.of();
+        }
+        return findResolved(Criteria.where("pestInfestation.$id").is(new ObjectId(pestInfestationId)));
+    }
+
+    @Override
+    public List<PestSolutionSummary> findSummariesByPestName(String pestName) {
+        return findSummaries(Criteria.where("pestName").is(pestName));
+    }
+
+    @Override
+    public List<PestSolutionSummary> findSummariesByExpertId(String expertId) {
+        if (!ObjectId.isValid(expertId)) {
+            return List.of();
+        }
+        return findSummaries(Criteria.where("expert.$id").is(new ObjectId(expertId)));
+    }
+
+    /**
+     * Four round trips whatever the number of solutions: the solutions, then experts, pest
+     * infestations and farmers each fetched with a single {@code $in}, stitched in memory.
+     */
+    private List<PestSolution> findResolved(Criteria criteria) {
+        // Raw documents keep the DBRefs unresolved so we can collect their ids first
+        List<Document> solutions = mongoTemplate.find(new Query(criteria), Document.class, collection(PestSolution.class));
+        if (solutions.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Expert> experts = fetchById(Expert.class, referencedIds(solutions, "expert"), Expert::getId);
+
+        List<Document> infestationDocuments = mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(referencedIds(solutions, "pestInfestation"))),
+                Document.class, collection(PestInfestation.class));
+        Map<String, Farmer> farmers = fetchById(Farmer.class, referencedIds(infestationDocuments, "farmer"), Farmer::getId);
+
+        MongoConverter converter = mongoTemplate.getConverter();
+        Map<String, PestInfestation> infestations = new HashMap<>();
+        for (Document document : infestationDocuments) {
+            DBRef farmerRef = (DBRef) document.remove("farmer");
+            PestInfestation infestation = converter.read(PestInfestation.class, document);
+            if (farmerRef != null) {
+                infestation.setFarmer(farmers.get(farmerRef.getId().toString()));
+            }
+            infestations.put(document.get("_id").toString(), infestation);
+        }
+
+        return solutions.stream()
+                .map(document -> {
+                    DBRef expertRef = (DBRef) document.remove("expert");
+                    DBRef infestationRef = (DBRef) document.remove("pestInfestation");
+                    PestSolution solution = converter.read(PestSolution.class, document);
+                    if (expertRef != null) {
+                        solution.setExpert(experts.get(expertRef.getId().toString()));
+                    }
+                    if (infestationRef != null) {
+                        solution.setPestInfestation(infestations.get(infestationRef.getId().toString()));
+                    }
+                    return solution;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Two round trips: the solutions without their description, then expert names only.
+     */
+    private List<PestSolutionSummary> findSummaries(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("pestName", "insertDateTime", "expert", "pestInfestation");
+        List<Document> solutions = mongoTemplate.find(query, Document.class, collection(PestSolution.class));
+        if (solutions.isEmpty()) {
+            return List.of();
+        }
+
+        Query expertQuery = Query.query(Criteria.where("_id").in(referencedIds(solutions, "expert")));
+        expertQuery.fields().include("firstName", "lastName");
+        Map<String, Expert> experts = mongoTemplate.find(expertQuery, Expert.class).stream()
+                .collect(Collectors.toMap(Expert::getId, Function.identity()));
+
+        return solutions.stream()
+                .map(document -> {
+                    DBRef expertRef = (DBRef) document.get("expert");
+                    DBRef infestationRef = (DBRef) document.get("pestInfestation");
+                    Expert expert = expertRef == null ? null : experts.get(expertRef.getId().toString());
+                    return PestSolutionSummary.builder()
+                            .id(document.get("_id").toString())
+                            .pestName(document.getString("pestName"))
+                            .insertDateTime(toLocalDateTime(document.getDate("insertDateTime")))
+                            .expertId(expertRef == null ? null : expertRef.getId().toString())
+                            .expertName(expert == null ? null : expert.getFirstName() + " " + expert.getLastName())
+                            .pestInfestationId(infestationRef == null ? null : infestationRef.getId().toString())
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Set<Object> referencedIds(Collection<Document> documents, String field) {
+        Set<Object> ids = new LinkedHashSet<>();
+        for (Document document : documents) {
+            if (document.get(field) instanceof DBRef ref) {
+                ids.add(ref.getId());
+            }
+        }
+        return ids;
+    }
+
+    private <T> Map<String, T> fetchById(Class<T> type, Set<Object> ids, Function<T, String> idOf) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)), type).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private LocalDateTime toLocalDateTime(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private String collection(Class<?> type) {
+        return mongoTemplate.getCollectionName(type);
+    }
+}
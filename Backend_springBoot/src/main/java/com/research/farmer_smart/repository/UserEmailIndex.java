@@ -0,0 +1,60 @@
+package com.research.farmer_smart.repository;
+
+import com.research.farmer_smart.model.User;
+import java.time.Duration;
+import java.time.Instant;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether {@code users} has its unique index on {@code email}, which is what keeps two signups
+ * for one address apart. The index initializer cannot build it over a legacy collection that
+ * already holds duplicates; until an operator has cleaned those up, signup checks for an existing
+ * account itself. Once found the index is trusted for good, a missing one is looked up again
+ * after a minute.
+ */
+@Component
+public class UserEmailIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(UserEmailIndex.class);
+  private static final Duration RECHECK = Duration.ofMinutes(1);
+
+  private final MongoTemplate mongoTemplate;
+  private volatile boolean enforced;
+  private volatile Instant checkedAt = Instant.MIN;
+
+  public UserEmailIndex(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  public boolean enforced() {
+    if (enforced || Instant.now().isBefore(checkedAt.plus(RECHECK))) {
+      return enforced;
+    }
+    checkedAt = Instant.now();
+    String collection = mongoTemplate.getCollectionName(User.class);
+    if (mongoTemplate.collectionExists(collection)) {
+      for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+        if (new Document("email", 1).equals(normalized(index.get("key", Document.class)))
+            && Boolean.TRUE.equals(index.get("unique"))) {
+          enforced = true;
+          return true;
+        }
+      }
+    }
+    logger.error("No unique index on {}.email, signups are checked for duplicates one by one; "
+        + "remove the duplicate accounts so the index can be built", collection);
+    return false;
+  }
+
+  // 1 and 1.0 are the same direction
+  private static Document normalized(Document keys) {
+    Document normalized = new Document();
+    keys.forEach((field, direction) -> normalized.put(field,
+        direction instanceof Number number ? number.intValue() : direction));
+    return normalized;
+  }
+}
@@ -3,8 +3,16 @@ package com.research.farmer_smart.repository;
 import com.research.farmer_smart.model.User;
 import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 public interface UserRepository extends MongoRepository<User, String> {
 
-  Optional<User> findByEmail(String email);
+  // Only what login checks and returns, read from the one document the unique e-mail index finds
+  @Query(value = "{ 'email': ?0 }", fields = "{ 'password': 1, 'role': 1, 'farmer': 1, 'expert': 1 }")
+  Optional<User> findLoginByEmail(String email);
+
+  // The account part of the user details view, the profile itself is read from its own document
+  @Query(value = "{ '_id': ?0 }",
+      fields = "{ 'email': 1, 'username': 1, 'role': 1, 'farmer._id': 1, 'expert._id': 1 }")
+  Optional<User> findDetailsById(String id);
 }
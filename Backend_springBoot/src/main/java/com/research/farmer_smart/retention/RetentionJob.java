@@ -0,0 +1,40 @@
+package com.research.farmer_smart.retention;
+
+import com.research.farmer_smart.service.DetectionRetentionService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves pest infestations and disease detections older than {@code farmer-smart.retention.days}
+ * into daily summaries and archive collections, see {@link DetectionRetentionService}. Enable with
+ * {@code farmer-smart.retention.enabled=true}; every instance may run it, a lease in
+ * {@code retention_state} lets only one of them work at a time.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "farmer-smart.retention.enabled", havingValue = "true")
+public class RetentionJob {
+
+  private static final Logger logger = LoggerFactory.getLogger(RetentionJob.class);
+
+  private final DetectionRetentionService detectionRetentionService;
+
+  @Scheduled(cron = "${farmer-smart.retention.cron:0 30 2 * * *}", zone = "UTC")
+  public void archive() {
+    try {
+      long archived = detectionRetentionService.archiveExpired();
+      if (archived > 0) {
+        logger.info("Archived {} expired detections", archived);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Detection retention interrupted, it resumes on the next run");
+    } catch (Exception e) {
+      logger.error("Error archiving expired detections: {}", e.getMessage());
+    }
+  }
+}
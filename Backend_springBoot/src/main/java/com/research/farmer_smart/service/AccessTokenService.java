@@ -0,0 +1,17 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.model.User;
+import java.time.Instant;
+
+/**
+ * Signed, stateless access tokens returned by {@code /auth/login}. They are verified from the
+ * signature and expiry alone, see {@code SecurityConfig}, so authenticated requests never look
+ * the user up again.
+ */
+public interface AccessTokenService {
+
+  AccessToken issue(User user);
+
+  record AccessToken(String value, Instant expiresAt) {
+  }
+}
@@ -0,0 +1,31 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.model.DetectionKind;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AlertCounterService {
+
+  void recordDetection(DetectionKind kind, List<String> regionTokens, String name,
+      LocalDateTime detectedAt);
+
+  /**
+   * Counts a batch of detections, folding those that share a (region, name, hour) bucket into a
+   * single increment.
+   */
+  void recordDetections(DetectionKind kind, List<Detection> detections);
+
+  /**
+   * Moves an edited detection from the buckets of its previous region, name and hour to those of
+   * its current ones. Buckets both share are left as they are.
+   */
+  void moveDetection(DetectionKind kind, Detection previous, Detection current);
+
+  long countSince(DetectionKind kind, String regionToken, String name, LocalDateTime since);
+
+  void rebuild(DetectionKind kind);
+
+  record Detection(List<String> regionTokens, String name, LocalDateTime detectedAt) {
+
+  }
+}
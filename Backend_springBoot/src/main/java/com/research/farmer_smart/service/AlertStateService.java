@@ -0,0 +1,33 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.model.AlertLevel;
+import com.research.farmer_smart.model.DetectionKind;
+import java.util.Optional;
+
+public interface AlertStateService {
+
+  /**
+   * Moves the (kind, region, name) alert to the level for {@code detectionCount}.
+   *
+   * @return the escalation if this call raised the alert to a level farmers should be notified
+   *     of; at most one concurrent caller gets it for the same escalation, and must follow up with
+   *     {@link #notified} once the notification is queued or {@link #abandon} if queueing failed
+   */
+  Optional<Escalation> escalate(DetectionKind kind, String regionToken, String name,
+      long detectionCount);
+
+  /**
+   * Records that farmers were notified of the escalation, which starts its cooldown.
+   */
+  void notified(DetectionKind kind, String regionToken, String name, Escalation escalation);
+
+  /**
+   * Puts the alert back to the level it had before the escalation, so the next detection
+   * escalates it again. Leaves it alone if another caller has moved it on since.
+   */
+  void abandon(DetectionKind kind, String regionToken, String name, Escalation escalation);
+
+  record Escalation(AlertLevel previous, AlertLevel level) {
+
+  }
+}
@@ -0,0 +1,25 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.controller.response.AlertDelta;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live alert feed over Server-Sent Events. Subscribers are kept per region token, so publishing a
+ * detection only touches the emitters of the regions it was recorded in.
+ */
+public interface AlertStreamService {
+
+  /**
+   * @return an emitter for the region, or empty if no region can be derived from it
+   */
+  Optional<SseEmitter> subscribe(String region);
+
+  /**
+   * Queues the delta for every subscriber of the given region tokens. Never blocks on slow
+   * clients: each subscriber has its own bounded buffer, and one that overflows it is completed so
+   * it reconnects and resyncs, without affecting anyone else.
+   */
+  void publish(List<String> regionTokens, AlertDelta delta);
+}
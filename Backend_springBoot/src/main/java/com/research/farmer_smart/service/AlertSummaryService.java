@@ -0,0 +1,28 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.model.DetectionKind;
+import java.util.Collection;
+
+/**
+ * Area summaries are cached per (kind, region token, content version). A cached summary is served
+ * as-is while fresh; once it goes stale it is still served while a single background refresh runs.
+ * Concurrent misses for the same region share one aggregation.
+ *
+ * <p>The version is the ETag the caller is about to hand out. A write on another instance changes
+ * it without touching this cache, so a summary computed before that write is never served under
+ * the new tag.
+ */
+public interface AlertSummaryService {
+
+  AreaAlertSummary summarizePestAlerts(String location, String version);
+
+  AreaAlertSummary summarizeDiseaseAlerts(String location, String version);
+
+  /**
+   * Drops the cached summaries of the given regions, so the next request aggregates again and
+   * includes a detection that was just recorded. Call before bumping the content version, so a
+   * request that sees the new version cannot be served a summary computed before the write.
+   */
+  void invalidate(DetectionKind kind, Collection<String> regionTokens);
+}
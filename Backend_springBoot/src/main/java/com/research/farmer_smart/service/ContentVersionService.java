@@ -0,0 +1,53 @@
+package com.research.farmer_smart.service;
+
+import java.util.Collection;
+
+/**
+ * Version counters for the read-mostly alert and solution endpoints. Writes bump the counters of
+ * what they touch, and a GET whose {@code If-None-Match} still equals the current ETag is answered
+ * with 304 after a single read of those counters, before any query for the content runs.
+ *
+ * <p>Counters are kept in the {@code content_versions} collection and bumped with {@code $inc}, so
+ * every instance behind a load balancer sees the writes of the others and hands out the same tags.
+ */
+public interface ContentVersionService {
+
+  void bump(Scope scope, Collection<String> keys);
+
+  /**
+   * Invalidates every key of the scope, for writes that cannot tell which keys they affected.
+   */
+  void bumpAll(Scope scope);
+
+  /**
+   * Strong ETag over the given keys. A key with a null name stands for the whole scope and
+   * changes on any write to it.
+   */
+  String etag(Key... keys);
+
+  enum Scope {
+    PEST_ALERTS(true),
+    DISEASE_ALERTS(true),
+    FARMERS(false),
+    PEST_SOLUTIONS(false),
+    DISEASE_SOLUTIONS(false);
+
+    // Alert responses cover the last 7 days, so they also change as detections age out
+    private final boolean windowed;
+
+    Scope(boolean windowed) {
+      this.windowed = windowed;
+    }
+
+    public boolean isWindowed() {
+      return windowed;
+    }
+  }
+
+  record Key(Scope scope, String name) {
+
+    public static Key of(Scope scope, String name) {
+      return new Key(scope, name);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.controller.response.DailyDetectionCount;
+import com.research.farmer_smart.model.DetectionKind;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the pest infestation and disease detection collections down to the last
+ * {@code farmer-smart.retention.days}. Older rows are rolled up into one
+ * {@code DetectionDailySummary} per (UTC day, region token, name) and moved to an archive
+ * collection next to the hot one. History reads combine the summaries with the rows still in
+ * place, so they return the same counts before and after a day is archived.
+ */
+public interface DetectionRetentionService {
+
+  /**
+   * Archives every row past the retention period, in throttled batches, unless another instance
+   * is already running it. Safe to interrupt: the next run carries on where this one stopped.
+   *
+   * @return the number of raw rows archived
+   */
+  long archiveExpired() throws InterruptedException;
+
+  /**
+   * Detections per day and name in the area of {@code location}, {@code from} and {@code to}
+   * included, in day then name order.
+   */
+  List<DailyDetectionCount> getHistory(DetectionKind kind, String location, LocalDate from,
+      LocalDate to);
+}
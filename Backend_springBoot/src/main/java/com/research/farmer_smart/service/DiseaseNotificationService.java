@@ -8,4 +8,5 @@ public interface DiseaseNotificationService {
 
     void notifyFarmersInArea(String location, String diseaseName, int infestationCount);
     List<Farmer> getFarmersInArea(String location);
+    long countFarmersInArea(String location);
 }
@@ -1,13 +1,19 @@
 package com.research.farmer_smart.service;
 
 import com.research.farmer_smart.controller.request.DiseasesDetectionRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.CursorPage;
 import com.research.farmer_smart.model.DiseasesDetection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.geo.GeoResults;
 
 public interface DiseasesDetectionService {
 
   DiseasesDetection recordDiseasesDetection(DiseasesDetectionRequest request);
 
+  BatchResult recordDiseasesDetections(List<DiseasesDetectionRequest> requests);
+
   List<DiseasesDetection> getFarmerDiseasesDetection(String farmerId);
 
   List<DiseasesDetection> searchByDiseaseName(String diseaseName);
@@ -16,7 +22,15 @@ public interface DiseasesDetectionService {
 
   List<DiseasesDetection> searchByLocation(String location);
 
+  GeoResults<DiseasesDetection> searchNearby(double latitude, double longitude, double radiusKm);
+
+  List<DiseasesDetection> findWithinRadius(double latitude, double longitude, double radiusKm);
+
   List<DiseasesDetection> getAllDisease();
 
+  CursorPage<DiseasesDetection> getDiseasePage(String after, int size);
+
+  Stream<DiseasesDetection> streamAllDisease();
+
 
 }
@@ -1,10 +1,24 @@
 package com.research.farmer_smart.service;
 
+import com.research.farmer_smart.model.DiseasesDetection;
 import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.FarmerRef;
+import com.research.farmer_smart.model.RiceQuality;
+import com.research.farmer_smart.model.User;
+import com.research.farmer_smart.model.WeedSeedDetection;
 import com.research.farmer_smart.repository.FarmerRepository;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,14 +28,30 @@ import java.util.Optional;
 public class FarmerServiceImpl implements FarmerService {
     private static final Logger logger = LoggerFactory.getLogger(FarmerServiceImpl.class);
 
+    // Documents that embed a FarmerRef
+    private static final List<Class<?>> REFERENCING_TYPES = List.of(
+            User.class, DiseasesDetection.class, RiceQuality.class, WeedSeedDetection.class);
+
     @Autowired
     private FarmerRepository farmerRepository;
 
+    @Autowired
+    private ProfileLookupService profileLookupService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Override
     public Optional<Farmer> getFarmerById(String id) {
         try {
             logger.info("Retrieving farmer by id: {}", id);
-            return farmerRepository.findById(id);
+            return profileLookupService.findFarmer(id);
         } catch (Exception e) {
             logger.error("Error retrieving farmer by id: {}", e.getMessage());
             throw e;
@@ -32,13 +62,46 @@ public class FarmerServiceImpl implements FarmerService {
     public Farmer saveFarmer(Farmer farmer) {
         try {
             logger.info("Saving farmer: {}", farmer);
-            return farmerRepository.save(farmer);
+            RegionKey region = RegionKeys.of(farmer.getLandLocation());
+            farmer.setRegionKey(region.key());
+            farmer.setRegionTokens(region.tokens());
+            boolean update = farmer.getId() != null;
+            Farmer savedFarmer = farmerRepository.save(farmer);
+            profileLookupService.evictFarmer(savedFarmer.getId());
+            if (update) {
+                refreshReferences(savedFarmer);
+                evictUserDetails(savedFarmer.getId());
+                // The farmer may have moved out of regions we no longer know about
+                contentVersionService.bumpAll(Scope.FARMERS);
+            } else {
+                contentVersionService.bump(Scope.FARMERS, savedFarmer.getRegionTokens());
+            }
+            return savedFarmer;
         } catch (Exception e) {
             logger.error("Error saving farmer: {}", e.getMessage());
             throw e;
         }
     }
 
+    // Name or region changes reach the copies in users and detections, one indexed update each
+    private void refreshReferences(Farmer farmer) {
+        Query query = Query.query(Criteria.where("farmer.id").is(farmer.getId()));
+        Update update = Update.update("farmer", FarmerRef.of(farmer));
+        for (Class<?> type : REFERENCING_TYPES) {
+            mongoTemplate.updateMulti(query, update, type);
+        }
+    }
+
+    // The cached /auth/user views of this farmer's accounts show the old profile
+    private void evictUserDetails(String farmerId) {
+        Cache cache = cacheManager.getCache("user-details");
+        Query query = Query.query(Criteria.where("farmer.id").is(farmerId));
+        query.fields().include("id");
+        for (User user : mongoTemplate.find(query, User.class)) {
+            cache.evict(user.getId());
+        }
+    }
+
     @Override
     public List<Farmer> getAllFarmers() {
         try {
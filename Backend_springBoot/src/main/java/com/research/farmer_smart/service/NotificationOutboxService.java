@@ -0,0 +1,25 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.model.DetectionKind;
+
+/**
+ * Durable queue of area alerts. Enqueueing is a single insert; delivery happens on a bounded
+ * worker pool that looks up the farmers of each area once per drain and hands the alert to every
+ * configured {@link com.research.farmer_smart.notification.NotificationChannel}.
+ */
+public interface NotificationOutboxService {
+
+  /**
+   * Queues an alert for the farmers around {@code location}. The insert does not share a
+   * transaction with the detection that triggered it: a failure is thrown after the detection is
+   * saved, and the caller abandons the escalation so the next detection in the area retries.
+   */
+  void enqueue(DetectionKind kind, String location, String name, int detectionCount);
+
+  /**
+   * Claims due messages and hands them to the worker pool, grouped by area.
+   *
+   * @return the number of messages claimed
+   */
+  int dispatchPending();
+}
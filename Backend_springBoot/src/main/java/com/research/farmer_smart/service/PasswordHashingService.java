@@ -0,0 +1,18 @@
+package com.research.farmer_smart.service;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded pool, so a burst of logins or signups
+ * cannot occupy every request thread. Work that cannot be admitted fails fast with
+ * {@link com.research.farmer_smart.exception.HashingCapacityException}.
+ */
+public interface PasswordHashingService {
+
+  String encode(CharSequence rawPassword);
+
+  boolean matches(CharSequence rawPassword, String encodedPassword);
+
+  /**
+   * Whether the hash was made with a lower cost factor than the one configured now.
+   */
+  boolean upgradeEncoding(String encodedPassword);
+}
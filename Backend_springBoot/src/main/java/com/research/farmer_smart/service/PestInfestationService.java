@@ -1,17 +1,26 @@
 package com.research.farmer_smart.service;
 
 import com.research.farmer_smart.controller.request.PestInfestationRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.CursorPage;
 import com.research.farmer_smart.model.PestInfestation;
+import org.springframework.data.geo.GeoResults;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PestInfestationService {
     PestInfestation recordPestInfestation(PestInfestationRequest request);
+    BatchResult recordPestInfestations(List<PestInfestationRequest> requests);
     List<PestInfestation> getFarmerPestInfestations(String farmerId);
     List<PestInfestation> searchByPestName(String pestName);
     List<PestInfestation> searchByLocation(String location);
+    GeoResults<PestInfestation> searchNearby(double latitude, double longitude, double radiusKm);
+    List<PestInfestation> findWithinRadius(double latitude, double longitude, double radiusKm);
     Optional<PestInfestation> getPestInfestationById(String id);
     PestInfestation savePestInfestation(PestInfestation pestInfestation);
     List<PestInfestation> getAllPestInfestations();
+    CursorPage<PestInfestation> getPestInfestationsPage(String after, int size);
+    Stream<PestInfestation> streamAllPestInfestations();
 } 
\ No newline at end of file
@@ -1,52 +1,115 @@
 package com.research.farmer_smart.service;
 
 import com.research.farmer_smart.controller.request.PestInfestationRequest;
+import com.research.farmer_smart.controller.response.AlertDelta;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.BatchResult.ItemResult;
+import com.research.farmer_smart.controller.response.CursorPage;
 import com.research.farmer_smart.exception.FarmerNotFoundException;
 import com.research.farmer_smart.exception.PestInfestationException;
+import com.research.farmer_smart.model.DetectionKind;
 import com.research.farmer_smart.model.PestInfestation;
 import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.repository.DetectionEventStore;
 import com.research.farmer_smart.repository.PestInfestationRepository;
-import com.research.farmer_smart.repository.FarmerRepository;
+import com.research.farmer_smart.service.AlertCounterService.Detection;
+import com.research.farmer_smart.service.AlertStateService.Escalation;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
+import com.research.farmer_smart.util.BulkInserts;
+import com.research.farmer_smart.util.DetectionChecks;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.Sphere;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PestInfestationServiceImpl implements PestInfestationService {
     private static final Logger logger = LoggerFactory.getLogger(PestInfestationServiceImpl.class);
-    private static final int ALERT_THRESHOLD = 3; // Number of infestations that trigger an alert
+    private static final double MAX_RADIUS_KM = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 1000;
 
     @Autowired
     private PestInfestationRepository pestInfestationRepository;
 
     @Autowired
-    private FarmerRepository farmerRepository;
+    private ProfileLookupService profileLookupService;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private AlertCounterService alertCounterService;
+
+    @Autowired
+    private AlertStateService alertStateService;
+
+    @Autowired
+    private AlertStreamService alertStreamService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private AlertSummaryService alertSummaryService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DetectionEventStore detectionEventStore;
+
     @Override
     public PestInfestation recordPestInfestation(PestInfestationRequest request) {
+        String invalid = validate(request);
+        if (invalid != null) {
+            throw new PestInfestationException(invalid);
+        }
         try {
             logger.info("Recording pest infestation: {}", request);
             
-            Farmer farmer = farmerRepository.findById(request.getFarmerId())
+            Farmer farmer = profileLookupService.findFarmer(request.getFarmerId())
                 .orElseThrow(() -> new FarmerNotFoundException("Farmer not found with ID: " + request.getFarmerId()));
 
             PestInfestation pestInfestation = new PestInfestation();
             pestInfestation.setFarmer(farmer);
             pestInfestation.setPestName(request.getPestName());
             pestInfestation.setDetectedLocation(request.getDetectedLocation());
+            applyRegion(pestInfestation);
             pestInfestation.setLatitude(request.getLatitude());
             pestInfestation.setLongitude(request.getLongitude());
+            pestInfestation.setLocation(toPoint(request.getLatitude(), request.getLongitude()));
             pestInfestation.setDetectionDateTime(request.getDetectionDateTime());
 
             PestInfestation savedInfestation = pestInfestationRepository.save(pestInfestation);
+            countInfestation(savedInfestation);
+            recordEvents(List.of(savedInfestation));
+            publishInfestation(savedInfestation);
 
             // Check for multiple infestations in the area
             checkAndNotifyAreaInfestation(request.getDetectedLocation(), request.getPestName());
@@ -58,20 +121,130 @@ public class PestInfestationServiceImpl implements PestInfestationService {
         }
     }
 
+    @Override
+    public BatchResult recordPestInfestations(List<PestInfestationRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new PestInfestationException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " records");
+        }
+        logger.info("Recording batch of {} pest infestations", requests.size());
+
+        Set<String> farmerIds = requests.stream()
+            .filter(Objects::nonNull)
+            .map(PestInfestationRequest::getFarmerId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<String, Farmer> farmers = profileLookupService.findFarmers(farmerIds);
+
+        ItemResult[] results = new ItemResult[requests.size()];
+        List<PestInfestation> infestations = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PestInfestationRequest request = requests.get(i);
+            String invalid = validate(request);
+            Farmer farmer = invalid == null ? farmers.get(request.getFarmerId()) : null;
+            if (invalid != null) {
+                results[i] = ItemResult.rejected(i, invalid);
+            } else if (farmer == null) {
+                results[i] = ItemResult.rejected(i, "Farmer not found with ID: " + request.getFarmerId());
+            } else {
+                PestInfestation pestInfestation = new PestInfestation();
+                // Assigned here because bulk inserts do not hand generated ids back
+                pestInfestation.setId(new ObjectId().toHexString());
+                pestInfestation.setFarmer(farmer);
+                pestInfestation.setPestName(request.getPestName());
+                pestInfestation.setDetectedLocation(request.getDetectedLocation());
+                applyRegion(pestInfestation);
+                pestInfestation.setLatitude(request.getLatitude());
+                pestInfestation.setLongitude(request.getLongitude());
+                pestInfestation.setLocation(toPoint(request.getLatitude(), request.getLongitude()));
+                pestInfestation.setDetectionDateTime(request.getDetectionDateTime());
+                infestations.add(pestInfestation);
+                positions.add(i);
+            }
+        }
+
+        Map<Integer, String> failures = BulkInserts.insertUnordered(mongoTemplate, PestInfestation.class, infestations);
+        List<PestInfestation> inserted = new ArrayList<>();
+        List<Detection> detections = new ArrayList<>();
+        // One threshold check per (region, pest) in the batch, not one per record
+        Map<String, PestInfestationRequest> affectedAreas = new LinkedHashMap<>();
+        for (int j = 0; j < infestations.size(); j++) {
+            int index = positions.get(j);
+            PestInfestation infestation = infestations.get(j);
+            if (failures.containsKey(j)) {
+                results[index] = ItemResult.rejected(index, failures.get(j));
+                continue;
+            }
+            results[index] = ItemResult.accepted(index, infestation.getId());
+            inserted.add(infestation);
+            detections.add(new Detection(infestation.getRegionTokens(), infestation.getPestName(),
+                infestation.getDetectionDateTime()));
+            String regionToken = RegionKeys.lookupToken(infestation.getDetectedLocation());
+            if (regionToken != null) {
+                affectedAreas.putIfAbsent(regionToken + "|" + infestation.getPestName(), requests.get(index));
+            }
+        }
+
+        try {
+            alertCounterService.recordDetections(DetectionKind.PEST, detections);
+        } catch (Exception e) {
+            logger.error("Error updating alert counters: {}", e.getMessage());
+        }
+        recordEvents(inserted);
+        // One invalidation and version bump for every region the batch touched, then the deltas
+        if (!inserted.isEmpty()) {
+            refreshAlerts(inserted.stream()
+                .map(PestInfestation::getRegionTokens)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        }
+        inserted.forEach(this::streamInfestation);
+        affectedAreas.values().forEach(request ->
+            checkAndNotifyAreaInfestation(request.getDetectedLocation(), request.getPestName()));
+
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    // The same checks for single records and every row of a batch
+    private String validate(PestInfestationRequest request) {
+        if (request == null) {
+            return "Pest infestation details are required";
+        }
+        if (request.getFarmerId() == null) {
+            return "Farmer ID is required";
+        }
+        return DetectionChecks.problem("Pest name", request.getPestName(), request.getDetectedLocation(),
+            request.getDetectionDateTime(), request.getLatitude(), request.getLongitude());
+    }
+
     private void checkAndNotifyAreaInfestation(String location, String pestName) {
         try {
-            // Count recent infestations in the area (last 7 days)
+            String regionToken = RegionKeys.lookupToken(location);
+            if (regionToken == null || pestName == null) {
+                return;
+            }
+            // Count recent infestations in the area (last 7 days) from the hourly counters
             LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
-            List<PestInfestation> recentInfestations = pestInfestationRepository
-                .findByDetectedLocationAndPestNameAndDetectionDateTimeAfter(
-                    location, pestName, oneWeekAgo);
-
-            if (recentInfestations.size() >= ALERT_THRESHOLD) {
-                notificationService.notifyFarmersInArea(
-                    location, 
-                    pestName, 
-                    recentInfestations.size()
-                );
+            long recentInfestations = alertCounterService.countSince(
+                DetectionKind.PEST, regionToken, pestName, oneWeekAgo);
+
+            // Notify once per escalation rather than on every insert past the threshold
+            Optional<Escalation> escalation =
+                alertStateService.escalate(DetectionKind.PEST, regionToken, pestName, recentInfestations);
+            if (escalation.isPresent()) {
+                try {
+                    notificationService.notifyFarmersInArea(
+                        location, 
+                        pestName, 
+                        (int) recentInfestations
+                    );
+                } catch (RuntimeException e) {
+                    // Not queued, so farmers were not told; let the next detection escalate again
+                    alertStateService.abandon(DetectionKind.PEST, regionToken, pestName, escalation.get());
+                    throw e;
+                }
+                alertStateService.notified(DetectionKind.PEST, regionToken, pestName, escalation.get());
             }
         } catch (Exception e) {
             logger.error("Error checking area infestation: {}", e.getMessage());
@@ -82,7 +255,7 @@ public class PestInfestationServiceImpl implements PestInfestationService {
     public List<PestInfestation> getFarmerPestInfestations(String farmerId) {
         try {
             logger.info("Retrieving pest infestations for farmer: {}", farmerId);
-            Farmer farmer = farmerRepository.findById(farmerId)
+            Farmer farmer = profileLookupService.findFarmer(farmerId)
                 .orElseThrow(() -> new FarmerNotFoundException("Farmer not found with ID: " + farmerId));
             return pestInfestationRepository.findByFarmer(farmer);
         } catch (Exception e) {
@@ -106,17 +279,146 @@ public class PestInfestationServiceImpl implements PestInfestationService {
     public List<PestInfestation> searchByLocation(String location) {
         try {
             logger.info("Searching pest infestations by location: {}", location);
+            String regionToken = RegionKeys.lookupToken(location);
+            if (regionToken == null) {
+                return List.of();
+            }
+            LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
+            return pestInfestationRepository.findInRegionSince(regionToken, oneWeekAgo);
+        } catch (Exception e) {
+            logger.error("Error searching pest infestations by location: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public GeoResults<PestInfestation> searchNearby(double latitude, double longitude, double radiusKm) {
+        validateRadius(radiusKm);
+        try {
+            logger.info("Searching pest infestations within {} km of {}, {}", radiusKm, latitude, longitude);
             LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
-            return pestInfestationRepository.findByDetectedLocationContainingIgnoreCaseAndDetectionDateTimeAfter(
-                location, 
+            return pestInfestationRepository.findByLocationNearAndDetectionDateTimeAfter(
+                new GeoJsonPoint(longitude, latitude),
+                new Distance(radiusKm, Metrics.KILOMETERS),
                 oneWeekAgo
             );
         } catch (Exception e) {
-            logger.error("Error searching pest infestations by location: {}", e.getMessage());
+            logger.error("Error searching pest infestations near {}, {}: {}", latitude, longitude, e.getMessage());
             throw e;
         }
     }
 
+    @Override
+    public List<PestInfestation> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        validateRadius(radiusKm);
+        try {
+            logger.info("Finding pest infestations within {} km of {}, {}", radiusKm, latitude, longitude);
+            LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
+            return pestInfestationRepository.findByLocationWithinAndDetectionDateTimeAfter(
+                new Sphere(new GeoJsonPoint(longitude, latitude), new Distance(radiusKm, Metrics.KILOMETERS)),
+                oneWeekAgo
+            );
+        } catch (Exception e) {
+            logger.error("Error finding pest infestations near {}, {}: {}", latitude, longitude, e.getMessage());
+            throw e;
+        }
+    }
+
+    private void validateRadius(double radiusKm) {
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new PestInfestationException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+    }
+
+    private void countInfestation(PestInfestation pestInfestation) {
+        try {
+            alertCounterService.recordDetection(DetectionKind.PEST, pestInfestation.getRegionTokens(),
+                pestInfestation.getPestName(), pestInfestation.getDetectionDateTime());
+        } catch (Exception e) {
+            // The rebuild job can recover a missed increment, so never fail the insert for it
+            logger.error("Error updating alert counters: {}", e.getMessage());
+        }
+    }
+
+    // An edit moves the detection between hourly buckets rather than counting it again
+    private void recountInfestation(PestInfestation previous, PestInfestation current) {
+        try {
+            alertCounterService.moveDetection(DetectionKind.PEST,
+                new Detection(previous.getRegionTokens(), previous.getPestName(), previous.getDetectionDateTime()),
+                new Detection(current.getRegionTokens(), current.getPestName(), current.getDetectionDateTime()));
+        } catch (Exception e) {
+            logger.error("Error updating alert counters: {}", e.getMessage());
+        }
+    }
+
+    private void recordEvents(List<PestInfestation> infestations) {
+        try {
+            detectionEventStore.append(DetectionKind.PEST, infestations);
+        } catch (Exception e) {
+            // The regular collection has them; log the ids so the events can be backfilled
+            logger.error("Error writing pest infestation events for {}: {}",
+                infestations.stream().map(PestInfestation::getId).toList(), e.getMessage());
+        }
+    }
+
+    private void replaceEvents(PestInfestation infestation) {
+        try {
+            detectionEventStore.replace(DetectionKind.PEST, infestation.getId(), infestation);
+        } catch (Exception e) {
+            logger.error("Error replacing pest infestation events for {}: {}", infestation.getId(),
+                e.getMessage());
+        }
+    }
+
+    private void publishInfestation(PestInfestation pestInfestation) {
+        publishInfestation(pestInfestation, null);
+    }
+
+    // An edit may move the detection out of regions, whose alerts change as well
+    private void publishInfestation(PestInfestation pestInfestation, PestInfestation previous) {
+        Set<String> regionTokens = new LinkedHashSet<>();
+        if (pestInfestation.getRegionTokens() != null) {
+            regionTokens.addAll(pestInfestation.getRegionTokens());
+        }
+        if (previous != null && previous.getRegionTokens() != null) {
+            regionTokens.addAll(previous.getRegionTokens());
+        }
+        refreshAlerts(regionTokens);
+        streamInfestation(pestInfestation);
+    }
+
+    private void refreshAlerts(Set<String> regionTokens) {
+        alertSummaryService.invalidate(DetectionKind.PEST, regionTokens);
+        contentVersionService.bump(Scope.PEST_ALERTS, regionTokens);
+    }
+
+    private void streamInfestation(PestInfestation pestInfestation) {
+        alertStreamService.publish(pestInfestation.getRegionTokens(), AlertDelta.builder()
+            .kind(DetectionKind.PEST)
+            .id(pestInfestation.getId())
+            .name(pestInfestation.getPestName())
+            .detectedLocation(pestInfestation.getDetectedLocation())
+            .latitude(pestInfestation.getLatitude())
+            .longitude(pestInfestation.getLongitude())
+            .detectionDateTime(pestInfestation.getDetectionDateTime())
+            .farmerId(pestInfestation.getFarmer() != null ? pestInfestation.getFarmer().getId() : null)
+            .build());
+    }
+
+    private void applyRegion(PestInfestation pestInfestation) {
+        RegionKey region = RegionKeys.of(pestInfestation.getDetectedLocation());
+        pestInfestation.setRegionKey(region.key());
+        pestInfestation.setRegionTokens(region.tokens());
+    }
+
+    private GeoJsonPoint toPoint(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        // GeoJSON points are (longitude, latitude)
+        return new GeoJsonPoint(longitude, latitude);
+    }
+
     @Override
     public Optional<PestInfestation> getPestInfestationById(String id) {
         try {
@@ -130,9 +432,38 @@ public class PestInfestationServiceImpl implements PestInfestationService {
 
     @Override
     public PestInfestation savePestInfestation(PestInfestation pestInfestation) {
+        // The entity endpoint has always taken partial records, so only what the geo index
+        // cannot store is rejected; records without a location or time stay out of the area alerts
+        String invalid = DetectionChecks.coordinateProblem(
+            pestInfestation.getLatitude(), pestInfestation.getLongitude());
+        if (invalid != null) {
+            throw new PestInfestationException(invalid);
+        }
         try {
             logger.info("Saving pest infestation: {}", pestInfestation);
-            return pestInfestationRepository.save(pestInfestation);
+            PestInfestation previous = pestInfestation.getId() == null ? null
+                : pestInfestationRepository.findById(pestInfestation.getId()).orElse(null);
+            boolean edit = previous != null;
+            if (edit) {
+                // Solutions embed the infestation they answer, and we cannot tell which ones
+                contentVersionService.bumpAll(Scope.PEST_SOLUTIONS);
+            }
+            pestInfestation.setLocation(toPoint(pestInfestation.getLatitude(), pestInfestation.getLongitude()));
+            applyRegion(pestInfestation);
+            PestInfestation savedInfestation = pestInfestationRepository.save(pestInfestation);
+            if (edit) {
+                recountInfestation(previous, savedInfestation);
+                replaceEvents(savedInfestation);
+            } else {
+                countInfestation(savedInfestation);
+                recordEvents(List.of(savedInfestation));
+            }
+            publishInfestation(savedInfestation, previous);
+
+            // Records posted one at a time reach the same threshold as batches; an edit may push
+            // its new region or pest over it
+            checkAndNotifyAreaInfestation(savedInfestation.getDetectedLocation(), savedInfestation.getPestName());
+            return savedInfestation;
         } catch (Exception e) {
             logger.error("Error saving pest infestation: {}", e.getMessage());
             throw e;
@@ -149,4 +480,40 @@ public class PestInfestationServiceImpl implements PestInfestationService {
             throw e;
         }
     }
-} 
\ No newline at end of file
+
+    @Override
+    public CursorPage<PestInfestation> getPestInfestationsPage(String after, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new PestInfestationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new PestInfestationException("Invalid cursor: " + after);
+        }
+        try {
+            logger.info("Retrieving pest infestations page after {} (size {})", after, size);
+            // Keyset on _id: each page is an index range scan, no matter how deep the client pages
+            Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id")).limit(size + 1);
+            if (after != null) {
+                query.addCriteria(Criteria.where("id").gt(new ObjectId(after)));
+            }
+            List<PestInfestation> items = mongoTemplate.find(query, PestInfestation.class);
+
+            String nextCursor = null;
+            if (items.size() > size) {
+                items = items.subList(0, size);
+                nextCursor = items.get(size - 1).getId();
+            }
+            return new CursorPage<>(items, nextCursor);
+        } catch (Exception e) {
+            logger.error("Error retrieving pest infestations page: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<PestInfestation> streamAllPestInfestations() {
+        logger.info("Streaming all pest infestations");
+        // Backed by a server cursor; the caller must close the stream
+        return mongoTemplate.stream(new Query().with(Sort.by(Sort.Direction.ASC, "id")), PestInfestation.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.research.farmer_smart.service;
 
 import com.research.farmer_smart.controller.request.PestSolutionRequest;
+import com.research.farmer_smart.controller.response.PestSolutionSummary;
 import com.research.farmer_smart.model.PestSolution;
 import java.util.List;
 
@@ -9,5 +10,7 @@ public interface PestSolutionService {
     List<PestSolution> getSolutionsByPestName(String pestName);
     List<PestSolution> getExpertSolutions(String expertId);
     List<PestSolution> getSolutionsForPestInfestation(String pestInfestationId);
+    List<PestSolutionSummary> getSolutionSummariesByPestName(String pestName);
+    List<PestSolutionSummary> getExpertSolutionSummaries(String expertId);
     boolean isValidPestName(String pestName);
 } 
\ No newline at end of file
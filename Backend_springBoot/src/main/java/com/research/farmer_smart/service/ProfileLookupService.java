@@ -0,0 +1,28 @@
+package com.research.farmer_smart.service;
+
+import com.research.farmer_smart.model.Expert;
+import com.research.farmer_smart.model.Farmer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cached farmer and expert lookups for the write paths, which resolve a profile on every insert
+ * even though profiles rarely change.
+ */
+public interface ProfileLookupService {
+
+  Optional<Farmer> findFarmer(String farmerId);
+
+  /**
+   * Resolves many farmers at once: cached entries are used as-is and the rest are loaded with a
+   * single {@code $in} query. Unknown ids are absent from the returned map.
+   */
+  Map<String, Farmer> findFarmers(Collection<String> farmerIds);
+
+  Optional<Expert> findExpert(String expertId);
+
+  void evictFarmer(String farmerId);
+
+  void evictExpert(String expertId);
+}
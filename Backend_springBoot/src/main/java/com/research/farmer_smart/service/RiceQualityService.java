@@ -1,9 +1,13 @@
 package com.research.farmer_smart.service;
 
 import com.research.farmer_smart.controller.request.RiceQualityRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
 import com.research.farmer_smart.model.RiceQuality;
+import java.util.List;
 
 public interface RiceQualityService {
 
   RiceQuality recordRiceQuality(RiceQualityRequest request);
+
+  BatchResult recordRiceQualities(List<RiceQualityRequest> requests);
 }
@@ -2,12 +2,30 @@ package com.research.farmer_smart.service;
 
 import com.research.farmer_smart.controller.request.LoginRequest;
 import com.research.farmer_smart.controller.request.SignUpRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.UserDetails;
 import com.research.farmer_smart.model.User;
+import java.util.List;
 
 public interface UserService {
+  /**
+   * Self-service signup, open to anyone and therefore limited to farmer accounts.
+   */
   User registerUser(SignUpRequest request);
 
+  /**
+   * Creates an expert account; only reachable by administrators.
+   */
+  User registerExpert(SignUpRequest request);
+
+  /**
+   * Onboards a group of farmers; rows asking for any other role are rejected.
+   */
+  BatchResult registerUsers(List<SignUpRequest> requests);
+
   User authenticateUser(LoginRequest request);
 
   User getUserById(String userId);
+
+  UserDetails getUserDetails(String userId);
 }
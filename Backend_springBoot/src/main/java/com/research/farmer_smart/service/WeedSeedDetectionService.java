@@ -1,9 +1,13 @@
 package com.research.farmer_smart.service;
 
 import com.research.farmer_smart.controller.request.WeedSeedDetectionRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
 import com.research.farmer_smart.model.WeedSeedDetection;
+import java.util.List;
 
 public interface WeedSeedDetectionService {
 
   WeedSeedDetection recordWeedSeedDetection(WeedSeedDetectionRequest request);
+
+  BatchResult recordWeedSeedDetections(List<WeedSeedDetectionRequest> requests);
 }
@@ -0,0 +1,51 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import com.research.farmer_smart.model.User;
+import com.research.farmer_smart.service.AccessTokenService;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AccessTokenServiceImpl implements AccessTokenService {
+
+  public static final String ISSUER = "farmer-smart";
+  public static final String ROLE_CLAIM = "role";
+  public static final String PROFILE_CLAIM = "profileId";
+
+  private final JwtEncoder jwtEncoder;
+  private final Duration timeToLive;
+
+  public AccessTokenServiceImpl(JwtEncoder jwtEncoder,
+      @Value("${farmer-smart.auth.token.ttl:1h}") Duration timeToLive) {
+    this.jwtEncoder = jwtEncoder;
+    this.timeToLive = timeToLive;
+  }
+
+  @Override
+  public AccessToken issue(User user) {
+    Instant now = Instant.now();
+    Instant expiresAt = now.plus(timeToLive);
+    JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+        .issuer(ISSUER)
+        .subject(user.getId())
+        .issuedAt(now)
+        .expiresAt(expiresAt)
+        .claim(ROLE_CLAIM, user.getRole().name());
+    String profileId = user.getFarmer() != null ? user.getFarmer().getId()
+        : user.getExpert() != null ? user.getExpert().getId() : null;
+    if (profileId != null) {
+      claims.claim(PROFILE_CLAIM, profileId);
+    }
+    JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+    String value = jwtEncoder.encode(JwtEncoderParameters.from(header, claims.build()))
+        .getTokenValue();
+    return new AccessToken(value, expiresAt);
+  }
+}
@@ -0,0 +1,177 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+import com.research.farmer_smart.model.AlertCounter;
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.service.AlertCounterService;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class AlertCounterServiceImpl implements AlertCounterService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AlertCounterServiceImpl.class);
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public void recordDetection(DetectionKind kind, List<String> regionTokens, String name,
+      LocalDateTime detectedAt) {
+    recordDetections(kind, List.of(new Detection(regionTokens, name, detectedAt)));
+  }
+
+  @Override
+  public void recordDetections(DetectionKind kind, List<Detection> detections) {
+    Map<BucketKey, Long> increments = new LinkedHashMap<>();
+    for (Detection detection : detections) {
+      addBuckets(increments, detection, 1);
+    }
+    apply(kind, increments);
+  }
+
+  @Override
+  public void moveDetection(DetectionKind kind, Detection previous, Detection current) {
+    Map<BucketKey, Long> changes = new LinkedHashMap<>();
+    addBuckets(changes, previous, -1);
+    addBuckets(changes, current, 1);
+    changes.values().removeIf(change -> change == 0);
+    apply(kind, changes);
+  }
+
+  private void addBuckets(Map<BucketKey, Long> changes, Detection detection, long change) {
+    if (detection == null || detection.regionTokens() == null || detection.name() == null) {
+      return;
+    }
+    Instant bucket = toBucket(
+        detection.detectedAt() != null ? detection.detectedAt() : LocalDateTime.now());
+    for (String region : detection.regionTokens()) {
+      changes.merge(new BucketKey(region, detection.name(), bucket), change, Long::sum);
+    }
+  }
+
+  private void apply(DetectionKind kind, Map<BucketKey, Long> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, AlertCounter.class);
+    changes.forEach((key, change) -> {
+      Query query = bucketQuery(kind, key.region(), key.name(), key.bucket());
+      if (change > 0) {
+        bulk.upsert(query, new Update().inc("count", change));
+      } else {
+        // A bucket already pruned or rebuilt without the detection is not taken below zero
+        bulk.updateOne(query.addCriteria(Criteria.where("count").gte(-change)),
+            new Update().inc("count", change));
+      }
+    });
+    bulk.execute();
+  }
+
+  @Override
+  public long countSince(DetectionKind kind, String regionToken, String name,
+      LocalDateTime since) {
+    Criteria criteria = Criteria.where("kind").is(kind)
+        .and("region").is(regionToken)
+        .and("bucket").gte(toBucket(since));
+    if (name != null) {
+      criteria.and("name").is(name);
+    }
+
+    Document total = mongoTemplate.aggregate(
+        newAggregation(AlertCounter.class, match(criteria), group().sum("count").as("total")),
+        Document.class).getUniqueMappedResult();
+    return total == null ? 0 : ((Number) total.get("total")).longValue();
+  }
+
+  @Override
+  public void rebuild(DetectionKind kind) {
+    Class<?> source = kind == DetectionKind.PEST ? PestInfestation.class : DiseasesDetection.class;
+    String nameField = kind == DetectionKind.PEST ? "pestName" : "diseaseName";
+    String counters = mongoTemplate.getCollectionName(AlertCounter.class);
+
+    // $merge needs the unique (kind, region, name, bucket) index to match on
+    mongoTemplate.indexOps(AlertCounter.class).ensureIndex(new Index()
+        .on("kind", Direction.ASC).on("region", Direction.ASC)
+        .on("name", Direction.ASC).on("bucket", Direction.ASC)
+        .unique().named("counter_bucket"));
+
+    // Only the hours the TTL index still keeps; older buckets would just be expired again. Each
+    // bucket is replaced in place rather than removed first, so counters stay readable and live
+    // increments to other buckets are kept. An increment to a bucket between the aggregation
+    // reading it and $merge writing it is still overwritten, and a bucket whose detections were
+    // all deleted keeps its old count until it expires
+    Instant since = toBucket(LocalDateTime.now().minusDays(AlertCounter.RETENTION_DAYS));
+
+    // Same shape as the live $inc upserts: one document per (region token, name, UTC hour)
+    List<Document> pipeline = List.of(
+        new Document("$match", new Document("detectionDateTime",
+            new Document("$gte", Date.from(since)))
+            .append(nameField, new Document("$type", "string"))),
+        new Document("$unwind", "$regionTokens"),
+        new Document("$group", new Document("_id", new Document("region", "$regionTokens")
+            .append("name", "$" + nameField)
+            .append("bucket", new Document("$dateTrunc",
+                new Document("date", "$detectionDateTime").append("unit", "hour"))))
+            .append("count", new Document("$sum", 1))),
+        new Document("$project", new Document("_id", 0)
+            .append("kind", new Document("$literal", kind.name()))
+            .append("region", "$_id.region")
+            .append("name", "$_id.name")
+            .append("bucket", "$_id.bucket")
+            .append("count", 1)),
+        new Document("$merge", new Document("into", counters)
+            .append("on", List.of("kind", "region", "name", "bucket"))
+            .append("whenMatched", "replace")
+            .append("whenNotMatched", "insert"))
+    );
+    mongoTemplate.getCollection(mongoTemplate.getCollectionName(source))
+        .aggregate(pipeline)
+        .allowDiskUse(true)
+        .toCollection();
+
+    logger.info("Rebuilt {} alert counters since {}: {} buckets", kind, since,
+        mongoTemplate.count(Query.query(Criteria.where("kind").is(kind)
+            .and("bucket").gte(since)), AlertCounter.class));
+  }
+
+  private Query bucketQuery(DetectionKind kind, String region, String name, Instant bucket) {
+    return Query.query(Criteria.where("kind").is(kind)
+        .and("region").is(region)
+        .and("name").is(name)
+        .and("bucket").is(bucket));
+  }
+
+  private record BucketKey(String region, String name, Instant bucket) {
+
+  }
+
+  private Instant toBucket(LocalDateTime dateTime) {
+    // LocalDateTime is persisted in the system zone, so resolve it the same way before truncating
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.HOURS);
+  }
+}
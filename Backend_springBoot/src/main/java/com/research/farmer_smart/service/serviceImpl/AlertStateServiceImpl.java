@@ -0,0 +1,99 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import com.research.farmer_smart.model.AlertLevel;
+import com.research.farmer_smart.model.AlertState;
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.service.AlertStateService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AlertStateServiceImpl implements AlertStateService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AlertStateServiceImpl.class);
+
+  private final MongoTemplate mongoTemplate;
+  private final AlertLevel notifyLevel;
+  private final Duration cooldown;
+
+  public AlertStateServiceImpl(MongoTemplate mongoTemplate,
+      @Value("${farmer-smart.alerts.notify-level:HIGH}") AlertLevel notifyLevel,
+      @Value("${farmer-smart.alerts.cooldown:6h}") Duration cooldown) {
+    this.mongoTemplate = mongoTemplate;
+    this.notifyLevel = notifyLevel;
+    this.cooldown = cooldown;
+  }
+
+  @Override
+  public Optional<Escalation> escalate(DetectionKind kind, String regionToken, String name,
+      long detectionCount) {
+    AlertLevel level = AlertLevel.of(detectionCount);
+    Instant now = Instant.now();
+    Query key = key(kind, regionToken, name);
+
+    // Swap in the new level and read the old one in a single step, so of two concurrent inserts
+    // only one sees the transition
+    AlertState previous = mongoTemplate.findAndModify(key,
+        new Update().set("level", level)
+            .set("detectionCount", detectionCount)
+            .set("updatedAt", now),
+        FindAndModifyOptions.options().upsert(true).returnNew(false), AlertState.class);
+
+    AlertLevel previousLevel = previous == null ? null : previous.getLevel();
+    if (previousLevel != null && level.compareTo(previousLevel) <= 0) {
+      return Optional.empty();
+    }
+    if (level.compareTo(notifyLevel) < 0) {
+      return Optional.empty();
+    }
+    // An area that dropped back and re-escalates within the cooldown is not notified twice
+    if (previous != null && previous.getNotifiedLevel() != null
+        && level.compareTo(previous.getNotifiedLevel()) <= 0
+        && previous.getNotifiedAt().plus(cooldown).isAfter(now)) {
+      logger.info("{} alert for {} in {} is in cooldown", level, name, regionToken);
+      return Optional.empty();
+    }
+
+    logger.info("{} alert for {} in {} escalated from {} to {}", kind, name, regionToken,
+        previousLevel == null ? "NONE" : previousLevel, level);
+    return Optional.of(new Escalation(previousLevel, level));
+  }
+
+  @Override
+  public void notified(DetectionKind kind, String regionToken, String name,
+      Escalation escalation) {
+    mongoTemplate.updateFirst(key(kind, regionToken, name),
+        new Update().set("notifiedLevel", escalation.level()).set("notifiedAt", Instant.now()),
+        AlertState.class);
+  }
+
+  @Override
+  public void abandon(DetectionKind kind, String regionToken, String name,
+      Escalation escalation) {
+    // Only undo our own swap, not a level a later detection has set
+    Query ours = key(kind, regionToken, name).addCriteria(
+        Criteria.where("level").is(escalation.level()));
+    Update update = escalation.previous() == null
+        ? new Update().unset("level")
+        : new Update().set("level", escalation.previous());
+    mongoTemplate.updateFirst(ours, update, AlertState.class);
+    logger.warn("{} alert for {} in {} was not queued; back to {}", kind, name, regionToken,
+        escalation.previous() == null ? "NONE" : escalation.previous());
+  }
+
+  private static Query key(DetectionKind kind, String regionToken, String name) {
+    return Query.query(Criteria.where("kind").is(kind)
+        .and("region").is(regionToken)
+        .and("name").is(name));
+  }
+}
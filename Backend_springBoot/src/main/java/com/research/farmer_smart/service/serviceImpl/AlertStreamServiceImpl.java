@@ -0,0 +1,219 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.research.farmer_smart.controller.response.AlertDelta;
+import com.research.farmer_smart.service.AlertStreamService;
+import com.research.farmer_smart.util.RegionKeys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+public class AlertStreamServiceImpl implements AlertStreamService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AlertStreamServiceImpl.class);
+
+  private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final ObjectMapper objectMapper;
+  private final long emitterTimeoutMs;
+  private final int bufferSize;
+  private final long sendTimeoutNanos;
+  // Sends happen here, off the request thread that recorded the detection. Each subscriber has at
+  // most one drain task queued, so the queue is bounded by the number of subscribers.
+  private final ThreadPoolExecutor senders;
+
+  public AlertStreamServiceImpl(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+      @Value("${farmer-smart.alerts.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+      @Value("${farmer-smart.alerts.stream.senders:4}") int senderCount,
+      @Value("${farmer-smart.alerts.stream.buffer:100}") int bufferSize,
+      @Value("${farmer-smart.alerts.stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+    this.objectMapper = objectMapper;
+    this.emitterTimeoutMs = emitterTimeoutMs;
+    this.bufferSize = bufferSize;
+    this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    this.senders = new ThreadPoolExecutor(senderCount, senderCount, 0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new CustomizableThreadFactory("alert-stream-"));
+    new ExecutorServiceMetrics(senders, "alert-stream", Tags.of("flow", "alerts"))
+        .bindTo(meterRegistry);
+    Gauge.builder("alerts.stream.subscribers", subscribers,
+            map -> map.values().stream().mapToInt(Set::size).sum())
+        .tag("flow", "alerts")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Optional<SseEmitter> subscribe(String region) {
+    String regionToken = RegionKeys.lookupToken(region);
+    if (regionToken == null) {
+      return Optional.empty();
+    }
+    SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+    Subscriber subscriber = new Subscriber(regionToken, emitter, bufferSize);
+    subscribers.compute(regionToken, (token, set) -> {
+      Set<Subscriber> current = set != null ? set : ConcurrentHashMap.newKeySet();
+      current.add(subscriber);
+      return current;
+    });
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(() -> unsubscribe(subscriber));
+    emitter.onError(e -> unsubscribe(subscriber));
+    logger.info("New alert stream subscriber for region {}", regionToken);
+    return Optional.of(emitter);
+  }
+
+  @Override
+  public void publish(List<String> regionTokens, AlertDelta delta) {
+    if (regionTokens == null || regionTokens.stream().noneMatch(subscribers::containsKey)) {
+      return;
+    }
+    Set<DataWithMediaType> event;
+    try {
+      // Serialized once and shared by every subscriber
+      event = SseEmitter.event()
+          .name(delta.getKind().name().toLowerCase())
+          .id(delta.getId())
+          .data(objectMapper.writeValueAsString(delta))
+          .build();
+    } catch (JsonProcessingException e) {
+      logger.error("Error serializing alert delta {}: {}", delta.getId(), e.getMessage());
+      return;
+    }
+    for (String regionToken : regionTokens) {
+      Set<Subscriber> regionSubscribers = subscribers.get(regionToken);
+      if (regionSubscribers != null) {
+        regionSubscribers.forEach(subscriber -> offer(subscriber, event));
+      }
+    }
+  }
+
+  // Idle connections are only noticed as broken when written to, and proxies drop silent ones
+  @Scheduled(fixedRateString = "${farmer-smart.alerts.stream.heartbeat-ms:30000}")
+  public void heartbeat() {
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    Set<DataWithMediaType> event = SseEmitter.event().comment("heartbeat").build();
+    long now = System.nanoTime();
+    subscribers.values().forEach(regionSubscribers -> regionSubscribers.forEach(subscriber -> {
+      long sendStartedAt = subscriber.sendStartedAt;
+      if (sendStartedAt != 0 && now - sendStartedAt > sendTimeoutNanos) {
+        drop(subscriber, "stalled on a send");
+      } else {
+        offer(subscriber, event);
+      }
+    }));
+  }
+
+  private void offer(Subscriber subscriber, Set<DataWithMediaType> event) {
+    if (!subscriber.pending.offer(event)) {
+      // Only this client loses events; it resyncs from the area summary when it reconnects
+      drop(subscriber, "fell behind");
+      return;
+    }
+    schedule(subscriber);
+  }
+
+  private void schedule(Subscriber subscriber) {
+    if (subscriber.draining.compareAndSet(false, true)) {
+      try {
+        senders.execute(() -> drain(subscriber));
+      } catch (RejectedExecutionException e) {
+        // Shutting down
+        subscriber.draining.set(false);
+      }
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    Set<DataWithMediaType> event;
+    while (!subscriber.closing && (event = subscriber.pending.poll()) != null) {
+      subscriber.sendStartedAt = System.nanoTime();
+      try {
+        subscriber.emitter.send(event);
+      } catch (Exception e) {
+        unsubscribe(subscriber);
+        subscriber.pending.clear();
+        return;
+      } finally {
+        subscriber.sendStartedAt = 0;
+      }
+    }
+    if (subscriber.closing) {
+      // Completed here rather than by the caller of drop, which would wait on a send in progress
+      subscriber.emitter.complete();
+      return;
+    }
+    subscriber.draining.set(false);
+    if (!subscriber.pending.isEmpty()) {
+      schedule(subscriber);
+    }
+  }
+
+  private void drop(Subscriber subscriber, String reason) {
+    if (subscriber.closing) {
+      return;
+    }
+    subscriber.closing = true;
+    unsubscribe(subscriber);
+    subscriber.pending.clear();
+    logger.info("Closing alert stream subscriber for region {}: {}", subscriber.regionToken,
+        reason);
+    schedule(subscriber);
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    subscribers.computeIfPresent(subscriber.regionToken, (token, set) -> {
+      set.remove(subscriber);
+      return set.isEmpty() ? null : set;
+    });
+  }
+
+  private static final class Subscriber {
+
+    private final String regionToken;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> pending;
+    // Set while a drain task is queued or running, so events to one client are sent in order
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closing;
+    private volatile long sendStartedAt;
+
+    private Subscriber(String regionToken, SseEmitter emitter, int bufferSize) {
+      this.regionToken = regionToken;
+      this.emitter = emitter;
+      this.pending = new ArrayBlockingQueue<>(bufferSize);
+    }
+  }
+
+  // Runs before the web server's graceful shutdown, which would otherwise wait on open streams
+  @EventListener(ContextClosedEvent.class)
+  void shutdown() {
+    senders.shutdownNow();
+    subscribers.values().forEach(regionSubscribers -> regionSubscribers.forEach(
+        subscriber -> subscriber.emitter.complete()));
+  }
+}
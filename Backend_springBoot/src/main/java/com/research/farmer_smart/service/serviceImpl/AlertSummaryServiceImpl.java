@@ -0,0 +1,248 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.count;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.facet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.DBRef;
+import com.research.farmer_smart.controller.response.AreaAlertSummary;
+import com.research.farmer_smart.controller.response.AreaAlertSummary.RecentDetection;
+import com.research.farmer_smart.controller.response.AreaAlertSummary.ThreatCount;
+import com.research.farmer_smart.metrics.MetricsContext;
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.repository.DetectionEventStore;
+import com.research.farmer_smart.service.AlertSummaryService;
+import com.research.farmer_smart.util.RegionKeys;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AlertSummaryServiceImpl implements AlertSummaryService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AlertSummaryServiceImpl.class);
+  private static final int TOP_THREATS = 3;
+  private static final int RECENT_ROWS = 10;
+
+  private final MongoTemplate mongoTemplate;
+  private final DetectionEventStore detectionEventStore;
+  private final ExecutorService loader =
+      Executors.newFixedThreadPool(4, new CustomizableThreadFactory("alert-summary-"));
+  private final AsyncLoadingCache<SummaryKey, AreaAlertSummary> cache;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter coalesced;
+
+  public AlertSummaryServiceImpl(MongoTemplate mongoTemplate,
+      DetectionEventStore detectionEventStore, MeterRegistry meterRegistry,
+      @Value("${farmer-smart.alerts.summary-cache.fresh-for:30s}") Duration freshFor,
+      @Value("${farmer-smart.alerts.summary-cache.max-stale:10m}") Duration maxStale,
+      @Value("${farmer-smart.alerts.summary-cache.max-entries:1000}") long maxEntries) {
+    this.mongoTemplate = mongoTemplate;
+    this.detectionEventStore = detectionEventStore;
+    // refreshAfterWrite serves the stale value and reloads once in the background;
+    // expireAfterWrite bounds how stale a summary can get when nobody asks for it
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxEntries)
+        .refreshAfterWrite(freshFor)
+        .expireAfterWrite(maxStale)
+        .executor(loader)
+        .buildAsync(this::aggregate);
+    this.hits = meterRegistry.counter("alert.summary.cache", "result", "hit");
+    this.misses = meterRegistry.counter("alert.summary.cache", "result", "miss");
+    this.coalesced = meterRegistry.counter("alert.summary.cache", "result", "coalesced");
+    meterRegistry.gauge("alert.summary.cache.size", cache, c -> c.synchronous().estimatedSize());
+    new ExecutorServiceMetrics(loader, "alert-summary", Tags.of("flow", "alerts"))
+        .bindTo(meterRegistry);
+  }
+
+  @Override
+  public AreaAlertSummary summarizePestAlerts(String location, String version) {
+    return cached(DetectionKind.PEST, location, version);
+  }
+
+  @Override
+  public AreaAlertSummary summarizeDiseaseAlerts(String location, String version) {
+    return cached(DetectionKind.DISEASE, location, version);
+  }
+
+  @Override
+  public void invalidate(DetectionKind kind, Collection<String> regionTokens) {
+    if (regionTokens == null) {
+      return;
+    }
+    // Every version of these regions; an aggregation in flight is discarded rather than stored
+    cache.synchronous().invalidateAll(cache.synchronous().asMap().keySet().stream()
+        .filter(key -> key.kind() == kind && regionTokens.contains(key.regionToken()))
+        .toList());
+  }
+
+  private AreaAlertSummary cached(DetectionKind kind, String location, String version) {
+    String regionToken = RegionKeys.lookupToken(location);
+    if (regionToken == null) {
+      return emptySummary(null);
+    }
+    SummaryKey key = new SummaryKey(kind, regionToken, version);
+    CompletableFuture<AreaAlertSummary> present = cache.getIfPresent(key);
+    if (present == null) {
+      misses.increment();
+    } else if (present.isDone()) {
+      hits.increment();
+    } else {
+      coalesced.increment();
+    }
+    try {
+      return cache.get(key).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private AreaAlertSummary aggregate(SummaryKey key) {
+    if (key.kind() == DetectionKind.PEST) {
+      // Pest infestations reference the farmer through a DBRef, read back as {$ref, $id}
+      return MetricsContext.call("pest", "AlertSummaryService.summarizePestAlerts",
+          () -> summarize(key, PestInfestation.class, "pestName", "farmer"));
+    }
+    // Disease detections embed the farmer document
+    return MetricsContext.call("disease", "AlertSummaryService.summarizeDiseaseAlerts",
+        () -> summarize(key, DiseasesDetection.class, "diseaseName", "farmer.id"));
+  }
+
+  private AreaAlertSummary summarize(SummaryKey key, Class<?> entityClass, String nameField,
+      String farmerField) {
+    String regionToken = key.regionToken();
+    // The time-series events carry the same fields, with the region token in meta
+    boolean events = detectionEventStore.readsEvents();
+    String collection = events ? DetectionEventStore.collectionName(key.kind())
+        : mongoTemplate.getCollectionName(entityClass);
+    String regionField = events ? DetectionEventStore.REGION_FIELD : "regionTokens";
+    LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
+    TypedAggregation<?> aggregation = newAggregation(entityClass,
+        match(Criteria.where(regionField).is(regionToken)
+            .and("detectionDateTime").gt(oneWeekAgo)),
+        facet(count().as("total")).as("totals")
+            .and(group(farmerField), count().as("total")).as("farmers")
+            .and(group("detectedLocation")).as("locations")
+            .and(group(nameField).count().as("occurrences"),
+                sort(Direction.DESC, "occurrences"),
+                limit(TOP_THREATS)).as("topThreats")
+            .and(sort(Direction.DESC, "detectionDateTime"),
+                limit(RECENT_ROWS),
+                project("detectedLocation", "latitude", "longitude", "detectionDateTime", "farmer")
+                    .and(nameField).as("name")).as("recent")
+    );
+
+    Document result = mongoTemplate.aggregate(aggregation, collection, Document.class)
+        .getUniqueMappedResult();
+    if (result == null) {
+      return emptySummary(regionToken);
+    }
+
+    AreaAlertSummary summary = AreaAlertSummary.builder()
+        .regionToken(regionToken)
+        .total(firstCount(result, "totals"))
+        .affectedFarmers(firstCount(result, "farmers"))
+        .affectedLocations(result.getList("locations", Document.class).stream()
+            .map(affected -> affected.getString("_id"))
+            .filter(Objects::nonNull)
+            .toList())
+        .topThreats(result.getList("topThreats", Document.class).stream()
+            .map(threat -> new ThreatCount(threat.getString("_id"),
+                ((Number) threat.get("occurrences")).longValue()))
+            .toList())
+        .recent(result.getList("recent", Document.class).stream()
+            .map(this::toRecentDetection)
+            .toList())
+        .build();
+
+    logger.info("Summarized {} {} documents for region {}", summary.getTotal(), collection,
+        regionToken);
+    return summary;
+  }
+
+  private RecentDetection toRecentDetection(Document row) {
+    Date detected = row.getDate("detectionDateTime");
+    return RecentDetection.builder()
+        .id(row.get("_id") == null ? null : row.get("_id").toString())
+        .name(row.getString("name"))
+        .detectedLocation(row.getString("detectedLocation"))
+        .latitude(row.getDouble("latitude"))
+        .longitude(row.getDouble("longitude"))
+        .detectionDateTime(detected == null ? null
+            : LocalDateTime.ofInstant(detected.toInstant(), ZoneId.systemDefault()))
+        .farmerId(farmerId(row.get("farmer")))
+        .build();
+  }
+
+  private String farmerId(Object farmer) {
+    Object id = null;
+    if (farmer instanceof DBRef dbRef) {
+      id = dbRef.getId();
+    } else if (farmer instanceof Document embedded) {
+      id = embedded.get("_id");
+    }
+    return id == null ? null : id.toString();
+  }
+
+  private long firstCount(Document result, String facetName) {
+    List<Document> rows = result.getList(facetName, Document.class);
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    return ((Number) rows.get(0).get("total")).longValue();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    loader.shutdownNow();
+  }
+
+  private record SummaryKey(DetectionKind kind, String regionToken, String version) {
+
+  }
+
+  private AreaAlertSummary emptySummary(String regionToken) {
+    return AreaAlertSummary.builder()
+        .regionToken(regionToken)
+        .affectedLocations(List.of())
+        .topThreats(List.of())
+        .recent(List.of())
+        .build();
+  }
+}
@@ -0,0 +1,128 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import com.research.farmer_smart.service.ContentVersionService;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class ContentVersionServiceImpl implements ContentVersionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContentVersionServiceImpl.class);
+  private static final String COLLECTION = "content_versions";
+  // Set once when the collection is first written, so tags from before it was dropped never match
+  private static final String EPOCH = "#epoch";
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public void bump(Scope scope, Collection<String> keys) {
+    List<String> counters = new ArrayList<>();
+    if (keys != null) {
+      keys.forEach(key -> counters.add(scope + ":" + key));
+    }
+    counters.add(scope + "#any");
+    increment(counters);
+  }
+
+  @Override
+  public void bumpAll(Scope scope) {
+    increment(List.of(scope + "#generation", scope + "#any"));
+  }
+
+  @Override
+  public String etag(Key... keys) {
+    Set<String> counters = new LinkedHashSet<>();
+    counters.add(EPOCH);
+    for (Key key : keys) {
+      if (key.name() == null) {
+        counters.add(key.scope() + "#any");
+      } else {
+        counters.add(key.scope() + "#generation");
+        counters.add(key.scope() + ":" + key.name());
+      }
+    }
+    Map<String, Document> versions;
+    try {
+      versions = read(counters);
+    } catch (RuntimeException e) {
+      // A tag nobody holds: the request is served in full rather than failed
+      logger.warn("Could not read content versions: {}", e.getMessage());
+      return "\"" + UUID.randomUUID() + "\"";
+    }
+
+    Document epoch = versions.get(EPOCH);
+    StringBuilder etag = new StringBuilder("\"")
+        .append(epoch == null ? "0" : epoch.getString("epoch"));
+    boolean windowed = false;
+    for (Key key : keys) {
+      Scope scope = key.scope();
+      etag.append('-');
+      if (key.name() == null) {
+        etag.append(value(versions, scope + "#any"));
+      } else {
+        etag.append(value(versions, scope + "#generation")).append('.')
+            .append(value(versions, scope + ":" + key.name()));
+      }
+      windowed |= scope.isWindowed();
+    }
+    if (windowed) {
+      // Revalidate at least hourly so detections leaving the 7-day window are picked up
+      etag.append('-').append(Instant.now().truncatedTo(ChronoUnit.HOURS).getEpochSecond() / 3600);
+    }
+    return etag.append('"').toString();
+  }
+
+  /*
+   * One unordered bulk write per change. A failed bump leaves tags unchanged until the next write
+   * or, for alerts, the next hour; the write it follows has already been stored, so it is logged
+   * rather than thrown.
+   */
+  private void increment(List<String> counters) {
+    try {
+      BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, COLLECTION);
+      for (String counter : counters) {
+        bulk.upsert(Query.query(Criteria.where("_id").is(counter)), new Update().inc("v", 1L));
+      }
+      bulk.upsert(Query.query(Criteria.where("_id").is(EPOCH)),
+          new Update().setOnInsert("epoch", Long.toString(System.currentTimeMillis(), 36)));
+      bulk.execute();
+    } catch (RuntimeException e) {
+      logger.error("Could not bump content versions {}: {}", counters, e.getMessage());
+    }
+  }
+
+  // All the counters of one tag in a single read on _id
+  private Map<String, Document> read(Collection<String> counters) {
+    Map<String, Document> versions = new HashMap<>();
+    for (Document version : mongoTemplate.find(Query.query(Criteria.where("_id").in(counters)),
+        Document.class, COLLECTION)) {
+      versions.put(version.getString("_id"), version);
+    }
+    return versions;
+  }
+
+  private static long value(Map<String, Document> versions, String counter) {
+    Document version = versions.get(counter);
+    return version == null ? 0 : version.get("v", Number.class).longValue();
+  }
+}
@@ -0,0 +1,484 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+
+import com.mongodb.DBRef;
+import com.mongodb.bulk.BulkWriteError;
+import com.research.farmer_smart.controller.response.DailyDetectionCount;
+import com.research.farmer_smart.exception.HistoryRangeException;
+import com.research.farmer_smart.model.AlertCounter;
+import com.research.farmer_smart.model.DetectionDailySummary;
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.model.PestSolution;
+import com.research.farmer_smart.repository.DetectionEventStore;
+import com.research.farmer_smart.service.AlertSummaryService;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
+import com.research.farmer_smart.service.DetectionRetentionService;
+import com.research.farmer_smart.util.BulkInserts;
+import com.research.farmer_smart.util.RegionKeys;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DetectionRetentionServiceImpl implements DetectionRetentionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(DetectionRetentionServiceImpl.class);
+  // Lease and per-collection progress; one run at a time across instances
+  private static final String STATE = "retention_state";
+  private static final String LEASE_ID = "lease";
+  private static final Duration LEASE = Duration.ofMinutes(30);
+  private static final String TIME_FIELD = "detectionDateTime";
+  private static final int MAX_HISTORY_DAYS = 366;
+  private static final List<Source> SOURCES = List.of(
+      // Pest infestations reference the farmer through a DBRef and are referenced by solutions
+      // the same way; disease detections embed the farmer and are embedded in their solutions
+      new Source(DetectionKind.PEST, PestInfestation.class, "pestName", "farmer",
+          PestSolution.class, "pestInfestation.$id", Scope.PEST_ALERTS),
+      new Source(DetectionKind.DISEASE, DiseasesDetection.class, "diseaseName", "farmer._id",
+          null, null, Scope.DISEASE_ALERTS));
+
+  private final MongoTemplate mongoTemplate;
+  private final DetectionEventStore detectionEventStore;
+  private final AlertSummaryService alertSummaryService;
+  private final ContentVersionService contentVersionService;
+  private final int retentionDays;
+  private final int batchSize;
+  private final Duration pause;
+  private final String owner = UUID.randomUUID().toString();
+
+  public DetectionRetentionServiceImpl(MongoTemplate mongoTemplate,
+      DetectionEventStore detectionEventStore, AlertSummaryService alertSummaryService,
+      ContentVersionService contentVersionService,
+      @Value("${farmer-smart.retention.days:90}") int retentionDays,
+      @Value("${farmer-smart.retention.batch-size:500}") int batchSize,
+      @Value("${farmer-smart.retention.pause:200ms}") Duration pause) {
+    // Archiving never touches rows the hourly alert counters still hold, so they need no repair
+    if (retentionDays <= AlertCounter.RETENTION_DAYS) {
+      throw new IllegalArgumentException("farmer-smart.retention.days must be more than "
+          + AlertCounter.RETENTION_DAYS + ", the alert counter window");
+    }
+    this.mongoTemplate = mongoTemplate;
+    this.detectionEventStore = detectionEventStore;
+    this.alertSummaryService = alertSummaryService;
+    this.contentVersionService = contentVersionService;
+    this.retentionDays = retentionDays;
+    this.batchSize = batchSize;
+    this.pause = pause;
+  }
+
+  @Override
+  public long archiveExpired() throws InterruptedException {
+    // Whole UTC days only, so every summary covers a complete day
+    Instant cutoff = Instant.now().truncatedTo(ChronoUnit.DAYS)
+        .minus(retentionDays, ChronoUnit.DAYS);
+    if (!acquireLease()) {
+      logger.info("Retention run skipped, another instance holds the lease");
+      return 0;
+    }
+    long archived = 0;
+    try {
+      for (Source source : SOURCES) {
+        archived += archive(source, cutoff);
+      }
+    } finally {
+      releaseLease();
+    }
+    return archived;
+  }
+
+  /*
+   * Oldest rows first, by (detectionDateTime, _id). Each batch is first recorded as pending days,
+   * then copied to the archive and deleted from the hot collection; rows a solution still points
+   * at stay, checked again after the copy and after the delete. The alert versions of the regions
+   * a batch leaves are bumped once per batch. A day is summarized from the archive once the scan
+   * has moved past it. A crash at any point is repaired by the next run: copies are idempotent and
+   * pending days are kept in STATE.
+   */
+  private long archive(Source source, Instant cutoff) throws InterruptedException {
+    String collection = mongoTemplate.getCollectionName(source.type());
+    String archive = collection + "_archive";
+    ensureArchive(archive);
+    String stateId = "pending:" + collection;
+    TreeSet<Instant> pending = loadPending(stateId);
+
+    long archived = 0;
+    long kept = 0;
+    Document last = null;
+    while (true) {
+      List<Document> batch = mongoTemplate.find(new Query(after(last, cutoff))
+              .with(Sort.by(TIME_FIELD, "_id"))
+              .limit(batchSize),
+          Document.class, collection);
+      Instant scanned = batch.isEmpty() ? cutoff : dayOf(batch.get(0));
+      List<Instant> complete = new ArrayList<>(pending.headSet(scanned));
+      if (!complete.isEmpty()) {
+        for (Instant day : complete) {
+          summarize(source, archive, day);
+          pending.remove(day);
+        }
+        savePending(stateId, pending);
+      }
+      if (batch.isEmpty()) {
+        break;
+      }
+      last = batch.get(batch.size() - 1);
+
+      List<Document> moved = unreferenced(source, batch);
+      // Rows kept hot drop any archive copy an interrupted run left, so they are counted once
+      List<Document> referenced = without(batch, moved);
+      if (removeById(archive, referenced) > 0) {
+        referenced.forEach(document -> pending.add(dayOf(document)));
+        savePending(stateId, pending);
+      }
+      if (!moved.isEmpty()) {
+        moved.forEach(document -> pending.add(dayOf(document)));
+        savePending(stateId, pending);
+        copy(archive, moved);
+        // A solution created while the batch was copied keeps its row hot
+        List<Document> copied = moved;
+        moved = unreferenced(source, copied);
+        removeById(archive, without(copied, moved));
+        removeById(collection, moved);
+        // One created between that check and the delete gets its row back
+        List<Document> removed = moved;
+        moved = unreferenced(source, removed);
+        List<Document> restored = without(removed, moved);
+        if (!restored.isEmpty()) {
+          mongoTemplate.insert(restored, collection);
+          removeById(archive, restored);
+        }
+        archived += moved.size();
+        refreshAlerts(source, moved);
+      }
+      kept += batch.size() - moved.size();
+
+      renewLease();
+      Thread.sleep(pause.toMillis());
+    }
+
+    removeExpiredEvents(source.kind(), cutoff);
+    if (archived > 0 || kept > 0) {
+      logger.info("Archived {} {} detected before {} to {}, kept {} referenced by solutions",
+          archived, collection, cutoff, archive, kept);
+    }
+    return archived;
+  }
+
+  // Hot reads of these regions change once their rows are gone, even if only past the alert window
+  private void refreshAlerts(Source source, List<Document> removed) {
+    Set<String> regionTokens = new LinkedHashSet<>();
+    for (Document document : removed) {
+      List<String> tokens = document.getList("regionTokens", String.class);
+      if (tokens != null) {
+        regionTokens.addAll(tokens);
+      }
+    }
+    if (regionTokens.isEmpty()) {
+      return;
+    }
+    alertSummaryService.invalidate(source.kind(), regionTokens);
+    contentVersionService.bump(source.alertScope(), regionTokens);
+  }
+
+  // Past the last row read, on the detected index
+  private static Criteria after(Document last, Instant cutoff) {
+    Criteria expired = Criteria.where(TIME_FIELD).lt(Date.from(cutoff));
+    if (last == null) {
+      return expired;
+    }
+    Date lastDetected = last.getDate(TIME_FIELD);
+    return new Criteria().andOperator(expired, new Criteria().orOperator(
+        Criteria.where(TIME_FIELD).gt(lastDetected),
+        Criteria.where(TIME_FIELD).is(lastDetected).and("_id").gt(last.get("_id"))));
+  }
+
+  // Rows that solutions resolve through a DBRef, which would come back empty once archived
+  private List<Document> unreferenced(Source source, List<Document> batch) {
+    if (source.referencedBy() == null || batch.isEmpty()) {
+      return batch;
+    }
+    List<Object> ids = batch.stream().map(document -> document.get("_id")).toList();
+    Set<Object> referenced = new HashSet<>(mongoTemplate.findDistinct(
+        Query.query(Criteria.where(source.referenceField()).in(ids)), source.referenceField(),
+        mongoTemplate.getCollectionName(source.referencedBy()), Object.class));
+    return batch.stream()
+        .filter(document -> !referenced.contains(document.get("_id")))
+        .toList();
+  }
+
+  private static List<Document> without(List<Document> all, List<Document> removed) {
+    if (all.size() == removed.size()) {
+      return List.of();
+    }
+    Set<Object> ids = new HashSet<>();
+    removed.forEach(document -> ids.add(document.get("_id")));
+    return all.stream()
+        .filter(document -> !ids.contains(document.get("_id")))
+        .toList();
+  }
+
+  private long removeById(String collection, List<Document> documents) {
+    if (documents.isEmpty()) {
+      return 0;
+    }
+    return mongoTemplate.remove(Query.query(Criteria.where("_id").in(
+            documents.stream().map(document -> document.get("_id")).toList())), collection)
+        .getDeletedCount();
+  }
+
+  // zstd where the server supports it; archived rows are written once and rarely read
+  private void ensureArchive(String archive) {
+    if (!mongoTemplate.collectionExists(archive)) {
+      try {
+        mongoTemplate.executeCommand(new Document("create", archive)
+            .append("storageEngine", new Document("wiredTiger",
+                new Document("configString", "block_compressor=zstd"))));
+      } catch (RuntimeException e) {
+        logger.warn("Creating {} with default compression: {}", archive, e.getMessage());
+        mongoTemplate.createCollection(archive);
+      }
+    }
+    mongoTemplate.indexOps(archive).ensureIndex(new Index()
+        .on(TIME_FIELD, Sort.Direction.ASC)
+        .named("detected"));
+  }
+
+  // Rows already copied by an interrupted run are rejected by the _id index and skipped
+  private void copy(String archive, List<Document> batch) {
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, archive).insert(batch).execute();
+    } catch (BulkOperationException e) {
+      for (BulkWriteError error : e.getErrors()) {
+        if (error.getCode() != BulkInserts.DUPLICATE_KEY) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  // Recomputed from the archive rather than incremented, so summarizing a day twice is harmless
+  private void summarize(Source source, String archive, Instant day) {
+    Aggregation aggregation = newAggregation(
+        match(Criteria.where(TIME_FIELD).gte(Date.from(day))
+            .lt(Date.from(day.plus(1, ChronoUnit.DAYS)))),
+        unwind("regionTokens"),
+        group("regionTokens", source.nameField()).count().as("count")
+            .addToSet(source.farmerField()).as("farmers")
+            .addToSet("detectedLocation").as("detectedLocations"));
+    List<Document> rows = mongoTemplate.aggregate(aggregation, archive, Document.class)
+        .getMappedResults();
+
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, DetectionDailySummary.class);
+    int pending = 0;
+    for (Document row : rows) {
+      Document key = row.get("_id", Document.class);
+      String region = key.getString("regionTokens");
+      String name = key.getString(source.nameField());
+      if (region == null || name == null) {
+        continue;
+      }
+      bulk.upsert(Query.query(Criteria.where("kind").is(source.kind()).and("region").is(region)
+              .and("name").is(name).and("day").is(day)),
+          new Update().set("count", ((Number) row.get("count")).longValue())
+              .set("farmerIds", farmerIds(row.getList("farmers", Object.class)))
+              .set("detectedLocations", row.getList("detectedLocations", String.class)));
+      pending++;
+    }
+    if (pending > 0) {
+      bulk.execute();
+    }
+  }
+
+  // The events are copies; deleting from a time-series collection by time needs MongoDB 7.0
+  private void removeExpiredEvents(DetectionKind kind, Instant cutoff) {
+    if (!detectionEventStore.writesEvents()) {
+      return;
+    }
+    try {
+      mongoTemplate.remove(Query.query(Criteria.where(DetectionEventStore.TIME_FIELD)
+          .lt(Date.from(cutoff))), DetectionEventStore.collectionName(kind));
+    } catch (RuntimeException e) {
+      logger.error("Error removing expired {} events: {}", kind, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<DailyDetectionCount> getHistory(DetectionKind kind, String location, LocalDate from,
+      LocalDate to) {
+    if (from == null || to == null || from.isAfter(to)) {
+      throw new HistoryRangeException("from must be on or before to");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_HISTORY_DAYS) {
+      throw new HistoryRangeException("History is limited to " + MAX_HISTORY_DAYS + " days");
+    }
+    String regionToken = RegionKeys.lookupToken(location);
+    if (regionToken == null) {
+      return List.of();
+    }
+    Source source = SOURCES.stream().filter(s -> s.kind() == kind).findFirst().orElseThrow();
+    Instant start = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+    Instant end = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+    Map<HistoryKey, DayTotals> totals = new TreeMap<>();
+    // Archived days, on the region_day index
+    for (DetectionDailySummary summary : mongoTemplate.find(
+        Query.query(Criteria.where("kind").is(kind).and("region").is(regionToken)
+            .and("day").gte(start).lt(end)),
+        DetectionDailySummary.class)) {
+      DayTotals day = totals.computeIfAbsent(new HistoryKey(
+          LocalDate.ofInstant(summary.getDay(), ZoneOffset.UTC), summary.getName()),
+          key -> new DayTotals());
+      day.count += summary.getCount();
+      if (summary.getFarmerIds() != null) {
+        day.farmerIds.addAll(summary.getFarmerIds());
+      } else {
+        // Summarized before farmer ids were kept, may overlap the hot rows of a partial day
+        day.uncountedFarmers += summary.getFarmers();
+      }
+    }
+
+    // Rows still in the hot collection, grouped per UTC day on the region_detected index
+    Aggregation aggregation = newAggregation(
+        match(Criteria.where("regionTokens").is(regionToken)
+            .and(TIME_FIELD).gte(Date.from(start)).lt(Date.from(end))),
+        project()
+            .and(DateOperators.DateToString.dateOf(TIME_FIELD).toString("%Y-%m-%d")).as("day")
+            .and(source.nameField()).as("name")
+            .and(source.farmerField()).as("farmer"),
+        group("day", "name").count().as("count").addToSet("farmer").as("farmers"));
+    for (Document row : mongoTemplate.aggregate(aggregation,
+        mongoTemplate.getCollectionName(source.type()), Document.class).getMappedResults()) {
+      Document key = row.get("_id", Document.class);
+      String name = key.getString("name");
+      if (name == null) {
+        continue;
+      }
+      DayTotals day = totals.computeIfAbsent(
+          new HistoryKey(LocalDate.parse(key.getString("day")), name), k -> new DayTotals());
+      day.count += ((Number) row.get("count")).longValue();
+      // A set, so a farmer with both archived and hot rows that day counts once
+      day.farmerIds.addAll(farmerIds(row.getList("farmers", Object.class)));
+    }
+
+    List<DailyDetectionCount> history = new ArrayList<>(totals.size());
+    totals.forEach((key, day) -> history.add(new DailyDetectionCount(key.day(), key.name(),
+        day.count, day.farmerIds.size() + day.uncountedFarmers)));
+    return history;
+  }
+
+  // Pest rows hold the farmer as a DBRef, disease rows as its embedded id
+  private static List<String> farmerIds(List<Object> farmers) {
+    List<String> ids = new ArrayList<>(farmers.size());
+    for (Object farmer : farmers) {
+      Object id = farmer instanceof DBRef ref ? ref.getId() : farmer;
+      if (id != null) {
+        ids.add(id.toString());
+      }
+    }
+    return ids;
+  }
+
+  private static Instant dayOf(Document detection) {
+    return detection.getDate(TIME_FIELD).toInstant().truncatedTo(ChronoUnit.DAYS);
+  }
+
+  private TreeSet<Instant> loadPending(String stateId) {
+    TreeSet<Instant> pending = new TreeSet<>();
+    Document state = mongoTemplate.findById(stateId, Document.class, STATE);
+    if (state != null) {
+      state.getList("days", Date.class).forEach(day -> pending.add(day.toInstant()));
+    }
+    return pending;
+  }
+
+  private void savePending(String stateId, TreeSet<Instant> pending) {
+    mongoTemplate.upsert(Query.query(Criteria.where("_id").is(stateId)),
+        new Update().set("days", pending.stream().map(Date::from).toList())
+            .set("updatedAt", Instant.now()),
+        STATE);
+  }
+
+  // Fails with a duplicate key when the lease exists and has not expired
+  private boolean acquireLease() {
+    Instant now = Instant.now();
+    try {
+      mongoTemplate.upsert(Query.query(Criteria.where("_id").is(LEASE_ID).orOperator(
+              Criteria.where("lockedUntil").lt(now),
+              Criteria.where("lockedUntil").exists(false))),
+          new Update().set("owner", owner).set("lockedUntil", now.plus(LEASE)), STATE);
+      return true;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+
+  private void renewLease() {
+    mongoTemplate.updateFirst(
+        Query.query(Criteria.where("_id").is(LEASE_ID).and("owner").is(owner)),
+        new Update().set("lockedUntil", Instant.now().plus(LEASE)), STATE);
+  }
+
+  private void releaseLease() {
+    mongoTemplate.updateFirst(
+        Query.query(Criteria.where("_id").is(LEASE_ID).and("owner").is(owner)),
+        new Update().unset("lockedUntil"), STATE);
+  }
+
+  private record Source(DetectionKind kind, Class<?> type, String nameField,
+      String farmerField, Class<?> referencedBy, String referenceField, Scope alertScope) {
+
+  }
+
+  private static final class DayTotals {
+
+    private long count;
+    private final Set<String> farmerIds = new HashSet<>();
+    private long uncountedFarmers;
+  }
+
+  private record HistoryKey(LocalDate day, String name) implements Comparable<HistoryKey> {
+
+    @Override
+    public int compareTo(HistoryKey other) {
+      int byDay = day.compareTo(other.day);
+      return byDay != 0 ? byDay : name.compareTo(other.name);
+    }
+  }
+}
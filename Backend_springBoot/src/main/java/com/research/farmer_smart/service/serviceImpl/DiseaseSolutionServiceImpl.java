@@ -2,14 +2,18 @@ package com.research.farmer_smart.service.serviceImpl;
 
 import com.research.farmer_smart.controller.request.DiseaseSolutionRequest;
 import com.research.farmer_smart.exception.DiseasesDetectionException;
+import com.research.farmer_smart.exception.DiseasesDetectionNotFoundException;
+import com.research.farmer_smart.exception.DiseasesDetectionStorageException;
 import com.research.farmer_smart.exception.ExpertNotFoundException;
 import com.research.farmer_smart.model.DiseaseSolution;
 import com.research.farmer_smart.model.DiseasesDetection;
 import com.research.farmer_smart.model.Expert;
 import com.research.farmer_smart.repository.DiseaseSolutionRepository;
 import com.research.farmer_smart.repository.DiseasesDetectionRepository;
-import com.research.farmer_smart.repository.ExpertRepository;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
 import com.research.farmer_smart.service.DiseaseSolutionService;
+import com.research.farmer_smart.service.ProfileLookupService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
@@ -25,7 +29,8 @@ public class DiseaseSolutionServiceImpl implements DiseaseSolutionService {
   private static final Logger logger = LoggerFactory.getLogger(DiseaseSolutionServiceImpl.class);
 
   private final DiseaseSolutionRepository diseaseSolutionRepository;
-  private final ExpertRepository expertRepository;
+  private final ProfileLookupService profileLookupService;
+  private final ContentVersionService contentVersionService;
   private final DiseasesDetectionRepository diseasesDetectionRepository;
 
   private static final Set<String> VALID_DISEASE_NAMES = Set.of(
@@ -45,7 +50,7 @@ public class DiseaseSolutionServiceImpl implements DiseaseSolutionService {
               VALID_DISEASE_NAMES));
     }
 
-    Expert expert = expertRepository.findById(request.getExpertId())
+    Expert expert = profileLookupService.findExpert(request.getExpertId())
         .orElseThrow(() -> {
           logger.error("Expert not found with ID: {}", request.getExpertId());
           return new ExpertNotFoundException("Expert not found with ID: " + request.getExpertId());
@@ -56,7 +61,7 @@ public class DiseaseSolutionServiceImpl implements DiseaseSolutionService {
             request.getDiseaseDetectionId())
         .orElseThrow(() -> {
           logger.error("Disease detection not found with ID: {}", request.getDiseaseDetectionId());
-          return new DiseasesDetectionException(
+          return new DiseasesDetectionNotFoundException(
               "Disease detection not found with ID: " + request.getDiseaseDetectionId());
         });
     logger.info("Found disease detection: {}", diseasesDetection.getId());
@@ -70,11 +75,13 @@ public class DiseaseSolutionServiceImpl implements DiseaseSolutionService {
       solution.setInsertDateTime(LocalDateTime.now());
 
       DiseaseSolution savedSolution = diseaseSolutionRepository.save(solution);
+      contentVersionService.bump(Scope.DISEASE_SOLUTIONS, List.of(diseaseName));
       logger.info("Successfully saved disease solution with ID: {}", savedSolution.getId());
       return savedSolution;
     } catch (Exception e) {
       logger.error("Error saving disease solution: {}", e.getMessage());
-      throw new DiseasesDetectionException("Failed to save disease solution: " + e.getMessage());
+      throw new DiseasesDetectionStorageException(
+          "Failed to save disease solution: " + e.getMessage());
     }
   }
 
@@ -88,16 +95,18 @@ public class DiseaseSolutionServiceImpl implements DiseaseSolutionService {
 
   @Override
   public List<DiseaseSolution> getExpertSolutions(String expertId) {
-    Expert expert = expertRepository.findById(expertId)
+    Expert expert = profileLookupService.findExpert(expertId)
         .orElseThrow(() -> new ExpertNotFoundException("Expert not found"));
     return diseaseSolutionRepository.findByExpert(expert);
   }
 
   @Override
   public List<DiseaseSolution> getSolutionsForDiseaseDetection(String diseaseDetectionId) {
-    DiseasesDetection diseasesDetection = diseasesDetectionRepository.findById(diseaseDetectionId)
-        .orElseThrow(() -> new DiseasesDetectionException("Disease detection not found"));
-    return diseaseSolutionRepository.findByDiseasesDetection(diseasesDetection);
+    List<DiseaseSolution> solutions = diseaseSolutionRepository.findByDiseasesDetectionId(diseaseDetectionId);
+    if (solutions.isEmpty() && !diseasesDetectionRepository.existsById(diseaseDetectionId)) {
+      throw new DiseasesDetectionNotFoundException("Disease detection not found");
+    }
+    return solutions;
   }
 
   @Override
@@ -1,18 +1,57 @@
 package com.research.farmer_smart.service.serviceImpl;
 
 import com.research.farmer_smart.controller.request.DiseasesDetectionRequest;
+import com.research.farmer_smart.controller.response.AlertDelta;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.BatchResult.ItemResult;
+import com.research.farmer_smart.controller.response.CursorPage;
 import com.research.farmer_smart.exception.DiseasesDetectionException;
+import com.research.farmer_smart.exception.DiseasesDetectionNotFoundException;
+import com.research.farmer_smart.exception.DiseasesDetectionStorageException;
 import com.research.farmer_smart.exception.FarmerNotFoundException;
+import com.research.farmer_smart.model.DetectionKind;
 import com.research.farmer_smart.model.DiseasesDetection;
 import com.research.farmer_smart.model.Farmer;
-import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.model.FarmerRef;
+import com.research.farmer_smart.repository.DetectionEventStore;
 import com.research.farmer_smart.repository.DiseasesDetectionRepository;
-import com.research.farmer_smart.repository.FarmerRepository;
+import com.research.farmer_smart.service.AlertCounterService;
+import com.research.farmer_smart.service.AlertCounterService.Detection;
+import com.research.farmer_smart.service.AlertStreamService;
+import com.research.farmer_smart.service.AlertSummaryService;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
 import com.research.farmer_smart.service.DiseasesDetectionService;
+import com.research.farmer_smart.service.ProfileLookupService;
+import com.research.farmer_smart.util.BulkInserts;
+import com.research.farmer_smart.util.DetectionChecks;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.Sphere;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 
@@ -20,33 +59,158 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 public class DiseasesDetectionServiceImpl implements DiseasesDetectionService {
 
-  private final FarmerRepository farmerRepository;
+  private static final Logger logger = LoggerFactory.getLogger(DiseasesDetectionServiceImpl.class);
+  private static final double MAX_RADIUS_KM = 100;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int MAX_BATCH_SIZE = 1000;
+
+  private final ProfileLookupService profileLookupService;
   private final DiseasesDetectionRepository diseasesDetectionRepository;
+  private final AlertCounterService alertCounterService;
+  private final MongoTemplate mongoTemplate;
+  private final AlertStreamService alertStreamService;
+  private final ContentVersionService contentVersionService;
+  private final AlertSummaryService alertSummaryService;
+  private final DetectionEventStore detectionEventStore;
 
   @Override
   public DiseasesDetection recordDiseasesDetection(DiseasesDetectionRequest request) {
+    String invalid = validate(request);
+    if (invalid != null) {
+      throw new DiseasesDetectionException(invalid);
+    }
+    Farmer farmer = profileLookupService.findFarmer(request.getFarmerId())
+        .orElseThrow(() -> new FarmerNotFoundException(
+            "Farmer not found with ID: " + request.getFarmerId()));
     try {
-      Farmer farmer = farmerRepository.findById(request.getFarmerId())
-          .orElseThrow(() -> new FarmerNotFoundException(
-              "Farmer not found with ID: " + request.getFarmerId()));
-
       DiseasesDetection diseasesDetection = new DiseasesDetection();
-      diseasesDetection.setFarmer(farmer);
+      diseasesDetection.setFarmer(FarmerRef.of(farmer));
       diseasesDetection.setDiseaseName(request.getDiseaseName());
       diseasesDetection.setDetectedLocation(request.getDetectedLocation());
+      RegionKey region = RegionKeys.of(request.getDetectedLocation());
+      diseasesDetection.setRegionKey(region.key());
+      diseasesDetection.setRegionTokens(region.tokens());
+      diseasesDetection.setLatitude(request.getLatitude());
+      diseasesDetection.setLongitude(request.getLongitude());
+      if (request.getLatitude() != null && request.getLongitude() != null) {
+        // GeoJSON points are (longitude, latitude)
+        diseasesDetection.setLocation(
+            new GeoJsonPoint(request.getLongitude(), request.getLatitude()));
+      }
       diseasesDetection.setDetectionDateTime(request.getDetectionDateTime());
 
-      return diseasesDetectionRepository.save(diseasesDetection);
+      DiseasesDetection saved = diseasesDetectionRepository.save(diseasesDetection);
+      countDetection(saved);
+      recordEvents(List.of(saved));
+      publishDetection(saved);
+      return saved;
     } catch (Exception e) {
-      throw new DiseasesDetectionException("Error recording diseases detection: " + e.getMessage());
+      throw new DiseasesDetectionStorageException(
+          "Error recording diseases detection: " + e.getMessage());
     }
   }
 
+  @Override
+  public BatchResult recordDiseasesDetections(List<DiseasesDetectionRequest> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+      throw new DiseasesDetectionException(
+          "Batch must contain between 1 and " + MAX_BATCH_SIZE + " records");
+    }
+    logger.info("Recording batch of {} disease detections", requests.size());
+
+    Set<String> farmerIds = requests.stream()
+        .filter(Objects::nonNull)
+        .map(DiseasesDetectionRequest::getFarmerId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    Map<String, Farmer> farmers = profileLookupService.findFarmers(farmerIds);
+
+    ItemResult[] results = new ItemResult[requests.size()];
+    List<DiseasesDetection> detections = new ArrayList<>();
+    List<Integer> positions = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      DiseasesDetectionRequest request = requests.get(i);
+      String invalid = validate(request);
+      Farmer farmer = invalid == null ? farmers.get(request.getFarmerId()) : null;
+      if (invalid != null) {
+        results[i] = ItemResult.rejected(i, invalid);
+      } else if (farmer == null) {
+        results[i] = ItemResult.rejected(i, "Farmer not found with ID: " + request.getFarmerId());
+      } else {
+        DiseasesDetection detection = new DiseasesDetection();
+        detection.setId(new ObjectId().toHexString());
+        detection.setFarmer(FarmerRef.of(farmer));
+        detection.setDiseaseName(request.getDiseaseName());
+        detection.setDetectedLocation(request.getDetectedLocation());
+        RegionKey region = RegionKeys.of(request.getDetectedLocation());
+        detection.setRegionKey(region.key());
+        detection.setRegionTokens(region.tokens());
+        detection.setLatitude(request.getLatitude());
+        detection.setLongitude(request.getLongitude());
+        if (request.getLatitude() != null) {
+          detection.setLocation(new GeoJsonPoint(request.getLongitude(), request.getLatitude()));
+        }
+        detection.setDetectionDateTime(request.getDetectionDateTime());
+        detections.add(detection);
+        positions.add(i);
+      }
+    }
+
+    Map<Integer, String> failures =
+        BulkInserts.insertUnordered(mongoTemplate, DiseasesDetection.class, detections);
+    List<DiseasesDetection> inserted = new ArrayList<>();
+    List<Detection> counted = new ArrayList<>();
+    for (int j = 0; j < detections.size(); j++) {
+      int index = positions.get(j);
+      DiseasesDetection detection = detections.get(j);
+      if (failures.containsKey(j)) {
+        results[index] = ItemResult.rejected(index, failures.get(j));
+      } else {
+        results[index] = ItemResult.accepted(index, detection.getId());
+        inserted.add(detection);
+        counted.add(new Detection(detection.getRegionTokens(), detection.getDiseaseName(),
+            detection.getDetectionDateTime()));
+      }
+    }
+
+    try {
+      alertCounterService.recordDetections(DetectionKind.DISEASE, counted);
+    } catch (Exception e) {
+      logger.error("Error updating alert counters: {}", e.getMessage());
+    }
+    recordEvents(inserted);
+    // One invalidation and version bump for every region the batch touched, then the deltas
+    if (!inserted.isEmpty()) {
+      refreshAlerts(inserted.stream()
+          .map(DiseasesDetection::getRegionTokens)
+          .filter(Objects::nonNull)
+          .flatMap(List::stream)
+          .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+    inserted.forEach(this::streamDetection);
+    return BatchResult.of(Arrays.asList(results));
+  }
+
+  // The same checks for single records and every row of a batch
+  private String validate(DiseasesDetectionRequest request) {
+    if (request == null) {
+      return "Disease detection details are required";
+    }
+    if (request.getFarmerId() == null) {
+      return "Farmer ID is required";
+    }
+    return DetectionChecks.problem("Disease name", request.getDiseaseName(),
+        request.getDetectedLocation(), request.getDetectionDateTime(), request.getLatitude(),
+        request.getLongitude());
+  }
+
   @Override
   public List<DiseasesDetection> getFarmerDiseasesDetection(String farmerId) {
-    Farmer farmer = farmerRepository.findById(farmerId)
-        .orElseThrow(() -> new FarmerNotFoundException("Farmer not found"));
-    return diseasesDetectionRepository.findByFarmer(farmer);
+    List<DiseasesDetection> detections = diseasesDetectionRepository.findByFarmerId(farmerId);
+    if (detections.isEmpty() && profileLookupService.findFarmer(farmerId).isEmpty()) {
+      throw new FarmerNotFoundException("Farmer not found");
+    }
+    return detections;
   }
 
   @Override
@@ -57,18 +221,92 @@ public class DiseasesDetectionServiceImpl implements DiseasesDetectionService {
   @Override
   public DiseasesDetection getPestInfestationById(String id) {
     return diseasesDetectionRepository.findById(id)
-        .orElseThrow(() -> new DiseasesDetectionException(" disease detection record not found"));
+        .orElseThrow(() -> new DiseasesDetectionNotFoundException(
+            "Disease detection record not found"));
   }
 
   @Override
   public List<DiseasesDetection> searchByLocation(String location) {
+    String regionToken = RegionKeys.lookupToken(location);
+    if (regionToken == null) {
+      return List.of();
+    }
     LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
-    return diseasesDetectionRepository.findByDetectedLocationContainingIgnoreCaseAndDetectionDateTimeAfter(
-            location,
-            oneWeekAgo
+    return diseasesDetectionRepository.findInRegionSince(regionToken, oneWeekAgo);
+  }
+
+  @Override
+  public GeoResults<DiseasesDetection> searchNearby(double latitude, double longitude,
+      double radiusKm) {
+    validateRadius(radiusKm);
+    LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
+    return diseasesDetectionRepository.findByLocationNearAndDetectionDateTimeAfter(
+        new GeoJsonPoint(longitude, latitude),
+        new Distance(radiusKm, Metrics.KILOMETERS),
+        oneWeekAgo
     );
   }
 
+  @Override
+  public List<DiseasesDetection> findWithinRadius(double latitude, double longitude,
+      double radiusKm) {
+    validateRadius(radiusKm);
+    LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
+    return diseasesDetectionRepository.findByLocationWithinAndDetectionDateTimeAfter(
+        new Sphere(new GeoJsonPoint(longitude, latitude),
+            new Distance(radiusKm, Metrics.KILOMETERS)),
+        oneWeekAgo);
+  }
+
+  private void publishDetection(DiseasesDetection detection) {
+    refreshAlerts(detection.getRegionTokens());
+    streamDetection(detection);
+  }
+
+  private void refreshAlerts(Collection<String> regionTokens) {
+    alertSummaryService.invalidate(DetectionKind.DISEASE, regionTokens);
+    contentVersionService.bump(Scope.DISEASE_ALERTS, regionTokens);
+  }
+
+  private void streamDetection(DiseasesDetection detection) {
+    alertStreamService.publish(detection.getRegionTokens(), AlertDelta.builder()
+        .kind(DetectionKind.DISEASE)
+        .id(detection.getId())
+        .name(detection.getDiseaseName())
+        .detectedLocation(detection.getDetectedLocation())
+        .latitude(detection.getLatitude())
+        .longitude(detection.getLongitude())
+        .detectionDateTime(detection.getDetectionDateTime())
+        .farmerId(detection.getFarmer() != null ? detection.getFarmer().getId() : null)
+        .build());
+  }
+
+  private void countDetection(DiseasesDetection detection) {
+    try {
+      alertCounterService.recordDetection(DetectionKind.DISEASE, detection.getRegionTokens(),
+          detection.getDiseaseName(), detection.getDetectionDateTime());
+    } catch (Exception e) {
+      // The rebuild job can recover a missed increment, so never fail the insert for it
+      logger.error("Error updating alert counters: {}", e.getMessage());
+    }
+  }
+
+  private void recordEvents(List<DiseasesDetection> detections) {
+    try {
+      detectionEventStore.append(DetectionKind.DISEASE, detections);
+    } catch (Exception e) {
+      // The regular collection has them; log the ids so the events can be backfilled
+      logger.error("Error writing disease detection events for {}: {}",
+          detections.stream().map(DiseasesDetection::getId).toList(), e.getMessage());
+    }
+  }
+
+  private void validateRadius(double radiusKm) {
+    if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+      throw new DiseasesDetectionException(
+          "Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+    }
+  }
 
   @Override
   public List<DiseasesDetection> getAllDisease() {
@@ -76,5 +314,33 @@ public class DiseasesDetectionServiceImpl implements DiseasesDetectionService {
     return diseasesDetectionRepository.findAll();
   }
 
+  @Override
+  public CursorPage<DiseasesDetection> getDiseasePage(String after, int size) {
+    if (size <= 0 || size > MAX_PAGE_SIZE) {
+      throw new DiseasesDetectionException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (after != null && !ObjectId.isValid(after)) {
+      throw new DiseasesDetectionException("Invalid cursor: " + after);
+    }
+    // Keyset on _id: each page is an index range scan, no matter how deep the client pages
+    Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id")).limit(size + 1);
+    if (after != null) {
+      query.addCriteria(Criteria.where("id").gt(new ObjectId(after)));
+    }
+    List<DiseasesDetection> items = mongoTemplate.find(query, DiseasesDetection.class);
+
+    String nextCursor = null;
+    if (items.size() > size) {
+      items = items.subList(0, size);
+      nextCursor = items.get(size - 1).getId();
+    }
+    return new CursorPage<>(items, nextCursor);
+  }
 
+  @Override
+  public Stream<DiseasesDetection> streamAllDisease() {
+    // Backed by a server cursor; the caller must close the stream
+    return mongoTemplate.stream(new Query().with(Sort.by(Sort.Direction.ASC, "id")),
+        DiseasesDetection.class);
+  }
 }
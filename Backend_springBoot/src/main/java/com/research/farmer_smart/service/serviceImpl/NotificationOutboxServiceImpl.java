@@ -0,0 +1,215 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import com.research.farmer_smart.model.DetectionKind;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.OutboxMessage;
+import com.research.farmer_smart.model.OutboxStatus;
+import com.research.farmer_smart.notification.AlertMessage;
+import com.research.farmer_smart.notification.NotificationChannel;
+import com.research.farmer_smart.repository.FarmerRepository;
+import com.research.farmer_smart.service.NotificationOutboxService;
+import com.research.farmer_smart.util.RegionKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+
+  private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxServiceImpl.class);
+  private static final Duration LOCK_DURATION = Duration.ofMinutes(5);
+  private static final Duration RETRY_BACKOFF = Duration.ofSeconds(30);
+
+  private final MongoTemplate mongoTemplate;
+  private final FarmerRepository farmerRepository;
+  private final List<NotificationChannel> channels;
+  private final ThreadPoolExecutor workers;
+  private final int maxAttempts;
+
+  public NotificationOutboxServiceImpl(MongoTemplate mongoTemplate,
+      FarmerRepository farmerRepository, List<NotificationChannel> channels,
+      MeterRegistry meterRegistry,
+      @Value("${farmer-smart.notifications.workers:2}") int workerCount,
+      @Value("${farmer-smart.notifications.queue-capacity:100}") int queueCapacity,
+      @Value("${farmer-smart.notifications.max-attempts:5}") int maxAttempts) {
+    this.mongoTemplate = mongoTemplate;
+    this.farmerRepository = farmerRepository;
+    this.channels = channels;
+    this.maxAttempts = maxAttempts;
+    // Bounded queue and AbortPolicy: when the pool is saturated, messages stay in the outbox
+    this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("notification-"),
+        new ThreadPoolExecutor.AbortPolicy());
+    new ExecutorServiceMetrics(workers, "notification-outbox", Tags.of("flow", "alerts"))
+        .bindTo(meterRegistry);
+  }
+
+  @Override
+  public void enqueue(DetectionKind kind, String location, String name, int detectionCount) {
+    String regionToken = RegionKeys.lookupToken(location);
+    if (regionToken == null) {
+      logger.warn("Could not derive a region from location: {}", location);
+      return;
+    }
+    Instant now = Instant.now();
+    OutboxMessage message = new OutboxMessage();
+    message.setKind(kind);
+    message.setLocation(location);
+    message.setRegionToken(regionToken);
+    message.setName(name);
+    message.setDetectionCount(detectionCount);
+    message.setStatus(OutboxStatus.PENDING);
+    message.setCreatedAt(now);
+    message.setNextAttemptAt(now);
+    mongoTemplate.insert(message);
+  }
+
+  @Override
+  public int dispatchPending() {
+    int capacity = workers.getQueue().remainingCapacity();
+    Instant now = Instant.now();
+    List<OutboxMessage> claimed = new ArrayList<>();
+    while (claimed.size() < capacity) {
+      OutboxMessage message = mongoTemplate.findAndModify(dueQuery(now),
+          new Update().set("status", OutboxStatus.PROCESSING)
+              .set("lockedUntil", now.plus(LOCK_DURATION)),
+          FindAndModifyOptions.options().returnNew(true), OutboxMessage.class);
+      if (message == null) {
+        break;
+      }
+      claimed.add(message);
+    }
+
+    Map<String, List<OutboxMessage>> byRegion = claimed.stream().collect(
+        Collectors.groupingBy(OutboxMessage::getRegionToken, LinkedHashMap::new,
+            Collectors.toList()));
+    byRegion.forEach((regionToken, messages) -> {
+      try {
+        workers.execute(() -> deliver(regionToken, messages));
+      } catch (RejectedExecutionException e) {
+        messages.forEach(this::release);
+      }
+    });
+    return claimed.size();
+  }
+
+  private Query dueQuery(Instant now) {
+    return Query.query(new Criteria().orOperator(
+            Criteria.where("status").is(OutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+            Criteria.where("status").is(OutboxStatus.PROCESSING).and("lockedUntil").lt(now)))
+        .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+  }
+
+  private void deliver(String regionToken, List<OutboxMessage> messages) {
+    List<Farmer> recipients;
+    try {
+      // One recipient lookup per area, shared by every alert queued for it
+      recipients = farmerRepository.findByRegionTokens(regionToken);
+    } catch (Exception e) {
+      logger.error("Error loading farmers in area {}: {}", regionToken, e.getMessage());
+      messages.forEach(message -> markFailed(message, e));
+      return;
+    }
+
+    for (OutboxMessage message : messages) {
+      try {
+        if (recipients.isEmpty()) {
+          logger.warn("No farmers found in area: {}", message.getLocation());
+          markDone(message, OutboxStatus.SENT, 0);
+        } else if (channels.isEmpty()) {
+          // Kept apart from SENT so enabling a channel later shows which alerts never went out
+          logger.info("No notification channel configured, {} farmers in area {} not notified of {}",
+              recipients.size(), message.getLocation(), message.getName());
+          markDone(message, OutboxStatus.SKIPPED, recipients.size());
+        } else {
+          AlertMessage alert = toAlert(message, recipients);
+          for (NotificationChannel channel : channels) {
+            if (message.getDeliveredChannels().contains(channel.name())) {
+              continue;
+            }
+            channel.send(alert);
+            markDelivered(message, channel.name());
+          }
+          logger.info("Notified {} farmers in area {} of {}", recipients.size(),
+              message.getLocation(), message.getName());
+          markDone(message, OutboxStatus.SENT, recipients.size());
+        }
+      } catch (Exception e) {
+        logger.error("Error delivering alert {}: {}", message.getId(), e.getMessage());
+        markFailed(message, e);
+      }
+    }
+  }
+
+  private AlertMessage toAlert(OutboxMessage message, List<Farmer> recipients) {
+    String subject = (message.getKind() == DetectionKind.PEST ? "Pest" : "Disease")
+        + " alert: " + message.getName() + " near " + message.getLocation();
+    String body = message.getDetectionCount() + " cases of " + message.getName()
+        + " have been reported around " + message.getLocation() + " in the last 7 days."
+        + " Please inspect your crop and contact an expert if you see signs of it.";
+    return new AlertMessage(subject, body, recipients);
+  }
+
+  private void markDelivered(OutboxMessage message, String channel) {
+    mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(message.getId())),
+        new Update().addToSet("deliveredChannels", channel), OutboxMessage.class);
+  }
+
+  private void markDone(OutboxMessage message, OutboxStatus status, int recipients) {
+    mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(message.getId())),
+        new Update().set("status", status)
+            .set("sentAt", Instant.now())
+            .set("recipients", recipients)
+            .unset("lockedUntil"),
+        OutboxMessage.class);
+  }
+
+  private void markFailed(OutboxMessage message, Exception error) {
+    int attempts = message.getAttempts() + 1;
+    boolean exhausted = attempts >= maxAttempts;
+    // Exponential backoff: 30s, 1m, 2m, ...
+    Instant nextAttempt = Instant.now().plus(RETRY_BACKOFF.multipliedBy(1L << (attempts - 1)));
+    mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(message.getId())),
+        new Update().set("status", exhausted ? OutboxStatus.FAILED : OutboxStatus.PENDING)
+            .set("attempts", attempts)
+            .set("nextAttemptAt", nextAttempt)
+            .set("lastError", error.getMessage())
+            .unset("lockedUntil"),
+        OutboxMessage.class);
+  }
+
+  private void release(OutboxMessage message) {
+    mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(message.getId())),
+        new Update().set("status", OutboxStatus.PENDING).unset("lockedUntil"),
+        OutboxMessage.class);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    // Anything still queued is PROCESSING in Mongo and is claimed again once its lock expires
+    workers.shutdown();
+  }
+}
@@ -1,8 +1,11 @@
 package com.research.farmer_smart.service.serviceImpl;
 
+import com.research.farmer_smart.model.DetectionKind;
 import com.research.farmer_smart.model.Farmer;
 import com.research.farmer_smart.repository.FarmerRepository;
+import com.research.farmer_smart.service.NotificationOutboxService;
 import com.research.farmer_smart.service.NotificationService;
+import com.research.farmer_smart.util.RegionKeys;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,21 +17,23 @@ import java.util.List;
 public class NotificationServiceImpl implements NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
     private final FarmerRepository farmerRepository;
+    private final NotificationOutboxService notificationOutboxService;
 
     @Override
     public void notifyFarmersInArea(String location, String pestName, int infestationCount) {
-        List<Farmer> farmersInArea = getFarmersInArea(location);
-        if (farmersInArea.isEmpty()) {
-            logger.warn("No farmers found in area: {}", location);
-            return;
-        }
-        logger.info("Found {} farmers in area {} with pest {}", farmersInArea.size(), location, pestName);
+        // Recipients are resolved and notified by the outbox workers, off the request thread
+        notificationOutboxService.enqueue(DetectionKind.PEST, location, pestName, infestationCount);
+        logger.info("Queued {} alert for area {}", pestName, location);
     }
 
     @Override
     public List<Farmer> getFarmersInArea(String location) {
-        // Use the new query method
-        List<Farmer> farmers = farmerRepository.findFarmersByArea(location);
+        String regionToken = RegionKeys.lookupToken(location);
+        if (regionToken == null) {
+            logger.warn("Could not derive a region from location: {}", location);
+            return List.of();
+        }
+        List<Farmer> farmers = farmerRepository.findByRegionTokens(regionToken);
         logger.info("Found {} farmers in area {}", farmers.size(), location);
         return farmers;
     }
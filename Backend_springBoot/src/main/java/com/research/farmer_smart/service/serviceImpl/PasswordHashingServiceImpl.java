@@ -0,0 +1,97 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import com.research.farmer_smart.exception.HashingCapacityException;
+import com.research.farmer_smart.service.PasswordHashingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+  private final BCryptPasswordEncoder encoder;
+  private final ThreadPoolExecutor pool;
+  private final long maxWaitMs;
+
+  public PasswordHashingServiceImpl(MeterRegistry meterRegistry,
+      @Value("${farmer-smart.auth.bcrypt-strength:10}") int strength,
+      @Value("${farmer-smart.auth.hashing.threads:0}") int threads,
+      @Value("${farmer-smart.auth.hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${farmer-smart.auth.hashing.max-wait:2s}") Duration maxWait) {
+    this.encoder = new BCryptPasswordEncoder(strength);
+    this.maxWaitMs = maxWait.toMillis();
+    // BCrypt is pure CPU: more threads than cores only adds contention
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    // Bounded queue and AbortPolicy: beyond it the caller gets a 503 straight away
+    this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+        new ThreadPoolExecutor.AbortPolicy());
+    new ExecutorServiceMetrics(pool, "password-hashing", Tags.of("flow", "auth"))
+        .bindTo(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> encoder.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> encoder.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return encoder.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T run(Callable<T> work) {
+    Future<T> future;
+    try {
+      future = pool.submit(work);
+    } catch (RejectedExecutionException e) {
+      throw new HashingCapacityException("Too many sign-in requests, please retry shortly");
+    }
+    try {
+      return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // Still queued: give the slot back rather than hash for a client that has been answered
+      cancel(future);
+      throw new HashingCapacityException("Too many sign-in requests, please retry shortly");
+    } catch (InterruptedException e) {
+      cancel(future);
+      Thread.currentThread().interrupt();
+      throw new HashingCapacityException("Interrupted while waiting for password hashing");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private void cancel(Future<?> future) {
+    if (future.cancel(false)) {
+      pool.remove((Runnable) future);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdown();
+  }
+}
@@ -1,6 +1,7 @@
 package com.research.farmer_smart.service.serviceImpl;
 
 import com.research.farmer_smart.controller.request.PestSolutionRequest;
+import com.research.farmer_smart.controller.response.PestSolutionSummary;
 import com.research.farmer_smart.exception.ExpertNotFoundException;
 import com.research.farmer_smart.exception.PestInfestationException;
 import com.research.farmer_smart.model.Expert;
@@ -9,7 +10,10 @@ import com.research.farmer_smart.model.PestSolution;
 import com.research.farmer_smart.repository.ExpertRepository;
 import com.research.farmer_smart.repository.PestInfestationRepository;
 import com.research.farmer_smart.repository.PestSolutionRepository;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
 import com.research.farmer_smart.service.PestSolutionService;
+import com.research.farmer_smart.service.ProfileLookupService;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +30,8 @@ public class PestSolutionServiceImpl implements PestSolutionService {
     
     private final PestSolutionRepository pestSolutionRepository;
     private final ExpertRepository expertRepository;
+    private final ProfileLookupService profileLookupService;
+    private final ContentVersionService contentVersionService;
     private final PestInfestationRepository pestInfestationRepository;
 
     private static final Set<String> VALID_PEST_NAMES = Set.of(
@@ -49,7 +55,7 @@ public class PestSolutionServiceImpl implements PestSolutionService {
         }
 
         // Find expert
-        Expert expert = expertRepository.findById(request.getExpertId())
+        Expert expert = profileLookupService.findExpert(request.getExpertId())
                 .orElseThrow(() -> {
                     logger.error("Expert not found with ID: {}", request.getExpertId());
                     return new ExpertNotFoundException("Expert not found with ID: " + request.getExpertId());
@@ -73,6 +79,7 @@ public class PestSolutionServiceImpl implements PestSolutionService {
             solution.setInsertDateTime(LocalDateTime.now());
 
             PestSolution savedSolution = pestSolutionRepository.save(solution);
+            contentVersionService.bump(Scope.PEST_SOLUTIONS, List.of(pestName));
             logger.info("Successfully saved pest solution with ID: {}", savedSolution.getId());
             return savedSolution;
         } catch (Exception e) {
@@ -86,21 +93,44 @@ public class PestSolutionServiceImpl implements PestSolutionService {
         if (!isValidPestName(pestName)) {
             throw new PestInfestationException("Invalid pest name: " + pestName);
         }
-        return pestSolutionRepository.findByPestNameIgnoreCase(pestName);
+        // Solutions are stored with lower-cased pest names, see addSolution
+        return pestSolutionRepository.findResolvedByPestName(pestName.toLowerCase());
     }
 
     @Override
     public List<PestSolution> getExpertSolutions(String expertId) {
-        Expert expert = expertRepository.findById(expertId)
-                .orElseThrow(() -> new PestInfestationException("Expert not found"));
-        return pestSolutionRepository.findByExpert(expert);
+        List<PestSolution> solutions = pestSolutionRepository.findResolvedByExpertId(expertId);
+        // Only pay for the existence check when there is nothing to return
+        if (solutions.isEmpty() && !expertRepository.existsById(expertId)) {
+            throw new PestInfestationException("Expert not found");
+        }
+        return solutions;
     }
 
     @Override
     public List<PestSolution> getSolutionsForPestInfestation(String pestInfestationId) {
-        PestInfestation pestInfestation = pestInfestationRepository.findById(pestInfestationId)
-                .orElseThrow(() -> new PestInfestationException("Pest infestation not found"));
-        return pestSolutionRepository.findByPestInfestation(pestInfestation);
+        List<PestSolution> solutions = pestSolutionRepository.findResolvedByPestInfestationId(pestInfestationId);
+        if (solutions.isEmpty() && !pestInfestationRepository.existsById(pestInfestationId)) {
+            throw new PestInfestationException("Pest infestation not found");
+        }
+        return solutions;
+    }
+
+    @Override
+    public List<PestSolutionSummary> getSolutionSummariesByPestName(String pestName) {
+        if (!isValidPestName(pestName)) {
+            throw new PestInfestationException("Invalid pest name: " + pestName);
+        }
+        return pestSolutionRepository.findSummariesByPestName(pestName.toLowerCase());
+    }
+
+    @Override
+    public List<PestSolutionSummary> getExpertSolutionSummaries(String expertId) {
+        List<PestSolutionSummary> summaries = pestSolutionRepository.findSummariesByExpertId(expertId);
+        if (summaries.isEmpty() && !expertRepository.existsById(expertId)) {
+            throw new PestInfestationException("Expert not found");
+        }
+        return summaries;
     }
 
     @Override
@@ -0,0 +1,73 @@
+package com.research.farmer_smart.service.serviceImpl;
+
+import com.research.farmer_smart.model.Expert;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.repository.ExpertRepository;
+import com.research.farmer_smart.repository.FarmerRepository;
+import com.research.farmer_smart.service.ProfileLookupService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class ProfileLookupServiceImpl implements ProfileLookupService {
+
+  private final FarmerRepository farmerRepository;
+  private final ExpertRepository expertRepository;
+  private final CacheManager cacheManager;
+
+  // Misses are not cached, so a profile created after a failed lookup is found straight away
+  @Override
+  @Cacheable(cacheNames = "farmers", unless = "#result == null")
+  public Optional<Farmer> findFarmer(String farmerId) {
+    return farmerRepository.findById(farmerId);
+  }
+
+  @Override
+  public Map<String, Farmer> findFarmers(Collection<String> farmerIds) {
+    Cache cache = cacheManager.getCache("farmers");
+    Map<String, Farmer> farmers = new HashMap<>();
+    List<String> misses = new ArrayList<>();
+    for (String farmerId : farmerIds) {
+      Farmer cached = cache.get(farmerId, Farmer.class);
+      if (cached != null) {
+        farmers.put(farmerId, cached);
+      } else {
+        misses.add(farmerId);
+      }
+    }
+    if (!misses.isEmpty()) {
+      for (Farmer farmer : farmerRepository.findAllById(misses)) {
+        farmers.put(farmer.getId(), farmer);
+        cache.put(farmer.getId(), farmer);
+      }
+    }
+    return farmers;
+  }
+
+  @Override
+  @Cacheable(cacheNames = "experts", unless = "#result == null")
+  public Optional<Expert> findExpert(String expertId) {
+    return expertRepository.findById(expertId);
+  }
+
+  @Override
+  @CacheEvict(cacheNames = "farmers")
+  public void evictFarmer(String farmerId) {
+  }
+
+  @Override
+  @CacheEvict(cacheNames = "experts")
+  public void evictExpert(String expertId) {
+  }
+}
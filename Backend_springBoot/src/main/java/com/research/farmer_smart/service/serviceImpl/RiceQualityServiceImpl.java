@@ -1,42 +1,106 @@
 package com.research.farmer_smart.service.serviceImpl;
 
 import com.research.farmer_smart.controller.request.RiceQualityRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.BatchResult.ItemResult;
 import com.research.farmer_smart.exception.FarmerNotFoundException;
 import com.research.farmer_smart.exception.RiceQualityException;
 import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.FarmerRef;
 import com.research.farmer_smart.model.RiceQuality;
-import com.research.farmer_smart.repository.FarmerRepository;
 import com.research.farmer_smart.repository.RiceQualityRepository;
+import com.research.farmer_smart.service.ProfileLookupService;
 import com.research.farmer_smart.service.RiceQualityService;
+import com.research.farmer_smart.util.BulkInserts;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class RiceQualityServiceImpl implements RiceQualityService {
 
-  private final FarmerRepository farmerRepository;
+  private static final int MAX_BATCH_SIZE = 1000;
+
+  private final ProfileLookupService profileLookupService;
   private final RiceQualityRepository riceQualityRepository;
+  private final MongoTemplate mongoTemplate;
 
   @Override
   public RiceQuality recordRiceQuality(RiceQualityRequest request) {
+    if (request == null) {
+      throw new RiceQualityException("Rice quality details are required");
+    }
     try {
-      Farmer farmer = farmerRepository.findById(request.getFarmerId())
+      Farmer farmer = profileLookupService.findFarmer(request.getFarmerId())
           .orElseThrow(() -> new FarmerNotFoundException(
               "Farmer not found with ID: " + request.getFarmerId()));
 
-      RiceQuality riceQuality = new RiceQuality();
-      riceQuality.setFarmer(farmer);
-      riceQuality.setTotalGrains(request.getTotalGrains());
-      riceQuality.setGoodQuality(request.getGoodQuality());
-      riceQuality.setMediumQuality(request.getMediumQuality());
-      riceQuality.setPoorQuality(request.getPoorQuality());
-      riceQuality.setPredictedRiceType(request.getPredictedRiceType());
-      riceQuality.setPredictedRiceQuality(request.getPredictedRiceQuality());
-
-      return riceQualityRepository.save(riceQuality);
+      return riceQualityRepository.save(toRiceQuality(request, farmer));
     } catch (Exception e) {
       throw new RiceQualityException("Error recording rice quality: " + e.getMessage());
     }
   }
+
+  @Override
+  public BatchResult recordRiceQualities(List<RiceQualityRequest> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+      throw new RiceQualityException(
+          "Batch must contain between 1 and " + MAX_BATCH_SIZE + " records");
+    }
+    Map<String, Farmer> farmers = profileLookupService.findFarmers(requests.stream()
+        .filter(Objects::nonNull)
+        .map(RiceQualityRequest::getFarmerId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet()));
+
+    ItemResult[] results = new ItemResult[requests.size()];
+    List<RiceQuality> riceQualities = new ArrayList<>();
+    List<Integer> positions = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      RiceQualityRequest request = requests.get(i);
+      if (request == null) {
+        results[i] = ItemResult.rejected(i, "Rice quality details are required");
+        continue;
+      }
+      Farmer farmer = request.getFarmerId() == null ? null : farmers.get(request.getFarmerId());
+      if (farmer == null) {
+        results[i] = ItemResult.rejected(i, "Farmer not found with ID: " + request.getFarmerId());
+        continue;
+      }
+      RiceQuality riceQuality = toRiceQuality(request, farmer);
+      riceQuality.setId(new ObjectId().toHexString());
+      riceQualities.add(riceQuality);
+      positions.add(i);
+    }
+
+    Map<Integer, String> failures =
+        BulkInserts.insertUnordered(mongoTemplate, RiceQuality.class, riceQualities);
+    for (int j = 0; j < riceQualities.size(); j++) {
+      int index = positions.get(j);
+      results[index] = failures.containsKey(j)
+          ? ItemResult.rejected(index, failures.get(j))
+          : ItemResult.accepted(index, riceQualities.get(j).getId());
+    }
+    return BatchResult.of(Arrays.asList(results));
+  }
+
+  private RiceQuality toRiceQuality(RiceQualityRequest request, Farmer farmer) {
+    RiceQuality riceQuality = new RiceQuality();
+    riceQuality.setFarmer(FarmerRef.of(farmer));
+    riceQuality.setTotalGrains(request.getTotalGrains());
+    riceQuality.setGoodQuality(request.getGoodQuality());
+    riceQuality.setMediumQuality(request.getMediumQuality());
+    riceQuality.setPoorQuality(request.getPoorQuality());
+    riceQuality.setPredictedRiceType(request.getPredictedRiceType());
+    riceQuality.setPredictedRiceQuality(request.getPredictedRiceQuality());
+    return riceQuality;
+  }
 }
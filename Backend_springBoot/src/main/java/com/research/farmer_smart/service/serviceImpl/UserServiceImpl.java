@@ -1,16 +1,46 @@
 package com.research.farmer_smart.service.serviceImpl;
 
 import com.research.farmer_smart.controller.request.LoginRequest;
+import com.mongodb.bulk.BulkWriteError;
 import com.research.farmer_smart.controller.request.SignUpRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.BatchResult.ItemResult;
+import com.research.farmer_smart.controller.response.UserDetails;
+import com.research.farmer_smart.exception.EmailAlreadyExistsException;
+import com.research.farmer_smart.exception.HashingCapacityException;
+import com.research.farmer_smart.exception.SignUpException;
 import com.research.farmer_smart.model.*;
-import com.research.farmer_smart.repository.ExpertRepository;
-import com.research.farmer_smart.repository.FarmerRepository;
+import com.research.farmer_smart.repository.UserEmailIndex;
 import com.research.farmer_smart.repository.UserRepository;
+import com.research.farmer_smart.service.ContentVersionService;
+import com.research.farmer_smart.service.ContentVersionService.Scope;
+import com.research.farmer_smart.service.PasswordHashingService;
+import com.research.farmer_smart.service.ProfileLookupService;
 import com.research.farmer_smart.service.UserService;
+import com.research.farmer_smart.util.BulkInserts;
+import com.research.farmer_smart.util.RegionKey;
+import com.research.farmer_smart.util.RegionKeys;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import lombok.AllArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import com.research.farmer_smart.exception.InvalidCredentialsException;
 
@@ -18,70 +48,304 @@ import com.research.farmer_smart.exception.InvalidCredentialsException;
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
 
+  private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+  private static final int MAX_BATCH_SIZE = 200;
+
   private final UserRepository userRepository;
-  private final FarmerRepository farmerRepository;
-  private final ExpertRepository expertRepository;
-  private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+  private final ProfileLookupService profileLookupService;
+  private final ContentVersionService contentVersionService;
+  private final PasswordHashingService passwordHashingService;
+  private final MongoTemplate mongoTemplate;
+  private final CacheManager cacheManager;
+  private final UserEmailIndex userEmailIndex;
 
   @Override
   public User registerUser(SignUpRequest request) {
-    Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
-    if (existingUser.isPresent()) {
-      throw new RuntimeException("Email already exists");
+    return register(request, Role.FARMER);
+  }
+
+  @Override
+  public User registerExpert(SignUpRequest request) {
+    return register(request, Role.EXPERT);
+  }
+
+  private User register(SignUpRequest request, Role role) {
+    String invalid = validate(request, role);
+    if (invalid != null) {
+      throw new SignUpException(invalid);
+    }
+    Account account = newAccount(request, passwordHashingService.encode(request.getPassword()));
+    User user = account.user();
+    if (!userEmailIndex.enforced() && emailTaken(List.of(user.getEmail())).contains(user.getEmail())) {
+      throw new EmailAlreadyExistsException("Email already exists");
+    }
+
+    // The unique index on users.email decides which of two concurrent signups wins, before any
+    // profile exists; a second account for the same address is never written
+    try {
+      mongoTemplate.insert(user);
+    } catch (DuplicateKeyException e) {
+      throw new EmailAlreadyExistsException("Email already exists");
+    }
+
+    Object profile = account.farmer() != null ? account.farmer() : account.expert();
+    if (profile != null) {
+      try {
+        mongoTemplate.insert(profile);
+      } catch (RuntimeException e) {
+        // Without its profile the account cannot be used; take it back so the address is free again
+        mongoTemplate.remove(Query.query(Criteria.where("id").is(user.getId())), User.class);
+        throw e;
+      }
+    }
+    profilesCreated(List.of(account));
+    return user;
+  }
+
+  @Override
+  public BatchResult registerUsers(List<SignUpRequest> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+      throw new SignUpException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " accounts");
+    }
+    logger.info("Registering batch of {} accounts", requests.size());
+
+    ItemResult[] results = new ItemResult[requests.size()];
+    List<Account> accounts = new ArrayList<>();
+    List<Integer> positions = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      SignUpRequest request = requests.get(i);
+      String invalid = validate(request, Role.FARMER);
+      if (invalid != null) {
+        results[i] = ItemResult.rejected(i, invalid);
+        continue;
+      }
+      try {
+        // One hash at a time, so an import never holds more than one of the pool's threads
+        accounts.add(newAccount(request, passwordHashingService.encode(request.getPassword())));
+        positions.add(i);
+      } catch (HashingCapacityException e) {
+        results[i] = ItemResult.rejected(i, e.getMessage());
+      }
+    }
+
+    if (!userEmailIndex.enforced()) {
+      // Without the unique index, reject what it would have: addresses already taken or repeated
+      Set<String> taken = emailTaken(
+          accounts.stream().map(account -> account.user().getEmail()).toList());
+      List<Account> unique = new ArrayList<>();
+      List<Integer> uniquePositions = new ArrayList<>();
+      for (int j = 0; j < accounts.size(); j++) {
+        if (taken.add(accounts.get(j).user().getEmail())) {
+          unique.add(accounts.get(j));
+          uniquePositions.add(positions.get(j));
+        } else {
+          results[positions.get(j)] = ItemResult.rejected(positions.get(j), "Email already exists");
+        }
+      }
+      accounts = unique;
+      positions = uniquePositions;
+    }
+
+    // Accounts first: rows whose e-mail is already taken, in the database or earlier in this batch,
+    // are rejected by the unique index and get no profile
+    Map<Integer, BulkWriteError> userFailures = BulkInserts.insertUnorderedWithErrors(mongoTemplate,
+        User.class, accounts.stream().map(Account::user).toList());
+    List<Account> created = new ArrayList<>();
+    List<Integer> createdPositions = new ArrayList<>();
+    for (int j = 0; j < accounts.size(); j++) {
+      int index = positions.get(j);
+      BulkWriteError error = userFailures.get(j);
+      if (error == null) {
+        created.add(accounts.get(j));
+        createdPositions.add(index);
+      } else if (error.getCode() == BulkInserts.DUPLICATE_KEY) {
+        results[index] = ItemResult.rejected(index, "Email already exists");
+      } else {
+        results[index] = ItemResult.rejected(index, error.getMessage());
+      }
+    }
+
+    Map<String, String> profileFailures = insertProfiles(created);
+    List<Account> registered = new ArrayList<>();
+    List<String> orphaned = new ArrayList<>();
+    for (int j = 0; j < created.size(); j++) {
+      int index = createdPositions.get(j);
+      Account account = created.get(j);
+      User user = account.user();
+      String error = profileFailures.get(user.getId());
+      if (error == null) {
+        results[index] = ItemResult.accepted(index, user.getId());
+        registered.add(account);
+      } else {
+        results[index] = ItemResult.rejected(index, error);
+        orphaned.add(user.getId());
+      }
+    }
+    if (!orphaned.isEmpty()) {
+      mongoTemplate.remove(Query.query(Criteria.where("id").in(orphaned)), User.class);
+    }
+
+    profilesCreated(registered);
+    return BatchResult.of(Arrays.asList(results));
+  }
+
+  // Addresses among the given ones that already have an account
+  private Set<String> emailTaken(List<String> emails) {
+    Query query = Query.query(Criteria.where("email").in(emails));
+    query.fields().include("email");
+    Set<String> taken = new HashSet<>();
+    mongoTemplate.find(query, User.class).forEach(user -> taken.add(user.getEmail()));
+    return taken;
+  }
+
+  // Addresses are stored trimmed and lower-cased, so case variants meet in the unique index
+  private static String normalizeEmail(String email) {
+    return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  // The role is checked against the path the request came through, never taken on trust
+  private String validate(SignUpRequest request, Role role) {
+    if (request == null) {
+      return "Sign-up details are required";
+    }
+    if (request.getEmail() == null || request.getEmail().isBlank()) {
+      return "Email is required";
     }
+    if (request.getPassword() == null || request.getPassword().isEmpty()) {
+      return "Password is required";
+    }
+    if (request.getRole() == null) {
+      return "Role is required";
+    }
+    if (request.getRole() != role) {
+      return "Only " + role + " accounts can be created here";
+    }
+    return null;
+  }
 
+  // A new user with the profile document for its role, which the user references by id
+  private record Account(User user, Farmer farmer, Expert expert) {
+  }
+
+  // Ids are assigned here so the user can reference its profile before either is written
+  private Account newAccount(SignUpRequest request, String passwordHash) {
+    String email = normalizeEmail(request.getEmail());
     User user = new User();
+    user.setId(new ObjectId().toHexString());
     user.setUsername(request.getUsername());
-    user.setEmail(request.getEmail());
-    user.setPassword(passwordEncoder.encode(request.getPassword()));
+    user.setEmail(email);
+    user.setPassword(passwordHash);
     user.setRole(request.getRole());
 
     if (request.getRole() == Role.FARMER) {
       Farmer farmer = new Farmer();
+      farmer.setId(new ObjectId().toHexString());
       farmer.setFirstName(request.getFirstName());
       farmer.setLastName(request.getLastName());
       farmer.setContactNumber(request.getContactNumber());
-      farmer.setEmail(request.getEmail());
+      farmer.setEmail(email);
       farmer.setLandSize(request.getLandSize());
       farmer.setLandLocation(request.getLandLocation());
+      RegionKey region = RegionKeys.of(request.getLandLocation());
+      farmer.setRegionKey(region.key());
+      farmer.setRegionTokens(region.tokens());
       farmer.setRegistrationDate(request.getRegistrationDate());
-
-      Farmer savedFarmer = farmerRepository.save(farmer);
-      user.setFarmer(savedFarmer);
+      user.setFarmer(FarmerRef.of(farmer));
+      return new Account(user, farmer, null);
     }
 
     else if (request.getRole() == Role.EXPERT) {
       Expert expert = new Expert();
+      expert.setId(new ObjectId().toHexString());
       expert.setFirstName(request.getFirstName());
       expert.setLastName(request.getLastName());
-      expert.setEmail(request.getEmail());
+      expert.setEmail(email);
       expert.setContactNumber(request.getContactNumber());
       expert.setAssignedArea(request.getAssignedArea());
       expert.setDesignation(request.getDesignation());
       expert.setSpecialization(request.getSpecialization());
       expert.setQualifications(request.getQualifications());
       expert.setRegistrationDate(request.getRegistrationDate());
+      user.setExpert(ExpertRef.of(expert));
+      return new Account(user, null, expert);
+    }
+    return new Account(user, null, null);
+  }
 
-      Expert savedExpert = expertRepository.save(expert);
-      user.setExpert(savedExpert);
+  /**
+   * Inserts the profiles of the given accounts, one unordered bulk write per profile type.
+   *
+   * @return error messages keyed by the id of the user whose profile was rejected
+   */
+  private Map<String, String> insertProfiles(List<Account> accounts) {
+    List<Farmer> farmers = new ArrayList<>();
+    List<String> farmerOwners = new ArrayList<>();
+    List<Expert> experts = new ArrayList<>();
+    List<String> expertOwners = new ArrayList<>();
+    for (Account account : accounts) {
+      if (account.farmer() != null) {
+        farmers.add(account.farmer());
+        farmerOwners.add(account.user().getId());
+      } else if (account.expert() != null) {
+        experts.add(account.expert());
+        expertOwners.add(account.user().getId());
+      }
     }
+    Map<String, String> failures = new HashMap<>();
+    BulkInserts.insertUnordered(mongoTemplate, Farmer.class, farmers)
+        .forEach((index, error) -> failures.put(farmerOwners.get(index), error));
+    BulkInserts.insertUnordered(mongoTemplate, Expert.class, experts)
+        .forEach((index, error) -> failures.put(expertOwners.get(index), error));
+    return failures;
+  }
 
-    return userRepository.save(user);
+  private void profilesCreated(List<Account> accounts) {
+    // A details view read between the user and profile inserts has no profile in it
+    Cache userDetails = cacheManager.getCache("user-details");
+    Set<String> regionTokens = new HashSet<>();
+    for (Account account : accounts) {
+      userDetails.evict(account.user().getId());
+      if (account.farmer() != null) {
+        profileLookupService.evictFarmer(account.farmer().getId());
+        if (account.farmer().getRegionTokens() != null) {
+          regionTokens.addAll(account.farmer().getRegionTokens());
+        }
+      } else if (account.expert() != null) {
+        profileLookupService.evictExpert(account.expert().getId());
+      }
+    }
+    if (!regionTokens.isEmpty()) {
+      contentVersionService.bump(Scope.FARMERS, regionTokens);
+    }
   }
 
   @Override
   public User authenticateUser(LoginRequest request) {
-    Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
-    
+    String email = normalizeEmail(request.getEmail());
+    Optional<User> userOptional = userRepository.findLoginByEmail(email);
+    if (userOptional.isEmpty() && email != null && !email.equals(request.getEmail().trim())) {
+      // Accounts created before addresses were normalized keep the case they were typed in
+      userOptional = userRepository.findLoginByEmail(request.getEmail().trim());
+    }
+
     if (userOptional.isEmpty()) {
       throw new InvalidCredentialsException("Invalid email address");
     }
 
     User user = userOptional.get();
-    if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+    if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
       throw new InvalidCredentialsException("Invalid password");
     }
 
+    // The cost factor was raised since this hash was made; the plain password is only at hand now
+    if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+      String rehashed = passwordHashingService.encode(request.getPassword());
+      mongoTemplate.updateFirst(
+          Query.query(Criteria.where("id").is(user.getId()).and("password").is(user.getPassword())),
+          Update.update("password", rehashed), User.class);
+      user.setPassword(rehashed);
+    }
+
     return user;
   }
 
@@ -90,4 +354,17 @@ public class UserServiceImpl implements UserService {
     return userRepository.findById(userId)
         .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
   }
+
+  // Evicted when the account or its farmer profile changes
+  @Override
+  @Cacheable(cacheNames = "user-details")
+  public UserDetails getUserDetails(String userId) {
+    User user = userRepository.findDetailsById(userId)
+        .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    Farmer farmer = user.getFarmer() == null ? null
+        : profileLookupService.findFarmer(user.getFarmer().getId()).orElse(null);
+    Expert expert = user.getExpert() == null ? null
+        : profileLookupService.findExpert(user.getExpert().getId()).orElse(null);
+    return UserDetails.of(user, farmer, expert);
+  }
 }
@@ -1,44 +1,108 @@
 package com.research.farmer_smart.service.serviceImpl;
 
 import com.research.farmer_smart.controller.request.WeedSeedDetectionRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.BatchResult.ItemResult;
 import com.research.farmer_smart.exception.FarmerNotFoundException;
 import com.research.farmer_smart.exception.WeedSeedException;
 import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.FarmerRef;
 import com.research.farmer_smart.model.WeedSeedDetection;
-import com.research.farmer_smart.repository.FarmerRepository;
 import com.research.farmer_smart.repository.WeedSeedDetectionRepository;
+import com.research.farmer_smart.service.ProfileLookupService;
 import com.research.farmer_smart.service.WeedSeedDetectionService;
+import com.research.farmer_smart.util.BulkInserts;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class WeedSeedDetectionServiceImpl implements WeedSeedDetectionService {
 
-  private final FarmerRepository farmerRepository;
+  private static final int MAX_BATCH_SIZE = 1000;
+
+  private final ProfileLookupService profileLookupService;
   private final WeedSeedDetectionRepository weedSeedDetectionRepository;
+  private final MongoTemplate mongoTemplate;
 
   @Override
   public WeedSeedDetection recordWeedSeedDetection(WeedSeedDetectionRequest request) {
+    if (request == null) {
+      throw new WeedSeedException("Weed seed detection details are required");
+    }
     try {
-      Farmer farmer = farmerRepository.findById(request.getFarmerId())
+      Farmer farmer = profileLookupService.findFarmer(request.getFarmerId())
           .orElseThrow(() -> new FarmerNotFoundException(
               "Farmer not found with ID: " + request.getFarmerId()));
 
-      WeedSeedDetection weedSeedDetection = new WeedSeedDetection();
-      weedSeedDetection.setFarmer(farmer);
-      weedSeedDetection.setTotalSeeds(request.getTotalSeeds());
-      weedSeedDetection.setSeedClass(request.getSeedClass());
-      weedSeedDetection.setBarnyardgrass(request.getBarnyardgrass());
-      weedSeedDetection.setGlume(request.getGlume());
-      weedSeedDetection.setJungleRiceA(request.getJungleRiceA());
-      weedSeedDetection.setJungleRiceB(request.getJungleRiceB());
-      weedSeedDetection.setSaromaccaGrass(request.getSaromaccaGrass());
-      weedSeedDetection.setRiceSeeds(request.getRiceSeeds());
-
-      return weedSeedDetectionRepository.save(weedSeedDetection);
+      return weedSeedDetectionRepository.save(toWeedSeedDetection(request, farmer));
     } catch (Exception e) {
       throw new WeedSeedException("Error recording weed seed detection: " + e.getMessage());
     }
   }
+
+  @Override
+  public BatchResult recordWeedSeedDetections(List<WeedSeedDetectionRequest> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+      throw new WeedSeedException(
+          "Batch must contain between 1 and " + MAX_BATCH_SIZE + " records");
+    }
+    Map<String, Farmer> farmers = profileLookupService.findFarmers(requests.stream()
+        .filter(Objects::nonNull)
+        .map(WeedSeedDetectionRequest::getFarmerId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet()));
+
+    ItemResult[] results = new ItemResult[requests.size()];
+    List<WeedSeedDetection> detections = new ArrayList<>();
+    List<Integer> positions = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      WeedSeedDetectionRequest request = requests.get(i);
+      if (request == null) {
+        results[i] = ItemResult.rejected(i, "Weed seed detection details are required");
+        continue;
+      }
+      Farmer farmer = request.getFarmerId() == null ? null : farmers.get(request.getFarmerId());
+      if (farmer == null) {
+        results[i] = ItemResult.rejected(i, "Farmer not found with ID: " + request.getFarmerId());
+        continue;
+      }
+      WeedSeedDetection detection = toWeedSeedDetection(request, farmer);
+      detection.setId(new ObjectId().toHexString());
+      detections.add(detection);
+      positions.add(i);
+    }
+
+    Map<Integer, String> failures =
+        BulkInserts.insertUnordered(mongoTemplate, WeedSeedDetection.class, detections);
+    for (int j = 0; j < detections.size(); j++) {
+      int index = positions.get(j);
+      results[index] = failures.containsKey(j)
+          ? ItemResult.rejected(index, failures.get(j))
+          : ItemResult.accepted(index, detections.get(j).getId());
+    }
+    return BatchResult.of(Arrays.asList(results));
+  }
+
+  private WeedSeedDetection toWeedSeedDetection(WeedSeedDetectionRequest request, Farmer farmer) {
+    WeedSeedDetection weedSeedDetection = new WeedSeedDetection();
+    weedSeedDetection.setFarmer(FarmerRef.of(farmer));
+    weedSeedDetection.setTotalSeeds(request.getTotalSeeds());
+    weedSeedDetection.setSeedClass(request.getSeedClass());
+    weedSeedDetection.setBarnyardgrass(request.getBarnyardgrass());
+    weedSeedDetection.setGlume(request.getGlume());
+    weedSeedDetection.setJungleRiceA(request.getJungleRiceA());
+    weedSeedDetection.setJungleRiceB(request.getJungleRiceB());
+    weedSeedDetection.setSaromaccaGrass(request.getSaromaccaGrass());
+    weedSeedDetection.setRiceSeeds(request.getRiceSeeds());
+    return weedSeedDetection;
+  }
 }
@@ -0,0 +1,59 @@
+package com.research.farmer_smart.util;
+
+import com.mongodb.bulk.BulkWriteError;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Unordered bulk inserts for the batch upload endpoints. A rejected document does not stop the
+ * rest of the batch; its error is reported against its position in the list instead.
+ */
+public final class BulkInserts {
+
+  /**
+   * Server error code of a write rejected by a unique index.
+   */
+  public static final int DUPLICATE_KEY = 11000;
+
+  private BulkInserts() {
+  }
+
+  /**
+   * Inserts all documents in one unordered bulk write. Documents need their ids assigned up front,
+   * because bulk inserts do not write generated ids back to the entities.
+   *
+   * @return error messages keyed by the index of the document that failed, empty if all succeeded
+   */
+  public static <T> Map<Integer, String> insertUnordered(MongoTemplate mongoTemplate,
+      Class<T> type, List<T> documents) {
+    Map<Integer, String> failures = new HashMap<>();
+    insertUnorderedWithErrors(mongoTemplate, type, documents)
+        .forEach((index, error) -> failures.put(index, error.getMessage()));
+    return failures;
+  }
+
+  /**
+   * Same as {@link #insertUnordered}, keeping the server errors so callers can tell duplicate
+   * keys ({@link #DUPLICATE_KEY}) from other failures.
+   */
+  public static <T> Map<Integer, BulkWriteError> insertUnorderedWithErrors(
+      MongoTemplate mongoTemplate, Class<T> type, List<T> documents) {
+    if (documents.isEmpty()) {
+      return Map.of();
+    }
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, type).insert(documents).execute();
+      return Map.of();
+    } catch (BulkOperationException e) {
+      Map<Integer, BulkWriteError> failures = new HashMap<>();
+      for (BulkWriteError error : e.getErrors()) {
+        failures.put(error.getIndex(), error);
+      }
+      return failures;
+    }
+  }
+}
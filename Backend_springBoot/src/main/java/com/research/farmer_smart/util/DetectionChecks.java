@@ -0,0 +1,47 @@
+package com.research.farmer_smart.util;
+
+import java.time.LocalDateTime;
+
+/**
+ * Field checks shared by the single and batch paths of the pest and disease uploads. The area
+ * alerts, hourly counters and time-series events all key on the location and the detection time,
+ * so a row without them is rejected rather than stored where no read can find it.
+ */
+public final class DetectionChecks {
+
+  private DetectionChecks() {
+  }
+
+  /**
+   * @param label what the name is, e.g. "Pest name"
+   * @return why the detection cannot be stored, or null if it can
+   */
+  public static String problem(String label, String name, String detectedLocation,
+      LocalDateTime detectionDateTime, Double latitude, Double longitude) {
+    if (name == null || name.isBlank()) {
+      return label + " is required";
+    }
+    if (detectedLocation == null || detectedLocation.isBlank()) {
+      return "Detected location is required";
+    }
+    if (detectionDateTime == null) {
+      return "Detection date and time is required";
+    }
+    return coordinateProblem(latitude, longitude);
+  }
+
+  /**
+   * @return why the coordinates cannot be stored as a GeoJSON point, or null if they can
+   */
+  public static String coordinateProblem(Double latitude, Double longitude) {
+    // Coordinates are optional, a detection without them is only left out of the radius searches
+    if ((latitude == null) != (longitude == null)) {
+      return "Latitude and longitude must be given together";
+    }
+    if (latitude != null && (latitude < -90 || latitude > 90
+        || longitude < -180 || longitude > 180)) {
+      return "Latitude must be between -90 and 90 and longitude between -180 and 180";
+    }
+    return null;
+  }
+}
@@ -0,0 +1,27 @@
+package com.research.farmer_smart.util;
+
+import java.util.List;
+
+/**
+ * Canonical form of a free-text location such as "Malabe, Colombo".
+ *
+ * @param key      hierarchical key, {@code district/division}, or whichever part is known
+ * @param district normalized district name, or {@code null} if none was recognised
+ * @param division normalized division (town / GN area), or {@code null}
+ * @param tokens   every normalized part of the location, used for indexed equality lookups
+ */
+public record RegionKey(String key, String district, String division, List<String> tokens) {
+
+  public static final RegionKey EMPTY = new RegionKey(null, null, null, List.of());
+
+  /**
+   * The most specific token, which is what area lookups match on.
+   */
+  public String lookupToken() {
+    return division != null ? division : district;
+  }
+
+  public boolean isEmpty() {
+    return key == null;
+  }
+}
@@ -0,0 +1,122 @@
+package com.research.farmer_smart.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the free-text locations entered in the app into {@link RegionKey}s. Parts are split on
+ * commas, lower-cased and reduced to {@code a-z0-9} words joined by '-', so "Nuwara Eliya" and
+ * "nuwara  eliya" produce the same token. A part that names one of the 25 districts becomes the
+ * district, the first other part becomes the division.
+ *
+ * <p>Locations are often typed without commas, so a part is also split on whitespace: a district
+ * named inside it ("Malabe Colombo") is taken out as its own token, and every word of a multi-word
+ * remainder is a token as well, so a search for "Kaduwela" finds "Kaduwela Town".
+ */
+public final class RegionKeys {
+
+  private static final Set<String> DISTRICTS = Set.of(
+      "ampara", "anuradhapura", "badulla", "batticaloa", "colombo", "galle", "gampaha",
+      "hambantota", "jaffna", "kalutara", "kandy", "kegalle", "kilinochchi", "kurunegala",
+      "mannar", "matale", "matara", "monaragala", "mullaitivu", "nuwara-eliya", "polonnaruwa",
+      "puttalam", "ratnapura", "trincomalee", "vavuniya"
+  );
+
+  // Words that qualify a part rather than name a place
+  private static final Set<String> NOISE_WORDS = Set.of(
+      "district", "division", "divisional", "secretariat", "ds", "gn", "sri", "lanka"
+  );
+
+  private static final Pattern PART_SEPARATOR = Pattern.compile("[,/;|]");
+  private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+  private RegionKeys() {
+  }
+
+  public static RegionKey of(String location) {
+    if (location == null || location.isBlank()) {
+      return RegionKey.EMPTY;
+    }
+
+    Set<String> tokens = new LinkedHashSet<>();
+    Set<String> wordTokens = new LinkedHashSet<>();
+    for (String part : PART_SEPARATOR.split(location.toLowerCase(Locale.ROOT))) {
+      addPart(words(part), tokens, wordTokens);
+    }
+    // After the parts, so the division is still the first non-district part
+    tokens.addAll(wordTokens);
+    if (tokens.isEmpty()) {
+      return RegionKey.EMPTY;
+    }
+
+    String district = null;
+    String division = null;
+    for (String token : tokens) {
+      if (district == null && DISTRICTS.contains(token)) {
+        district = token;
+      } else if (division == null) {
+        division = token;
+      }
+    }
+
+    String key;
+    if (district != null && division != null) {
+      key = district + "/" + division;
+    } else {
+      key = district != null ? district : division;
+    }
+    return new RegionKey(key, district, division, List.copyOf(tokens));
+  }
+
+  /**
+   * Normalized token for a single location part, or {@code null} for a blank location.
+   */
+  public static String lookupToken(String location) {
+    return of(location).lookupToken();
+  }
+
+  private static void addPart(List<String> words, Set<String> tokens, Set<String> wordTokens) {
+    String token = String.join("-", words);
+    if (words.isEmpty()) {
+      return;
+    }
+    if (words.size() == 1 || DISTRICTS.contains(token)) {
+      tokens.add(token);
+      return;
+    }
+    // A district at either end of the part, one word or two as in "nuwara eliya"
+    for (int length = 2; length >= 1; length--) {
+      if (words.size() <= length) {
+        continue;
+      }
+      String first = String.join("-", words.subList(0, length));
+      String last = String.join("-", words.subList(words.size() - length, words.size()));
+      if (DISTRICTS.contains(last)) {
+        addPart(words.subList(0, words.size() - length), tokens, wordTokens);
+        tokens.add(last);
+        return;
+      }
+      if (DISTRICTS.contains(first)) {
+        tokens.add(first);
+        addPart(words.subList(length, words.size()), tokens, wordTokens);
+        return;
+      }
+    }
+    tokens.add(token);
+    wordTokens.addAll(words);
+  }
+
+  private static List<String> words(String part) {
+    List<String> words = new ArrayList<>();
+    for (String word : NON_ALPHANUMERIC.split(part)) {
+      if (!word.isEmpty() && !NOISE_WORDS.contains(word)) {
+        words.add(word);
+      }
+    }
+    return words;
+  }
+}
@@ -0,0 +1,26 @@
+package com.research.farmer_smart.util;
+
+import java.time.LocalDateTime;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 200 responses for endpoints that answer {@code If-None-Match} from
+ * {@link com.research.farmer_smart.service.ContentVersionService}. Caches may store them but must
+ * revalidate, and the generation time travels in a header so equal data is equal bytes.
+ */
+public final class VersionedResponses {
+
+  public static final String GENERATED_AT_HEADER = "X-Generated-At";
+
+  private VersionedResponses() {
+  }
+
+  public static <T> ResponseEntity<T> ok(String etag, T body) {
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .header(GENERATED_AT_HEADER, LocalDateTime.now().toString())
+        .body(body);
+  }
+}
@@ -0,0 +1,142 @@
+package com.research.farmer_smart.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.research.farmer_smart.model.Role;
+import com.research.farmer_smart.model.User;
+import com.research.farmer_smart.service.AccessTokenService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import java.net.InetSocketAddress;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * The roles that guard bulk signup and the actuator must not be reachable through signup itself:
+ * anonymous callers only get farmer accounts, experts are created by administrators, and no API
+ * creates administrators.
+ */
+@SpringBootTest(properties = {
+    "farmer-smart.notifications.dispatcher.enabled=false",
+    "farmer-smart.auth.bcrypt-strength=4"})
+@AutoConfigureMockMvc
+class SignupAuthorizationTest {
+
+  private static MongoServer mongoServer;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private AccessTokenService accessTokenService;
+
+  @DynamicPropertySource
+  static void mongo(DynamicPropertyRegistry registry) {
+    mongoServer = new MongoServer(new MemoryBackend());
+    InetSocketAddress address = mongoServer.bind();
+    registry.add("spring.data.mongodb.uri",
+        () -> "mongodb://" + address.getHostString() + ":" + address.getPort() + "/roles");
+  }
+
+  @AfterAll
+  static void stopMongo() {
+    mongoServer.shutdown();
+  }
+
+  @BeforeEach
+  void reset() {
+    mongoTemplate.remove(new Query(), User.class);
+  }
+
+  @Test
+  void anonymousExpertSignupIsRejected() throws Exception {
+    mockMvc.perform(post("/auth/signup").contentType(MediaType.APPLICATION_JSON)
+            .content(signup("expert@coop.lk", "EXPERT")))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(post("/auth/signup").contentType(MediaType.APPLICATION_JSON)
+            .content(signup("admin@coop.lk", "ADMIN")))
+        .andExpect(status().isBadRequest());
+    assertThat(mongoTemplate.count(new Query(), User.class)).isZero();
+
+    mockMvc.perform(post("/auth/signup").contentType(MediaType.APPLICATION_JSON)
+            .content(signup("farmer@coop.lk", "FARMER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.role").value("FARMER"));
+  }
+
+  @Test
+  void onlyAdministratorsCreateExperts() throws Exception {
+    mockMvc.perform(expertSignup()).andExpect(status().isUnauthorized());
+    mockMvc.perform(withToken(expertSignup(), Role.EXPERT)).andExpect(status().isForbidden());
+    mockMvc.perform(withToken(expertSignup(), Role.ADMIN))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.role").value("EXPERT"));
+  }
+
+  @Test
+  void batchSignupNeedsAnExpertAndCreatesFarmersOnly() throws Exception {
+    mockMvc.perform(batchSignup()).andExpect(status().isUnauthorized());
+    mockMvc.perform(withToken(batchSignup(), Role.FARMER)).andExpect(status().isForbidden());
+    mockMvc.perform(withToken(batchSignup(), Role.EXPERT))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accepted").value(1))
+        .andExpect(jsonPath("$.items[1].error").value("Only FARMER accounts can be created here"));
+  }
+
+  @Test
+  void actuatorBeyondHealthNeedsAnAdministrator() throws Exception {
+    mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+    mockMvc.perform(withToken(get("/actuator/metrics"), Role.EXPERT))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(withToken(get("/actuator/metrics"), Role.ADMIN))
+        .andExpect(status().isOk());
+  }
+
+  private static MockHttpServletRequestBuilder expertSignup() {
+    return post("/auth/signup/expert")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(signup("expert@coop.lk", "EXPERT"));
+  }
+
+  private static MockHttpServletRequestBuilder batchSignup() {
+    return post("/auth/signup/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("[" + signup("farmer1@coop.lk", "FARMER") + ","
+            + signup("expert1@coop.lk", "EXPERT") + "]");
+  }
+
+  private MockHttpServletRequestBuilder withToken(MockHttpServletRequestBuilder request,
+      Role role) {
+    User user = new User();
+    user.setId(role.name().toLowerCase());
+    user.setEmail(role.name().toLowerCase() + "@coop.lk");
+    user.setRole(role);
+    return request.header(HttpHeaders.AUTHORIZATION,
+        "Bearer " + accessTokenService.issue(user).value());
+  }
+
+  private static String signup(String email, String role) {
+    return "{\"username\":\"" + email + "\",\"email\":\"" + email + "\","
+        + "\"password\":\"paddy-field-42\",\"role\":\"" + role + "\","
+        + "\"firstName\":\"Sunil\",\"lastName\":\"Fernando\",\"landLocation\":\"Malabe, Colombo\"}";
+  }
+}
@@ -0,0 +1,93 @@
+package com.research.farmer_smart.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.repository.DiseasesDetectionRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import java.net.InetSocketAddress;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Bad input is the caller's fault and answers 400, a missing record or farmer 404, and a failing
+ * database 500, so clients and alerting can tell them apart.
+ */
+@SpringBootTest(properties = "farmer-smart.notifications.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class DiseasesDetectionErrorStatusTest {
+
+  private static MongoServer mongoServer;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @MockitoSpyBean
+  private DiseasesDetectionRepository diseasesDetectionRepository;
+
+  @DynamicPropertySource
+  static void mongo(DynamicPropertyRegistry registry) {
+    mongoServer = new MongoServer(new MemoryBackend());
+    InetSocketAddress address = mongoServer.bind();
+    registry.add("spring.data.mongodb.uri",
+        () -> "mongodb://" + address.getHostString() + ":" + address.getPort() + "/statuses");
+  }
+
+  @AfterAll
+  static void stopMongo() {
+    mongoServer.shutdown();
+  }
+
+  @Test
+  void invalidRequestsAreBadRequests() throws Exception {
+    mockMvc.perform(get("/diseases-detection/page").param("size", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void missingRecordsAndFarmersAreNotFound() throws Exception {
+    mockMvc.perform(get("/diseases-detection/{id}", "64b7f0c2a1b2c3d4e5f60718"))
+        .andExpect(status().isNotFound());
+    mockMvc.perform(post("/diseases-detection").contentType(MediaType.APPLICATION_JSON)
+            .content(detection("64b7f0c2a1b2c3d4e5f60718")))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void storageFailuresAreServerErrors() throws Exception {
+    Farmer farmer = new Farmer();
+    farmer.setFirstName("Sunil");
+    farmer = mongoTemplate.insert(farmer);
+    doThrow(new DataAccessResourceFailureException("connection refused"))
+        .when(diseasesDetectionRepository).save(any(DiseasesDetection.class));
+
+    mockMvc.perform(post("/diseases-detection").contentType(MediaType.APPLICATION_JSON)
+            .content(detection(farmer.getId())))
+        .andExpect(status().isInternalServerError());
+  }
+
+  private static String detection(String farmerId) {
+    return "{\"farmerId\":\"" + farmerId + "\",\"diseaseName\":\"Blast\","
+        + "\"detectedLocation\":\"Malabe, Colombo\",\"latitude\":6.9,\"longitude\":79.97,"
+        + "\"detectionDateTime\":\"2026-10-01T08:30:00\"}";
+  }
+}
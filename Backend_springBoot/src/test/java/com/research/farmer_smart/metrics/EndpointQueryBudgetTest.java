@@ -0,0 +1,181 @@
+package com.research.farmer_smart.metrics;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.research.farmer_smart.model.Expert;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.FarmerRef;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.model.PestSolution;
+import com.research.farmer_smart.model.Role;
+import com.research.farmer_smart.model.User;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Mongo command budgets of the solution endpoints, which resolve experts, infestations and
+ * farmers in batches rather than one lookup per solution, and of the auth reads. Adding a per-row
+ * lookup back fails here even with a handful of rows. Each solution endpoint also reads its
+ * content versions once, for the ETag.
+ */
+@SpringBootTest(properties = "farmer-smart.notifications.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class EndpointQueryBudgetTest {
+
+  private static final int SOLUTIONS = 6;
+
+  private static MongoServer mongoServer;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  private static Expert expert;
+  private static PestInfestation infestation;
+  private static User user;
+
+  @DynamicPropertySource
+  static void mongo(DynamicPropertyRegistry registry) {
+    mongoServer = new MongoServer(new MemoryBackend());
+    InetSocketAddress address = mongoServer.bind();
+    registry.add("spring.data.mongodb.uri",
+        () -> "mongodb://" + address.getHostString() + ":" + address.getPort() + "/budget");
+  }
+
+  @AfterAll
+  static void stopMongo() {
+    mongoServer.shutdown();
+  }
+
+  @BeforeAll
+  static void seed(@Autowired MongoTemplate mongoTemplate) {
+    expert = new Expert();
+    expert.setFirstName("Nimal");
+    expert.setLastName("Perera");
+    expert = mongoTemplate.insert(expert);
+
+    // Every solution points at its own infestation and farmer
+    for (int i = 0; i < SOLUTIONS; i++) {
+      Farmer farmer = new Farmer();
+      farmer.setFirstName("Farmer" + i);
+      farmer.setLandLocation("Malabe, Colombo");
+      farmer = mongoTemplate.insert(farmer);
+
+      PestInfestation pestInfestation = new PestInfestation();
+      pestInfestation.setFarmer(farmer);
+      pestInfestation.setPestName("thrips");
+      pestInfestation.setDetectedLocation("Malabe");
+      pestInfestation.setDetectionDateTime(LocalDateTime.now().minusHours(i));
+      pestInfestation = mongoTemplate.insert(pestInfestation);
+      if (infestation == null) {
+        infestation = pestInfestation;
+        user = new User();
+        user.setEmail("farmer0@coop.lk");
+        user.setUsername("farmer0");
+        user.setPassword(new BCryptPasswordEncoder(10).encode("paddy-field-42"));
+        user.setRole(Role.FARMER);
+        user.setFarmer(FarmerRef.of(farmer));
+        user = mongoTemplate.insert(user);
+      }
+
+      PestSolution solution = new PestSolution();
+      solution.setExpert(expert);
+      solution.setPestInfestation(pestInfestation);
+      solution.setPestName("thrips");
+      solution.setSolutionDescription("Spray neem oil at dusk");
+      solution.setInsertDateTime(LocalDateTime.now());
+      mongoTemplate.insert(solution);
+    }
+  }
+
+  @Test
+  void expertSolutionsResolveReferencesInBatches() throws Exception {
+    // Versions, solutions, then experts, infestations and farmers with one $in each
+    mockMvc.perform(get("/api/pest-solutions/expert/{expertId}", expert.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(SOLUTIONS))
+        .andExpect(jsonPath("$[0].pestInfestation.farmer.firstName").exists())
+        .andExpect(QueryBudget.atMost(5));
+  }
+
+  @Test
+  void expertSolutionSummariesOnlyLoadExpertNames() throws Exception {
+    mockMvc.perform(get("/api/pest-solutions/expert/{expertId}/summary", expert.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(SOLUTIONS))
+        .andExpect(QueryBudget.atMost(3));
+  }
+
+  @Test
+  void pestNameSolutionsResolveReferencesInBatches() throws Exception {
+    mockMvc.perform(get("/api/pest-solutions/pest/{pestName}", "Thrips"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(SOLUTIONS))
+        .andExpect(QueryBudget.atMost(5));
+  }
+
+  @Test
+  void infestationSolutionsSkipTheExistenceCheckWhenFound() throws Exception {
+    mockMvc.perform(get("/api/pest-solutions/infestation/{id}", infestation.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(QueryBudget.atMost(5));
+  }
+
+  @Test
+  void loginReadsTheAccountOnce() throws Exception {
+    mockMvc.perform(post("/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"farmer0@coop.lk\",\"password\":\"paddy-field-42\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.profileId").value(user.getFarmer().getId()))
+        .andExpect(jsonPath("$.accessToken").exists())
+        .andExpect(QueryBudget.atMost(1));
+  }
+
+  @Test
+  void userDetailsAreServedFromCacheOnceRead() throws Exception {
+    // The account, then the farmer profile unless an earlier request cached it
+    mockMvc.perform(get("/auth/user/{userId}", user.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.farmerDetails.landLocation").value("Malabe, Colombo"))
+        .andExpect(QueryBudget.atMost(2));
+
+    mockMvc.perform(get("/auth/user/{userId}", user.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.farmerDetails.landLocation").value("Malabe, Colombo"))
+        .andExpect(QueryBudget.atMost(0));
+  }
+
+  @Test
+  void notModifiedOnlyReadsTheVersions() throws Exception {
+    String etag = mockMvc.perform(get("/api/pest-solutions/expert/{expertId}", expert.getId()))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/pest-solutions/expert/{expertId}", expert.getId())
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().exists(ServerTimingFilter.HEADER))
+        .andExpect(QueryBudget.atMost(1));
+  }
+}
@@ -0,0 +1,40 @@
+package com.research.farmer_smart.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * MockMvc expectation on the number of Mongo commands a request issued, read back from the
+ * {@code Server-Timing} header written by {@link ServerTimingFilter}:
+ * <pre>
+ * mockMvc.perform(get("/api/pest-solutions/expert/{id}", id))
+ *     .andExpect(QueryBudget.atMost(4));
+ * </pre>
+ */
+public final class QueryBudget {
+
+  private static final Pattern COMMANDS = Pattern.compile("mongo;desc=\"(\\d+) commands\"");
+
+  private QueryBudget() {
+  }
+
+  public static ResultMatcher atMost(int commands) {
+    return result -> {
+      int issued = commandsIssued(result.getResponse().getHeader(ServerTimingFilter.HEADER));
+      assertTrue(issued <= commands, () -> result.getRequest().getMethod() + " "
+          + result.getRequest().getRequestURI() + " issued " + issued
+          + " Mongo commands, budget is " + commands);
+    };
+  }
+
+  public static int commandsIssued(String serverTiming) {
+    assertNotNull(serverTiming, "No " + ServerTimingFilter.HEADER + " header on the response");
+    Matcher matcher = COMMANDS.matcher(serverTiming);
+    assertTrue(matcher.find(), "No Mongo commands in " + serverTiming);
+    return Integer.parseInt(matcher.group(1));
+  }
+}
@@ -0,0 +1,59 @@
+package com.research.farmer_smart.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.store.MailFolder;
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.research.farmer_smart.model.Farmer;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+class EmailNotificationChannelTest {
+
+  private static final String FROM = "alerts@farmersmart.lk";
+
+  @RegisterExtension
+  static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  @Test
+  void sendsOneMessagePerRecipientChunk() throws Exception {
+    JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(greenMail.getSmtp().getPort());
+    EmailNotificationChannel channel = new EmailNotificationChannel(mailSender, FROM, 2);
+
+    List<Farmer> recipients = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Farmer farmer = new Farmer();
+      farmer.setEmail("farmer" + i + "@example.com");
+      recipients.add(farmer);
+    }
+    // Farmers without an e-mail address are skipped
+    recipients.add(new Farmer());
+
+    channel.send(new AlertMessage("Pest alert: thrips near Malabe", "3 cases", recipients));
+
+    // Five addresses in chunks of two: three SMTP messages, one copy per recipient
+    Set<String> messageIds = new HashSet<>();
+    for (MimeMessage message : greenMail.getReceivedMessages()) {
+      messageIds.add(message.getMessageID());
+    }
+    assertEquals(3, messageIds.size());
+    // BCC recipients are not in the headers, so check each mailbox
+    for (int i = 0; i < 5; i++) {
+      GreenMailUser farmer = greenMail.getUserManager().getUserByEmail("farmer" + i + "@example.com");
+      MailFolder inbox = greenMail.getManagers().getImapHostManager().getInbox(farmer);
+      assertEquals(1, inbox.getMessageCount());
+      assertEquals("Pest alert: thrips near Malabe",
+          inbox.getMessages().get(0).getMimeMessage().getSubject());
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package com.research.farmer_smart.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.research.farmer_smart.config.MongoIndexInitializer;
+import com.research.farmer_smart.model.DiseasesDetection;
+import com.research.farmer_smart.model.Expert;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.FarmerRef;
+import com.research.farmer_smart.model.PestInfestation;
+import com.research.farmer_smart.model.Role;
+import com.research.farmer_smart.model.User;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.Sphere;
+import org.springframework.data.repository.Repository;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs every query method declared on the repositories against a real MongoDB and explains the
+ * commands it sends. Fails when a winning plan scans the collection or sorts in memory, which is
+ * what a query without a matching index declared on its document class does.
+ *
+ * <p>The in-memory server the other tests use ignores indexes, so these plans need Docker. Without
+ * it the class is skipped on a developer machine, but fails on CI (the {@code CI} environment
+ * variable) or with {@code -Dquery-plans.required=true}, so a build that never checked the plans
+ * cannot pass as green.
+ */
+@Testcontainers
+@EnabledIf(value = "dockerAvailableOrRequired", disabledReason = "Docker is not available")
+@TestInstance(Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+    "farmer-smart.mongo.indexes.ensure-on-startup=false",
+    "farmer-smart.notifications.dispatcher.enabled=false"})
+class RepositoryQueryPlanTest {
+
+  private static final Set<String> REJECTED_STAGES = Set.of("COLLSCAN", "SORT");
+  private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+  private static final Point POINT = new Point(79.97, 6.91);
+  private static final Distance RADIUS = new Distance(5, Metrics.KILOMETERS);
+
+  @Container
+  @ServiceConnection
+  static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+  private static final List<Document> commands = new CopyOnWriteArrayList<>();
+
+  @Autowired
+  private ApplicationContext applicationContext;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private MongoIndexInitializer indexInitializer;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  // Sample argument for each parameter type used by the query methods
+  private final Map<Class<?>, Supplier<Object>> arguments = Map.of(
+      String.class, () -> new ObjectId().toHexString(),
+      LocalDateTime.class, () -> LocalDateTime.now().minusDays(7),
+      Point.class, () -> POINT,
+      Distance.class, () -> RADIUS,
+      Sphere.class, () -> new Sphere(POINT, RADIUS),
+      Farmer.class, () -> withId(new Farmer(), Farmer::setId),
+      Expert.class, () -> withId(new Expert(), Expert::setId),
+      PestInfestation.class, () -> withId(new PestInfestation(), PestInfestation::setId),
+      DiseasesDetection.class, () -> withId(new DiseasesDetection(), DiseasesDetection::setId));
+
+  @TestConfiguration
+  static class CommandCapture {
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer commandCapture() {
+      return builder -> builder.addCommandListener(new CommandListener() {
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+          if (EXPLAINABLE.contains(event.getCommandName())) {
+            commands.add(Document.parse(event.getCommand().toJson()));
+          }
+        }
+      });
+    }
+  }
+
+  static boolean dockerAvailableOrRequired() {
+    return System.getenv("CI") != null || Boolean.getBoolean("query-plans.required")
+        || DockerClientFactory.instance().isDockerAvailable();
+  }
+
+  @BeforeAll
+  void createIndexes() {
+    indexInitializer.ensureIndexes();
+  }
+
+  @TestFactory
+  Stream<DynamicTest> queryMethodsUseIndexes() {
+    List<DynamicTest> tests = new ArrayList<>();
+    for (Class<?> repository : repositoryInterfaces()) {
+      Object bean = applicationContext.getBean(repository);
+      for (Method method : queryMethods(repository)) {
+        tests.add(DynamicTest.dynamicTest(repository.getSimpleName() + "." + method.getName(),
+            () -> assertIndexed(bean, method)));
+      }
+    }
+    return tests.stream();
+  }
+
+  private void assertIndexed(Object repository, Method method) throws Exception {
+    Object[] args = new Object[method.getParameterCount()];
+    for (int i = 0; i < args.length; i++) {
+      Supplier<Object> argument = arguments.get(method.getParameterTypes()[i]);
+      assertTrue(argument != null, "No sample argument for " + method.getParameterTypes()[i]);
+      args[i] = argument.get();
+    }
+
+    commands.clear();
+    try {
+      method.invoke(repository, args);
+    } catch (InvocationTargetException e) {
+      throw (Exception) e.getCause();
+    }
+    assertFalse(commands.isEmpty(), method.getName() + " sent no query");
+
+    for (Document command : List.copyOf(commands)) {
+      Document explain = mongoTemplate.getDb().runCommand(new Document("explain", strip(command))
+          .append("verbosity", "queryPlanner"));
+      List<String> rejected = new ArrayList<>();
+      collectRejectedStages(explain, rejected);
+      assertTrue(rejected.isEmpty(), method.getName() + " plans " + rejected + " for "
+          + command.toJson());
+    }
+  }
+
+  @Test
+  void loginReadsOneDocumentThroughTheEmailIndex() {
+    User user = new User();
+    user.setEmail("login@coop.lk");
+    user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+    user.setRole(Role.FARMER);
+    user.setFarmer(FarmerRef.of(withId(new Farmer(), Farmer::setId)));
+    mongoTemplate.insert(user);
+
+    commands.clear();
+    assertTrue(userRepository.findLoginByEmail("login@coop.lk").isPresent());
+    Document explain = mongoTemplate.getDb().runCommand(
+        new Document("explain", strip(commands.get(0))).append("verbosity", "executionStats"));
+    Document stats = explain.get("executionStats", Document.class);
+    assertEquals(1, stats.getInteger("totalKeysExamined"), "login index keys: " + explain.toJson());
+    assertEquals(1, stats.getInteger("totalDocsExamined"), "login documents: " + explain.toJson());
+  }
+
+  // Session, cluster time and other envelope fields are not accepted inside explain
+  private static Document strip(Document command) {
+    Document query = new Document(command);
+    query.keySet().removeIf(key -> key.startsWith("$") || key.equals("lsid")
+        || key.equals("txnNumber") || key.equals("readConcern"));
+    return query;
+  }
+
+  // Walks the winning plans only; rejected candidates may scan without it mattering
+  private static void collectRejectedStages(Object node, List<String> rejected) {
+    if (node instanceof Document document) {
+      document.forEach((key, value) -> {
+        if (key.equals("rejectedPlans")) {
+          return;
+        }
+        if (key.equals("stage") && REJECTED_STAGES.contains(value)) {
+          rejected.add((String) value);
+        }
+        collectRejectedStages(value, rejected);
+      });
+    } else if (node instanceof List<?> list) {
+      list.forEach(item -> collectRejectedStages(item, rejected));
+    }
+  }
+
+  private List<Class<?>> repositoryInterfaces() {
+    List<Class<?>> repositories = new ArrayList<>();
+    for (String name : applicationContext.getBeanNamesForType(Repository.class)) {
+      // The repository factory beans report the repository interface as their type
+      Class<?> type = applicationContext.getType(name);
+      if (type != null && type.isInterface()
+          && type.getPackage().equals(RepositoryQueryPlanTest.class.getPackage())) {
+        repositories.add(type);
+      }
+    }
+    return repositories;
+  }
+
+  // Query methods declared by our interfaces, including custom fragments like PestSolutionRepositoryCustom
+  private static List<Method> queryMethods(Class<?> repository) {
+    List<Method> methods = new ArrayList<>();
+    for (Method method : repository.getDeclaredMethods()) {
+      if (!method.isDefault() && !Modifier.isStatic(method.getModifiers())) {
+        methods.add(method);
+      }
+    }
+    for (Class<?> fragment : repository.getInterfaces()) {
+      if (fragment.getPackage().equals(repository.getPackage())) {
+        methods.addAll(queryMethods(fragment));
+      }
+    }
+    return methods;
+  }
+
+  private static <T> T withId(T entity, BiConsumer<T, String> setId) {
+    setId.accept(entity, new ObjectId().toHexString());
+    return entity;
+  }
+}
@@ -0,0 +1,204 @@
+package com.research.farmer_smart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.research.farmer_smart.config.MongoIndexInitializer;
+import com.research.farmer_smart.controller.request.LoginRequest;
+import com.research.farmer_smart.controller.request.SignUpRequest;
+import com.research.farmer_smart.controller.response.BatchResult;
+import com.research.farmer_smart.controller.response.BatchResult.ItemResult;
+import com.research.farmer_smart.exception.EmailAlreadyExistsException;
+import com.research.farmer_smart.model.Farmer;
+import com.research.farmer_smart.model.Role;
+import com.research.farmer_smart.model.User;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Many clients signing up with the same addresses at once. Only the unique index on
+ * {@code users.email} stands between them, so exactly one account per address may come out,
+ * every other attempt must be told the address is taken, and no profile may be left behind
+ * without its account.
+ */
+@SpringBootTest(properties = {
+    "farmer-smart.notifications.dispatcher.enabled=false",
+    "farmer-smart.mongo.indexes.ensure-on-startup=false",
+    "farmer-smart.auth.bcrypt-strength=4",
+    "farmer-smart.auth.hashing.queue-capacity=10000",
+    "farmer-smart.auth.hashing.max-wait=30s"})
+class UserRegistrationConcurrencyTest {
+
+  private static final int CLIENTS = 32;
+  private static final int EMAILS = 10;
+
+  private static MongoServer mongoServer;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private MongoIndexInitializer indexInitializer;
+
+  @DynamicPropertySource
+  static void mongo(DynamicPropertyRegistry registry) {
+    mongoServer = new MongoServer(new MemoryBackend());
+    InetSocketAddress address = mongoServer.bind();
+    registry.add("spring.data.mongodb.uri",
+        () -> "mongodb://" + address.getHostString() + ":" + address.getPort() + "/signup");
+  }
+
+  @AfterAll
+  static void stopMongo() {
+    mongoServer.shutdown();
+  }
+
+  @BeforeEach
+  void reset() {
+    mongoTemplate.remove(new Query(), User.class);
+    mongoTemplate.remove(new Query(), Farmer.class);
+    indexInitializer.ensureIndexes();
+  }
+
+  @Test
+  void concurrentSignupsCreateOneAccountPerEmail() throws Exception {
+    AtomicInteger created = new AtomicInteger();
+    AtomicInteger taken = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int c = 0; c < CLIENTS; c++) {
+        futures.add(clients.submit(() -> {
+          List<Integer> order = new ArrayList<>();
+          for (int e = 0; e < EMAILS; e++) {
+            order.add(e);
+          }
+          Collections.shuffle(order);
+          start.await();
+          for (int e : order) {
+            try {
+              userService.registerUser(farmer("farmer" + e + "@coop.lk"));
+              created.incrementAndGet();
+            } catch (EmailAlreadyExistsException duplicate) {
+              taken.incrementAndGet();
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(2, TimeUnit.MINUTES);
+      }
+    } finally {
+      clients.shutdownNow();
+    }
+
+    assertThat(created.get()).isEqualTo(EMAILS);
+    assertThat(taken.get()).isEqualTo(CLIENTS * EMAILS - EMAILS);
+    for (int e = 0; e < EMAILS; e++) {
+      assertThat(mongoTemplate.count(
+          Query.query(Criteria.where("email").is("farmer" + e + "@coop.lk")), User.class))
+          .isEqualTo(1);
+    }
+    assertNoOrphanedProfiles();
+  }
+
+  @Test
+  void concurrentBatchesRejectEmailsAlreadyTaken() throws Exception {
+    // Overlapping cooperative imports, each also repeating an address within itself
+    int batches = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService clients = Executors.newFixedThreadPool(batches);
+    List<BatchResult> results = new ArrayList<>();
+    try {
+      List<Future<BatchResult>> futures = new ArrayList<>();
+      for (int b = 0; b < batches; b++) {
+        futures.add(clients.submit(() -> {
+          List<SignUpRequest> requests = new ArrayList<>();
+          for (int e = 0; e < EMAILS; e++) {
+            requests.add(farmer("member" + e + "@coop.lk"));
+          }
+          requests.add(farmer("member0@coop.lk"));
+          start.await();
+          return userService.registerUsers(requests);
+        }));
+      }
+      start.countDown();
+      for (Future<BatchResult> future : futures) {
+        results.add(future.get(2, TimeUnit.MINUTES));
+      }
+    } finally {
+      clients.shutdownNow();
+    }
+
+    int accepted = results.stream().mapToInt(BatchResult::getAccepted).sum();
+    assertThat(accepted).isEqualTo(EMAILS);
+    assertThat(results.stream().flatMap(result -> result.getItems().stream())
+        .map(ItemResult::getError)
+        .filter(error -> error != null))
+        .hasSize(batches * (EMAILS + 1) - EMAILS)
+        .containsOnly("Email already exists");
+    assertThat(mongoTemplate.count(new Query(), User.class)).isEqualTo(EMAILS);
+    assertNoOrphanedProfiles();
+  }
+
+  @Test
+  void caseVariantsOfAnAddressShareOneAccount() {
+    User user = userService.registerUser(farmer(" Farmer7@Coop.LK "));
+    assertThat(user.getEmail()).isEqualTo("farmer7@coop.lk");
+
+    assertThatThrownBy(() -> userService.registerUser(farmer("farmer7@coop.lk")))
+        .isInstanceOf(EmailAlreadyExistsException.class);
+    LoginRequest login = new LoginRequest();
+    login.setEmail("FARMER7@coop.lk");
+    login.setPassword("paddy-field-42");
+    assertThat(userService.authenticateUser(login).getId()).isEqualTo(user.getId());
+  }
+
+  private void assertNoOrphanedProfiles() {
+    List<String> farmerIds = mongoTemplate.findAll(Farmer.class).stream()
+        .map(Farmer::getId)
+        .toList();
+    List<String> linkedIds = mongoTemplate.findAll(User.class).stream()
+        .map(user -> user.getFarmer().getId())
+        .toList();
+    assertThat(farmerIds).containsExactlyInAnyOrderElementsOf(linkedIds);
+  }
+
+  private static SignUpRequest farmer(String email) {
+    SignUpRequest request = new SignUpRequest();
+    request.setUsername(email);
+    request.setEmail(email);
+    request.setPassword("paddy-field-42");
+    request.setRole(Role.FARMER);
+    request.setFirstName("Sunil");
+    request.setLastName("Fernando");
+    request.setLandLocation("Malabe, Colombo");
+    return request;
+  }
+}
@@ -0,0 +1,46 @@
+package com.research.farmer_smart.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Area lookups match the query's lookup token against the stored tokens, so every way a farmer
+ * may type the same place has to share one.
+ */
+class RegionKeysTest {
+
+  @Test
+  void commaSeparatedPartsBecomeDivisionAndDistrict() {
+    RegionKey region = RegionKeys.of("Malabe, Colombo District");
+
+    assertThat(region.key()).isEqualTo("colombo/malabe");
+    assertThat(region.tokens()).containsExactly("malabe", "colombo");
+  }
+
+  @Test
+  void districtTypedWithoutSeparatorIsStillFound() {
+    RegionKey region = RegionKeys.of("Malabe Colombo");
+
+    assertThat(region.key()).isEqualTo("colombo/malabe");
+    assertThat(region.tokens()).contains(RegionKeys.lookupToken("Malabe"),
+        RegionKeys.lookupToken("Colombo"), RegionKeys.lookupToken("Malabe, Colombo"));
+    assertThat(RegionKeys.of("Welimada Nuwara Eliya").tokens())
+        .containsExactly("welimada", "nuwara-eliya");
+  }
+
+  @Test
+  void multiWordPlaceMatchesEachWordAndTheWhole() {
+    RegionKey region = RegionKeys.of("Kaduwela Town");
+
+    assertThat(region.lookupToken()).isEqualTo("kaduwela-town");
+    assertThat(region.tokens()).contains(RegionKeys.lookupToken("Kaduwela"),
+        RegionKeys.lookupToken("kaduwela  town"));
+  }
+
+  @Test
+  void multiWordDistrictStaysOneToken() {
+    assertThat(RegionKeys.of("Nuwara Eliya").tokens()).containsExactly("nuwara-eliya");
+    assertThat(RegionKeys.lookupToken(" ")).isNull();
+  }
+}